@@ -0,0 +1,120 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import estructuras.ArbolBB;
+import estructuras.Hashtable;
+import estructuras.NodoArbol;
+import estructuras.OyenteConsola;
+import estructuras.ProcesadorArchivo;
+import estructuras.ListaSimple;
+import estructuras.SecuenciaEmpaquetada;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks JMH de las etapas del procesamiento: lectura del archivo, construcción de la tabla hash
+ * y del árbol AVL, recorrido en orden, búsqueda de la mayor frecuencia y reporte de aminoácidos.
+ * Cada etapa se mide con genomas sintéticos de 1 MB, 100 MB y 1 GB; las etapas que dependen de otra
+ * usan estructuras construidas una sola vez en el setup, así solo se mide la etapa indicada.
+ *
+ * Se ejecuta con "ant bench" (ver build.xml), que agrega el perfilador de GC (-prof gc) para informar,
+ * además de las operaciones por segundo, los bytes asignados por operación (gc.alloc.rate.norm).
+ * Para correr un solo tamaño: ant bench -Dbench.args="-prof gc -p megabytes=1"
+ *
+ * @author Luis Peña
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class BenchmarkProcesamiento {
+    private static final long SEMILLA = 20240501L;
+
+    @Param({"1", "100", "1024"})
+    public int megabytes;
+
+    private File archivo;
+    private ProcesadorArchivo procesador;
+    private Hashtable tabla;
+    private ArbolBB arbol;
+
+    /**
+     * Genera el archivo y construye una vez la secuencia, la tabla y el árbol para las etapas siguientes.
+     *
+     * @throws IOException Si el genoma sintético no se puede escribir.
+     */
+    @Setup
+    public void preparar() throws IOException {
+        archivo = GeneradorGenoma.obtener(megabytes, SEMILLA);
+        procesador = nuevoProcesador();
+        if (!procesador.leerArchivo(archivo)) {
+            throw new IllegalStateException("No se pudo leer el genoma sintético " + archivo);
+        }
+        tabla = new Hashtable();
+        procesador.construirTabla(tabla);
+        arbol = new ArbolBB();
+        procesador.construirArbol(tabla, arbol);
+    }
+
+    /**
+     * Procesador que descarta los mensajes, para no medir la escritura en consola.
+     */
+    private static ProcesadorArchivo nuevoProcesador() {
+        return new ProcesadorArchivo(new OyenteConsola(new PrintStream(OutputStream.nullOutputStream()), false));
+    }
+
+    @Benchmark
+    public SecuenciaEmpaquetada leerArchivo() {
+        ProcesadorArchivo lector = nuevoProcesador();
+        lector.leerArchivo(archivo);
+        return lector.getSecuenciaADN();
+    }
+
+    @Benchmark
+    public Hashtable construirTabla() {
+        Hashtable nueva = new Hashtable();
+        procesador.construirTabla(nueva);
+        return nueva;
+    }
+
+    @Benchmark
+    public ArbolBB construirArbol() {
+        ArbolBB nuevo = new ArbolBB();
+        procesador.construirArbol(tabla, nuevo);
+        return nuevo;
+    }
+
+    @Benchmark
+    public ListaSimple<String> inorden() {
+        return arbol.inorden();
+    }
+
+    @Benchmark
+    public ListaSimple<NodoArbol> buscarMayorFrecuencia() {
+        return arbol.buscarMayorFrecuencia();
+    }
+
+    @Benchmark
+    public ListaSimple<String> generarReporteAminoacidos() {
+        return procesador.generarReporteAminoacidos(tabla);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+
+/**
+ * Genera archivos de ADN sintéticos para los benchmarks: bases A, C, G y T al azar (con semilla fija,
+ * así dos corridas miden el mismo archivo) en líneas de 60 caracteres, como un FASTA sin encabezado.
+ * Los archivos se guardan en el directorio temporal y se reutilizan si ya existen con el tamaño correcto.
+ *
+ * @author Luis Peña
+ */
+public class GeneradorGenoma {
+    private static final int BASES_POR_LINEA = 60;
+    private static final byte[] BASES = {'A', 'C', 'G', 'T'};
+
+    /**
+     * Clase utilitaria, no se instancia.
+     */
+    private GeneradorGenoma() {
+    }
+
+    /**
+     * Obtiene (y crea si hace falta) un genoma sintético del tamaño indicado.
+     *
+     * @param megabytes Tamaño del archivo en megabytes (1 MB = 1024 * 1024 bytes).
+     * @param semilla Semilla del generador de números aleatorios.
+     * @return Archivo con la secuencia.
+     * @throws IOException Si el archivo no se puede escribir.
+     */
+    public static File obtener(int megabytes, long semilla) throws IOException {
+        long tamaño = (long) megabytes * 1024 * 1024;
+        File archivo = new File(System.getProperty("java.io.tmpdir"), "bioinformatica-" + megabytes + "MB-" + semilla + ".txt");
+        if (archivo.isFile() && archivo.length() == tamaño) {
+            return archivo;
+        }
+        SplittableRandom azar = new SplittableRandom(semilla);
+        byte[] bloque = new byte[(BASES_POR_LINEA + 1) * 1024];
+        try (OutputStream salida = Files.newOutputStream(archivo.toPath())) {
+            long escritos = 0;
+            int enLinea = 0;
+            while (escritos < tamaño) {
+                int cantidad = (int) Math.min(bloque.length, tamaño - escritos);
+                for (int i = 0; i < cantidad; i++) {
+                    if (enLinea == BASES_POR_LINEA) {
+                        bloque[i] = '\n';
+                        enLinea = 0;
+                    } else {
+                        bloque[i] = BASES[azar.nextInt(4)];
+                        enLinea++;
+                    }
+                }
+                salida.write(bloque, 0, cantidad);
+                escritos += cantidad;
+            }
+        }
+        return archivo;
+    }
+}
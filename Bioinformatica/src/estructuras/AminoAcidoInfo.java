@@ -47,9 +47,6 @@ public class AminoAcidoInfo {
      * @return Línea formateada para mostrar en el reporte.
      */
     public String generarLineaReporte() {
-        String linea = nombre + ":\n";
-        linea = linea + "  Tripleta(s): " + tripletas.mostrarLista(", ") + "\n";
-        linea = linea + "  Frecuencia Total: " + frecuenciaTotal + "\n";
-        return linea;
+        return EscritorReportes.aTexto(destino -> EscritorReportes.escribirLineaReporte(this, destino));
     } 
 }
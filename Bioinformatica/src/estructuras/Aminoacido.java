@@ -0,0 +1,82 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+/**
+ * Aminoácidos (y tripletas especiales) que puede codificar una tripleta de ADN.
+ * Cada STOP es un valor distinto porque el reporte los muestra por separado.
+ * TraductorAminoacidos tiene la tabla que asigna uno de estos valores a cada uno de los 64 códigos,
+ * y el ordinal sirve de índice en los arreglos de ResumenAminoacidos.
+ * La letra es el código de una letra de la IUPAC (* para los STOP, X para las tripletas inválidas),
+ * que usa TraductorProteinas para las traducciones en bloque.
+ *
+ * @author Luis Peña
+ */
+public enum Aminoacido {
+    FENILALANINA("Fenilalanina", 'F', Tipo.NORMAL),
+    LEUCINA("Leucina", 'L', Tipo.NORMAL),
+    SERINA("Serina", 'S', Tipo.NORMAL),
+    TIROSINA("Tirosina", 'Y', Tipo.NORMAL),
+    CISTEINA("Cisteína", 'C', Tipo.NORMAL),
+    TRIPTOFANO("Triptófano", 'W', Tipo.NORMAL),
+    PROLINA("Prolina", 'P', Tipo.NORMAL),
+    HISTIDINA("Histidina", 'H', Tipo.NORMAL),
+    GLUTAMINA("Glutamina", 'Q', Tipo.NORMAL),
+    ARGININA("Arginina", 'R', Tipo.NORMAL),
+    ISOLEUCINA("Isoleucina", 'I', Tipo.NORMAL),
+    METIONINA("Metionina (Inicio)", 'M', Tipo.INICIO),
+    TREONINA("Treonina", 'T', Tipo.NORMAL),
+    ASPARAGINA("Asparagina", 'N', Tipo.NORMAL),
+    LISINA("Lisina", 'K', Tipo.NORMAL),
+    VALINA("Valina", 'V', Tipo.NORMAL),
+    ALANINA("Alanina", 'A', Tipo.NORMAL),
+    ACIDO_ASPARTICO("Ácido Aspártico", 'D', Tipo.NORMAL),
+    ACIDO_GLUTAMICO("Ácido Glutámico", 'E', Tipo.NORMAL),
+    GLICINA("Glicina", 'G', Tipo.NORMAL),
+    STOP_OCRE("STOP (Ocre)", '*', Tipo.STOP),
+    STOP_AMBAR("STOP (Ámbar)", '*', Tipo.STOP),
+    STOP_OPALO("STOP (Ópalo)", '*', Tipo.STOP),
+    INVALIDO("Tripleta inválida", 'X', Tipo.INVALIDO);
+
+    /**
+     * Clase de tripleta, para la sección de tripletas especiales del reporte.
+     */
+    public enum Tipo {
+        NORMAL, INICIO, STOP, INVALIDO
+    }
+
+    private final String nombre;
+    private final char letra;
+    private final Tipo tipo;
+
+    Aminoacido(String nombre, char letra, Tipo tipo) {
+        this.nombre = nombre;
+        this.letra = letra;
+        this.tipo = tipo;
+    }
+
+    /**
+     * Nombre que se muestra en los reportes (por ejemplo, "Metionina (Inicio)").
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Código de una letra (por ejemplo, 'M' para la metionina).
+     */
+    public char getLetra() {
+        return letra;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
@@ -5,21 +5,41 @@ package estructuras;
  * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
  */
 
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Implementación de un Árbol Binario de Búsqueda que se auto-balancea, es decir un Árbol AVL.
- * El árbol almacena, en cada nodo, un patrón de ADN (String) junto a una lista de posiciones (ListaSimple<Integer>) 
- * donde ese patrón aparece en la secuencia principal.
+ * El árbol almacena, en cada nodo, un patrón de ADN (String) junto a sus posiciones en la secuencia principal,
+ * guardadas como enteros primitivos en una ListaPosiciones (ver NodoArbol).
  * 
- * El criterio de orden del árbol es la frecuencia (cantidad de posiciones) del patrón. 
+ * El criterio de orden del árbol es la frecuencia con la que se ubicó el nodo (NodoArbol.getFrecuenciaOrden).
  * En caso de empate de frecuencias, el patrón se compara alfabéticamente.
  *
  * Proporciona métodos para insertar patrones, buscar patrones con mayor o menor frecuencia,
  * y recorrer el árbol en orden (inorden), entre otros.
  *
+ * Cada nodo se ordena por la frecuencia que tenía al insertarse (NodoArbol.getFrecuenciaOrden), no por el tamaño
+ * actual de su lista de posiciones, que comparte con la tabla hash. Cuando la tabla agrega posiciones a un patrón
+ * avisa al árbol (ArbolBB implementa OyenteFrecuencias, ver Hashtable.setOyenteFrecuencias) y el nodo se saca
+ * y se vuelve a insertar con su nueva frecuencia en O(log n), sin reconstruir el árbol.
+ *
+ * Cada nodo guarda el tamaño y la suma de frecuencias de su subárbol, así las consultas por orden
+ * (los k más frecuentes, el rango de un patrón, el i-ésimo más frecuente, los patrones con frecuencia
+ * en un intervalo) cuestan O(log n) más el tamaño de la respuesta, sin recorrer todo el árbol.
+ * El árbol se recorre en orden con for-each o como Stream, con una pila explícita en lugar de recursión;
+ * su Spliterator se divide por posiciones en el orden usando esos mismos tamaños.
+ *
  * @author Diego Linares, Luis Mariano Lovera
  */
-public class ArbolBB {
+public class ArbolBB implements OyenteFrecuencias, Iterable<NodoArbol> {
     private NodoArbol raiz;
+    private int modificaciones; // Aumenta con cada cambio del árbol, para invalidar reportes guardados
     
     /**
      * Constructor que inicializa un árbol vacío.
@@ -54,15 +74,33 @@ public class ArbolBB {
     }
     
     /**
-     * Actualiza la altura de un nodo basándose en la altura de sus hijos.
-     * Esto con el objetivo de mantener el árbol con estructura AVL.
+     * Obtiene la cantidad de nodos del subárbol de un nodo (0 si es nulo).
+     */
+    private int tamaño(NodoArbol nodo) {
+        return nodo == null ? 0 : nodo.getTamañoSubarbol();
+    }
+
+    /**
+     * Obtiene la suma de frecuencias del subárbol de un nodo (0 si es nulo).
+     */
+    private long total(NodoArbol nodo) {
+        return nodo == null ? 0 : nodo.getTotalSubarbol();
+    }
+
+    /**
+     * Actualiza la altura, el tamaño y la suma de frecuencias del subárbol de un nodo a partir de sus hijos.
+     * Esto con el objetivo de mantener el árbol con estructura AVL y las consultas por orden.
      * Llamado después de que se cambie la estrucutra del árbol a través de inserciones o rotaciones. 
      *
-     * @param true El nodo que debe actualizar su altura.
+     * @param nodo El nodo que debe actualizarse.
      */
-    private void actualizarAltura(NodoArbol nodo) {
+    private void actualizarNodo(NodoArbol nodo) {
         if (nodo != null) {
-            nodo.setAltura(1 + Math.max(altura(nodo.getHijoIzq()), altura(nodo.getHijoDer())));
+            NodoArbol izq = nodo.getHijoIzq();
+            NodoArbol der = nodo.getHijoDer();
+            nodo.setAltura(1 + Math.max(altura(izq), altura(der)));
+            nodo.setTamañoSubarbol(1 + tamaño(izq) + tamaño(der));
+            nodo.setTotalSubarbol(nodo.getFrecuenciaOrden() + total(izq) + total(der));
         }
     }
     
@@ -99,8 +137,8 @@ public class ArbolBB {
         x.setHijoDer(y);
         y.setHijoIzq(T2);
 
-        actualizarAltura(y);
-        actualizarAltura(x);
+        actualizarNodo(y);
+        actualizarNodo(x);
 
         return x;
     }
@@ -124,8 +162,8 @@ public class ArbolBB {
         y.setHijoIzq(x);
         x.setHijoDer(T2);
 
-        actualizarAltura(x);
-        actualizarAltura(y);
+        actualizarNodo(x);
+        actualizarNodo(y);
 
         return y;
     }
@@ -137,61 +175,233 @@ public class ArbolBB {
      * @param posiciones La lista de posiciones asociadas al patrón en la secuencia principal.
      */
     public void insertar(String patron, ListaSimple<Integer> posiciones) {
-        raiz = metodoInsertar(raiz, patron, posiciones);
+        raiz = metodoInsertar(raiz, new NodoArbol(patron, posiciones));
+        modificaciones++;
+    }
+
+    /**
+     * Inserta un patrón de ADN compartiendo su lista primitiva de posiciones (sin copiarla).
+     * @param patron El patrón de ADN a insertar.
+     * @param posiciones La lista de posiciones asociadas al patrón en la secuencia principal.
+     */
+    public void insertar(String patron, ListaPosiciones posiciones) {
+        raiz = metodoInsertar(raiz, new NodoArbol(patron, posiciones));
+        modificaciones++;
     }
     
     /**
-    * Método auxiliar recursivo para insertar un patrón y su lista de posiciones en el árbol AVL.
+     * Reemplaza el contenido del árbol por los patrones de un arreglo ya ordenado por (frecuencia, patrón),
+     * armando directamente un árbol perfectamente balanceado: O(n), sin comparaciones ni rotaciones.
+     * Cada elemento del medio de un tramo queda como raíz de ese tramo, así la altura es la mínima posible.
+     * Los nodos del árbol son nuevos y comparten la lista de posiciones (y el código) de los del arreglo.
+     *
+     * @param ordenados Nodos ordenados de menor a mayor (frecuencia y luego patrón), sin repetidos;
+     *                  por ejemplo, los de Hashtable.obtenerPatronesPorFrecuencia().
+     * @throws IllegalArgumentException Si el arreglo no está ordenado o tiene patrones repetidos.
+     */
+    public void construirDesdeOrdenados(NodoArbol[] ordenados) {
+        NodoArbol[] nodos = new NodoArbol[ordenados.length];
+        for (int i = 0; i < ordenados.length; i++) {
+            nodos[i] = new NodoArbol(ordenados[i].getPatron(), ordenados[i].getCodigo(), ordenados[i].getPosiciones());
+            if (i > 0 && comparar(nodos[i - 1], nodos[i]) >= 0) {
+                throw new IllegalArgumentException("Los patrones deben estar ordenados por frecuencia y patrón, sin repetidos: "
+                        + nodos[i - 1].getPatron() + ", " + nodos[i].getPatron());
+            }
+        }
+        raiz = construirBalanceado(nodos, 0, nodos.length - 1);
+        modificaciones++;
+    }
+
+    /**
+     * Enlaza el subárbol balanceado del tramo [inicio, fin] del arreglo ordenado.
+     *
+     * @return Raíz del subárbol, o null si el tramo está vacío.
+     */
+    private NodoArbol construirBalanceado(NodoArbol[] nodos, int inicio, int fin) {
+        if (inicio > fin) {
+            return null;
+        }
+        int medio = (inicio + fin) >>> 1;
+        NodoArbol nodo = nodos[medio];
+        nodo.setHijoIzq(construirBalanceado(nodos, inicio, medio - 1));
+        nodo.setHijoDer(construirBalanceado(nodos, medio + 1, fin));
+        actualizarNodo(nodo);
+        return nodo;
+    }
+
+    /**
+     * Compara dos nodos con el criterio de orden del árbol: primero la frecuencia y, si empatan, el patrón.
+     *
+     * @return Negativo, cero o positivo si a va antes, en el mismo lugar o después que b.
+     */
+    private int comparar(NodoArbol a, NodoArbol b) {
+        return comparar(a.getFrecuenciaOrden(), a.getPatron(), b);
+    }
+
+    /**
+     * Compara una clave (frecuencia, patrón) con la de un nodo del árbol.
+     *
+     * @return Negativo, cero o positivo si la clave va antes, en el mismo lugar o después que el nodo.
+     */
+    private int comparar(int frecuencia, String patron, NodoArbol nodo) {
+        int comparacion = Integer.compare(frecuencia, nodo.getFrecuenciaOrden());
+        return comparacion != 0 ? comparacion : patron.compareTo(nodo.getPatron());
+    }
+
+    /**
+     * Elimina el nodo de un patrón con la frecuencia indicada, rebalanceando el árbol. O(log n).
+     *
+     * @param patron El patrón de ADN.
+     * @param frecuencia La frecuencia con la que está en el árbol.
+     * @return El nodo eliminado, o null si el patrón no estaba con esa frecuencia.
+     */
+    public NodoArbol eliminar(String patron, int frecuencia) {
+        NodoArbol nodo = buscar(patron, frecuencia);
+        if (nodo != null) {
+            raiz = metodoEliminar(raiz, frecuencia, patron);
+            modificaciones++;
+        }
+        return nodo;
+    }
+
+    /**
+     * Reubica un patrón cuya lista de posiciones cambió de tamaño: lo saca con su frecuencia anterior
+     * y lo vuelve a insertar con la actual. Si el patrón no estaba en el árbol, lo agrega. O(log n).
+     *
+     * @param nodo Nodo de la tabla hash (o cualquier nodo con el patrón y su lista de posiciones actual).
+     * @param frecuenciaAnterior Frecuencia con la que el patrón estaba en el árbol (0 si no estaba).
+     */
+    @Override
+    public void frecuenciaCambiada(NodoArbol nodo, int frecuenciaAnterior) {
+        NodoArbol existente = frecuenciaAnterior > 0 ? eliminar(nodo.getPatron(), frecuenciaAnterior) : null;
+        if (existente == null) {
+            existente = new NodoArbol(nodo.getPatron(), nodo.getCodigo(), nodo.getPosiciones());
+        } else {
+            existente.setHijoIzq(null);
+            existente.setHijoDer(null);
+            existente.setFrecuenciaOrden(existente.getFrecuencias());
+            actualizarNodo(existente);
+        }
+        if (existente.getFrecuencias() > 0) {
+            raiz = metodoInsertar(raiz, existente);
+            modificaciones++;
+        }
+    }
+
+    /**
+     * Método auxiliar recursivo para eliminar un nodo del árbol AVL.
+     * Si el nodo tiene dos hijos, su lugar lo ocupa su sucesor (el menor del subárbol derecho).
+     *
+     * @param aux El nodo actual en el subárbol.
+     * @param frecuencia Frecuencia del nodo a eliminar.
+     * @param patron Patrón del nodo a eliminar.
+     * @return La nueva raíz del subárbol después de la eliminación/balanceo.
+     */
+    private NodoArbol metodoEliminar(NodoArbol aux, int frecuencia, String patron) {
+        if (aux == null) {
+            return null;
+        }
+        int comparacion = comparar(frecuencia, patron, aux);
+        if (comparacion < 0) {
+            aux.setHijoIzq(metodoEliminar(aux.getHijoIzq(), frecuencia, patron));
+        } else if (comparacion > 0) {
+            aux.setHijoDer(metodoEliminar(aux.getHijoDer(), frecuencia, patron));
+        } else {
+            if (aux.getHijoIzq() == null) {
+                return aux.getHijoDer();
+            }
+            if (aux.getHijoDer() == null) {
+                return aux.getHijoIzq();
+            }
+            NodoArbol sucesor = aux.getHijoDer();
+            while (sucesor.getHijoIzq() != null) {
+                sucesor = sucesor.getHijoIzq();
+            }
+            sucesor.setHijoDer(eliminarMinimo(aux.getHijoDer()));
+            sucesor.setHijoIzq(aux.getHijoIzq());
+            aux = sucesor;
+        }
+        return balancear(aux);
+    }
+
+    /**
+     * Quita el nodo de menor clave de un subárbol (sin descartarlo) y lo rebalancea.
+     *
+     * @return La nueva raíz del subárbol.
+     */
+    private NodoArbol eliminarMinimo(NodoArbol nodo) {
+        if (nodo.getHijoIzq() == null) {
+            return nodo.getHijoDer();
+        }
+        nodo.setHijoIzq(eliminarMinimo(nodo.getHijoIzq()));
+        return balancear(nodo);
+    }
+
+    /**
+     * Actualiza un nodo y aplica la rotación que corresponda según el balance de sus hijos.
+     * Se usa al eliminar, donde no hay un nodo nuevo con el que decidir el caso.
+     *
+     * @return La nueva raíz del subárbol.
+     */
+    private NodoArbol balancear(NodoArbol nodo) {
+        actualizarNodo(nodo);
+        int balance = Balance(nodo);
+        if (balance > 1) {
+            if (Balance(nodo.getHijoIzq()) < 0) {
+                nodo.setHijoIzq(rotarIzquierda(nodo.getHijoIzq()));
+            }
+            return rotarDerecha(nodo);
+        }
+        if (balance < -1) {
+            if (Balance(nodo.getHijoDer()) > 0) {
+                nodo.setHijoDer(rotarDerecha(nodo.getHijoDer()));
+            }
+            return rotarIzquierda(nodo);
+        }
+        return nodo;
+    }
+
+    /**
+    * Método auxiliar recursivo para insertar un nodo nuevo en el árbol AVL.
     * También actualiza alturas y realiza rotaciones para mantener el balanceo AVL.
+    * Las rotaciones se eligen comparando el nodo nuevo con el hijo por el mismo criterio que el descenso
+    * (frecuencia y luego patrón).
     * @param aux El nodo actual en el subárbol.
-    * @param patron El patrón de ADN a insertar.
-    * @param posiciones La lista de posiciones asociadas al patrón.
+    * @param nuevo El nodo con el patrón y las posiciones a insertar.
     * @return La nueva raíz del subárbol después de la inserción/balanceo.
     */
-    private NodoArbol metodoInsertar(NodoArbol aux, String patron,  ListaSimple<Integer> posiciones) {
+    private NodoArbol metodoInsertar(NodoArbol aux, NodoArbol nuevo) {
         if (aux==null) {
-            return new NodoArbol(patron, posiciones); 
+            return nuevo; 
         }else{
             
-            int freqPatron = posiciones.getTamaño();
-            int freqActual = aux.getFrecuencias(); 
-            
-            if (freqPatron < freqActual) {
-                aux.setHijoIzq(metodoInsertar(aux.getHijoIzq(), patron, posiciones));
-            } else if (freqPatron > freqActual) {
-                aux.setHijoDer(metodoInsertar(aux.getHijoDer(), patron, posiciones));
-            }else{
-                
-                //Si la frecuencia es igual, se compara alfabéticamente el patrón
-                int comparacion = patron.compareTo(aux.getPatron());
-
-                if (comparacion < 0) {
-                    aux.setHijoIzq(metodoInsertar(aux.getHijoIzq(), patron, posiciones));
-                } else if (comparacion > 0) {
-                     aux.setHijoDer(metodoInsertar(aux.getHijoDer(), patron, posiciones));
-                } else {
-                    return aux;
-                }
+            int comparacion = comparar(nuevo, aux);
+            if (comparacion < 0) {
+                aux.setHijoIzq(metodoInsertar(aux.getHijoIzq(), nuevo));
+            } else if (comparacion > 0) {
+                aux.setHijoDer(metodoInsertar(aux.getHijoDer(), nuevo));
+            } else {
+                return aux;
             }
         
-            actualizarAltura(aux);
+            actualizarNodo(aux);
 
             int balance = Balance(aux);
 
-            if (balance > 1 && patron.compareTo(aux.getHijoIzq().getPatron()) < 0) {
+            if (balance > 1 && comparar(nuevo, aux.getHijoIzq()) < 0) {
                 return rotarDerecha(aux);
             }
 
-            if (balance < -1 && patron.compareTo(aux.getHijoDer().getPatron()) > 0) {
+            if (balance < -1 && comparar(nuevo, aux.getHijoDer()) > 0) {
                 return rotarIzquierda(aux);
             }
 
-            if (balance > 1 && patron.compareTo(aux.getHijoIzq().getPatron()) > 0) {
+            if (balance > 1 && comparar(nuevo, aux.getHijoIzq()) > 0) {
                 aux.setHijoIzq(rotarIzquierda(aux.getHijoIzq()));
                 return rotarDerecha(aux);
             }
 
-            if (balance < -1 && patron.compareTo(aux.getHijoDer().getPatron()) < 0) {
+            if (balance < -1 && comparar(nuevo, aux.getHijoDer()) < 0) {
                 aux.setHijoDer(rotarDerecha(aux.getHijoDer()));
                 return rotarIzquierda(aux);
             }
@@ -241,7 +451,7 @@ public class ArbolBB {
         ListaSimple<NodoArbol> listaMayorFrec = new ListaSimple<>();
         NodoArbol nodoMax = buscarNodoMayorFrecuencia();
         if (nodoMax!=null) {
-            int freqMax=nodoMax.getFrecuencias();
+            int freqMax=nodoMax.getFrecuenciaOrden();
             recolectarPorFrecuencia(raiz, freqMax, listaMayorFrec);
         }
         return listaMayorFrec;
@@ -255,39 +465,228 @@ public class ArbolBB {
         ListaSimple<NodoArbol> listaMenorFrec = new ListaSimple<>();
         NodoArbol nodoMin = buscarNodoMenorFrecuencia();
         if (nodoMin!=null) {
-            int freqMin=nodoMin.getFrecuencias();
+            int freqMin=nodoMin.getFrecuenciaOrden();
             recolectarPorFrecuencia(raiz, freqMin, listaMenorFrec);
         }
         return listaMenorFrec;
     }   
     
     /**
-     * Recolecta en una lista todos los nodos cuya frecuencia coincide con la buscada.
-     * @param nodo Nodo actual del árbol.
+     * Recolecta en una lista todos los nodos cuya frecuencia coincide con la buscada, en orden.
+     * @param nodo Raíz del subárbol donde se busca.
      * @param frecuenciaObjetivo Frecuencia a buscar.
      * @param lista Lista donde se agregan los nodos encontrados.
      */
     public void recolectarPorFrecuencia(NodoArbol nodo, int frecuenciaObjetivo, ListaSimple<NodoArbol> lista){
-        if (nodo==null){
-            return;
-        }else{
-            int freqNodo=nodo.getFrecuencias();
-
-            if (freqNodo>frecuenciaObjetivo) {
-                //Solo busca a la izquierda
-                recolectarPorFrecuencia(nodo.getHijoIzq(), frecuenciaObjetivo, lista);
-            } else if (freqNodo<frecuenciaObjetivo) {
-                //Solo busca a la derecha
-                recolectarPorFrecuencia(nodo.getHijoDer(), frecuenciaObjetivo, lista);
-            }else{
-                //Frecuencia igual: busca ambos lados y agrega (busqueda basada en inorden)
-                recolectarPorFrecuencia(nodo.getHijoIzq(), frecuenciaObjetivo, lista);
-                lista.insertarAlFinal(nodo);
-                recolectarPorFrecuencia(nodo.getHijoDer(), frecuenciaObjetivo, lista);
+        recolectarEnRango(nodo, frecuenciaObjetivo, frecuenciaObjetivo, lista);
+    }
+    
+    /**
+     * Devuelve los k patrones más frecuentes, de mayor a menor frecuencia (los empates, en orden alfabético inverso).
+     * Recorre el árbol de derecha a izquierda y se detiene al juntar k nodos: O(log n + k).
+     *
+     * @param k Cantidad de patrones a devolver.
+     * @return ListaSimple con hasta k nodos.
+     */
+    public ListaSimple<NodoArbol> buscarMasFrecuentes(int k) {
+        ListaSimple<NodoArbol> lista = new ListaSimple<>();
+        NodoArbol[] pila = new NodoArbol[altura(raiz)];
+        int tope = 0;
+        NodoArbol actual = raiz;
+        while (lista.getTamaño() < k && (actual != null || tope > 0)) {
+            while (actual != null) {
+                pila[tope++] = actual;
+                actual = actual.getHijoDer();
             }
+            NodoArbol nodo = pila[--tope];
+            lista.insertarAlFinal(nodo);
+            actual = nodo.getHijoIzq();
         }
+        return lista;
     }
-    
+
+    /**
+     * Devuelve el i-ésimo patrón más frecuente (1 es el de mayor frecuencia), en el mismo orden que buscarMasFrecuentes.
+     * Baja por el árbol usando el tamaño de los subárboles: O(log n).
+     *
+     * @param i Posición buscada, de 1 a la cantidad de patrones.
+     * @return El nodo en esa posición, o null si i está fuera de rango.
+     */
+    public NodoArbol buscarKesimoMasFrecuente(int i) {
+        if (i < 1 || i > tamaño(raiz)) {
+            return null;
+        }
+        NodoArbol actual = raiz;
+        while (actual != null) {
+            int mayores = tamaño(actual.getHijoDer());
+            if (i <= mayores) {
+                actual = actual.getHijoDer();
+            } else if (i == mayores + 1) {
+                return actual;
+            } else {
+                i -= mayores + 1;
+                actual = actual.getHijoIzq();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Calcula el rango de un patrón por frecuencia: 1 más la cantidad de patrones con frecuencia estrictamente mayor
+     * (los patrones con la misma frecuencia comparten el rango). O(log n).
+     *
+     * @param patron El patrón de ADN.
+     * @param frecuencia Su frecuencia (por ejemplo, la del nodo de la tabla hash), necesaria para ubicarlo en el árbol.
+     * @return El rango del patrón, o -1 si no está en el árbol con esa frecuencia.
+     */
+    public int rango(String patron, int frecuencia) {
+        if (buscar(patron, frecuencia) == null) {
+            return -1;
+        }
+        int hasta = frecuencia == Integer.MAX_VALUE ? tamaño(raiz) : contarConFrecuenciaMenorA(frecuencia + 1);
+        return tamaño(raiz) - hasta + 1;
+    }
+
+    /**
+     * Busca el nodo de un patrón conociendo su frecuencia, bajando por el árbol igual que al insertar. O(log n).
+     *
+     * @param patron El patrón de ADN.
+     * @param frecuencia Su frecuencia.
+     * @return El nodo, o null si no está en el árbol con esa frecuencia.
+     */
+    public NodoArbol buscar(String patron, int frecuencia) {
+        NodoArbol actual = raiz;
+        while (actual != null) {
+            int comparacion = comparar(frecuencia, patron, actual);
+            if (comparacion == 0) {
+                return actual;
+            }
+            actual = comparacion < 0 ? actual.getHijoIzq() : actual.getHijoDer();
+        }
+        return null;
+    }
+
+    /**
+     * Devuelve todos los patrones con frecuencia entre minima y maxima (incluidas), de menor a mayor frecuencia.
+     * Solo visita las ramas que pueden tener nodos en el intervalo: O(log n + cantidad encontrada).
+     *
+     * @param minima Frecuencia mínima.
+     * @param maxima Frecuencia máxima.
+     * @return ListaSimple con los nodos encontrados, en orden.
+     */
+    public ListaSimple<NodoArbol> buscarPorRangoFrecuencia(int minima, int maxima) {
+        ListaSimple<NodoArbol> lista = new ListaSimple<>();
+        recolectarEnRango(raiz, minima, maxima, lista);
+        return lista;
+    }
+
+    /**
+     * Agrega a la lista, en orden, los nodos de un subárbol con frecuencia entre minima y maxima.
+     * Recorre con una pila explícita y solo visita las ramas que pueden tener nodos en el intervalo.
+     */
+    private void recolectarEnRango(NodoArbol subarbol, int minima, int maxima, ListaSimple<NodoArbol> lista) {
+        NodoArbol[] pila = new NodoArbol[altura(subarbol)];
+        int tope = 0;
+        NodoArbol actual = subarbol;
+        while (actual != null || tope > 0) {
+            while (actual != null) {
+                if (actual.getFrecuenciaOrden() < minima) {
+                    actual = actual.getHijoDer(); // Todo su subárbol izquierdo también queda fuera
+                } else {
+                    pila[tope++] = actual;
+                    actual = actual.getHijoIzq();
+                }
+            }
+            if (tope == 0) {
+                break;
+            }
+            NodoArbol nodo = pila[--tope];
+            if (nodo.getFrecuenciaOrden() > maxima) {
+                break;
+            }
+            lista.insertarAlFinal(nodo);
+            actual = nodo.getHijoDer();
+        }
+    }
+
+    /**
+     * Cuenta los patrones con frecuencia entre minima y maxima (incluidas), sin recorrerlos. O(log n).
+     *
+     * @param minima Frecuencia mínima.
+     * @param maxima Frecuencia máxima.
+     * @return Cantidad de patrones en el intervalo.
+     */
+    public int contarPorRangoFrecuencia(int minima, int maxima) {
+        if (minima > maxima) {
+            return 0;
+        }
+        int hasta = maxima == Integer.MAX_VALUE ? tamaño(raiz) : contarConFrecuenciaMenorA(maxima + 1);
+        return hasta - contarConFrecuenciaMenorA(minima);
+    }
+
+    /**
+     * Suma las frecuencias de los patrones con frecuencia entre minima y maxima (incluidas). O(log n).
+     *
+     * @param minima Frecuencia mínima.
+     * @param maxima Frecuencia máxima.
+     * @return Cantidad de apariciones de los patrones en el intervalo.
+     */
+    public long sumarPorRangoFrecuencia(int minima, int maxima) {
+        if (minima > maxima) {
+            return 0;
+        }
+        long hasta = maxima == Integer.MAX_VALUE ? total(raiz) : sumarConFrecuenciaMenorA(maxima + 1);
+        return hasta - sumarConFrecuenciaMenorA(minima);
+    }
+
+    /**
+     * Cuenta los nodos con frecuencia menor a la indicada, sumando los subárboles izquierdos del camino.
+     */
+    private int contarConFrecuenciaMenorA(int frecuencia) {
+        int cantidad = 0;
+        NodoArbol actual = raiz;
+        while (actual != null) {
+            if (actual.getFrecuenciaOrden() < frecuencia) {
+                cantidad += tamaño(actual.getHijoIzq()) + 1;
+                actual = actual.getHijoDer();
+            } else {
+                actual = actual.getHijoIzq();
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Suma las frecuencias de los nodos con frecuencia menor a la indicada.
+     */
+    private long sumarConFrecuenciaMenorA(int frecuencia) {
+        long suma = 0;
+        NodoArbol actual = raiz;
+        while (actual != null) {
+            if (actual.getFrecuenciaOrden() < frecuencia) {
+                suma += total(actual.getHijoIzq()) + actual.getFrecuenciaOrden();
+                actual = actual.getHijoDer();
+            } else {
+                actual = actual.getHijoIzq();
+            }
+        }
+        return suma;
+    }
+
+    /**
+     * Cantidad de patrones en el árbol. O(1).
+     */
+    public int getCantidadPatrones() {
+        return tamaño(raiz);
+    }
+
+    /**
+     * Suma de las frecuencias de todos los patrones del árbol. O(1).
+     */
+    public long getTotalFrecuencias() {
+        return total(raiz);
+    }
+
     /**
      * Realiza un recorrido Inorden del árbol AVL.
      * Los elementos se visitan en orden: hijo izquierdo, nodo actual, hijo derecho.
@@ -297,28 +696,163 @@ public class ArbolBB {
      */
     public ListaSimple<String> inorden() {
         ListaSimple<String> orden = new ListaSimple<>();
-        inorden(raiz, orden); // Llama al método recursivo auxiliar
+        for (NodoArbol nodo : this) {
+            orden.insertarAlFinal(EscritorReportes.aTexto(destino -> {
+                EscritorReportes.Salida salida = new EscritorReportes.Salida(destino);
+                EscritorReportes.escribirNodo(nodo, 22, EscritorReportes.SALTO_LISTADO, salida);
+                salida.vaciar();
+            }));
+        }
         return orden;
     }
-    
+
     /**
-     * Método auxiliar recursivo para realizar el recorrido Inorden.
-     * Este método acumula los patrones en la lista proporcionada.
+     * Iterador en orden (de menor a mayor frecuencia) con una pila explícita del alto del árbol,
+     * sin recursión ni copiar los nodos. El árbol no debe modificarse mientras se recorre.
      *
-     * @param nodo El nodo actual en el subárbol que se está procesando en la recursión.
-     * @param lista La lista donde se acumularán los patrones visitados.
+     * @return Iterador sobre los nodos del árbol.
      */
-    private void inorden(NodoArbol nodo, ListaSimple<String> lista) {
-        if (nodo != null) {
- 
-            inorden(nodo.getHijoIzq(), lista);
-            String patron = nodo.getPatron();
-            int frecuencia = nodo.getFrecuencias();
-            String listadoPosiciones = nodo.getPosiciones().mostrarListaPosiciones();
-            lista.insertarAlFinal(patron + " | Frecuencia: "+frecuencia+"\nUbicaciones: " + listadoPosiciones+"\n");
-            inorden(nodo.getHijoDer(), lista);
-        }
+    @Override
+    public Iterator<NodoArbol> iterator() {
+        return new IteradorInorden(0, tamaño(raiz));
+    }
+
+    /**
+     * Spliterator en orden, de tamaño exacto. Al dividirse parte el rango de posiciones a la mitad y
+     * cada parte baja directamente a su primer nodo usando el tamaño de los subárboles.
+     *
+     * @return Spliterator sobre los nodos del árbol.
+     */
+    @Override
+    public Spliterator<NodoArbol> spliterator() {
+        return new RangoSpliterator(0, tamaño(raiz));
+    }
+
+    /**
+     * Recorre los nodos en orden como Stream, sin copiarlos.
+     *
+     * @param paralelo true para un Stream paralelo.
+     * @return Stream de los nodos del árbol.
+     */
+    public Stream<NodoArbol> stream(boolean paralelo) {
+        return StreamSupport.stream(spliterator(), paralelo);
+    }
+
+    /**
+     * Escribe el listado en orden (mismo texto que inorden().mostrarLista()) directamente en un destino.
+     *
+     * @param destino Donde se escribe el reporte (por ejemplo, un Writer a archivo).
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    public void escribirInorden(Appendable destino) throws IOException {
+        EscritorReportes.escribirInorden(this, destino);
+    }
+
+    /**
+     * Cantidad de cambios hechos al árbol. Si no cambió, los reportes calculados antes siguen siendo válidos.
+     */
+    public int getModificaciones() {
+        return modificaciones;
     }
     
+
+    /**
+     * Recorre en orden los nodos con posición en [desde, hasta).
+     * La pila guarda los ancestros cuyo nodo todavía no se visitó; el primero se ubica en O(log n).
+     */
+    private class IteradorInorden implements Iterator<NodoArbol> {
+        private final NodoArbol[] pila = new NodoArbol[altura(raiz)];
+        private int tope;
+        private int restantes;
+
+        IteradorInorden(int desde, int hasta) {
+            this.restantes = hasta - desde;
+            NodoArbol actual = raiz;
+            int i = desde;
+            while (actual != null && restantes > 0) {
+                int izquierda = tamaño(actual.getHijoIzq());
+                if (i < izquierda) {
+                    pila[tope++] = actual;
+                    actual = actual.getHijoIzq();
+                } else if (i == izquierda) {
+                    pila[tope++] = actual;
+                    break;
+                } else {
+                    i -= izquierda + 1;
+                    actual = actual.getHijoDer();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return restantes > 0 && tope > 0;
+        }
+
+        @Override
+        public NodoArbol next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            NodoArbol nodo = pila[--tope];
+            restantes--;
+            NodoArbol actual = nodo.getHijoDer();
+            while (actual != null) {
+                pila[tope++] = actual;
+                actual = actual.getHijoIzq();
+            }
+            return nodo;
+        }
+    }
+
+    /**
+     * Spliterator sobre las posiciones [desde, hasta) del recorrido en orden.
+     */
+    private class RangoSpliterator implements Spliterator<NodoArbol> {
+        private static final int MINIMO_DIVISION = 256; // Rangos más chicos no se dividen
+        private int desde;
+        private final int hasta;
+        private IteradorInorden iterador; // Se crea al empezar a recorrer
+
+        RangoSpliterator(int desde, int hasta) {
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super NodoArbol> accion) {
+            if (iterador == null) {
+                iterador = new IteradorInorden(desde, hasta);
+            }
+            if (!iterador.hasNext()) {
+                return false;
+            }
+            desde++;
+            accion.accept(iterador.next());
+            return true;
+        }
+
+        @Override
+        public Spliterator<NodoArbol> trySplit() {
+            if (iterador != null || hasta - desde < MINIMO_DIVISION) {
+                return null;
+            }
+            int medio = (desde + hasta) >>> 1;
+            RangoSpliterator prefijo = new RangoSpliterator(desde, medio);
+            desde = medio;
+            return prefijo;
+        }
+
+        @Override
+        public long estimateSize() {
+            return hasta - desde;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL
+                    | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
 
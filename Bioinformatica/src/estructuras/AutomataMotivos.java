@@ -0,0 +1,256 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Autómata de Aho-Corasick para buscar muchos motivos a la vez en un solo recorrido de la secuencia.
+ * Los motivos se cargan en un trie sobre el alfabeto A, C, G, T y los enlaces de falla se resuelven de antemano,
+ * así la tabla de transiciones es densa (4 enteros por estado) y avanzar una base es un solo acceso a un arreglo.
+ * Cada estado guarda el primer motivo que termina en él y el estado más cercano por los enlaces de falla
+ * que también termina motivos, para recorrer solo los que aparecen.
+ *
+ * La secuencia empaquetada se lee de a una palabra (32 bases) y se reparte en partes que se recorren en paralelo:
+ * cada parte empieza largoMaximo - 1 bases antes de su inicio para no perder los motivos que cruzan el borde,
+ * y solo informa los que terminan dentro de ella. Las posiciones de cada motivo quedan ordenadas en una
+ * ListaPosiciones, igual que las de la tabla.
+ *
+ * @author Luis Peña, Diego Linares
+ */
+public class AutomataMotivos {
+    private static final int MINIMO_POR_PARTE = 1 << 16; // Bases mínimas por parte, para que el solapamiento no pese
+    private static final int PARTES_POR_HILO = 4;
+
+    private final String[] motivos;
+    private final int[] largos;            // Largo de cada motivo
+    private final int largoMaximo;
+    private final int[] transiciones;      // Estado siguiente: transiciones[estado * 4 + base]
+    private final int[] primerMotivo;      // Primer motivo que termina en cada estado (-1 si ninguno)
+    private final int[] siguienteMotivo;   // Otro motivo idéntico que termina en el mismo estado (-1 si ninguno)
+    private final int[] enlaceSalida;      // Estado más cercano por fallas que termina algún motivo (-1 si ninguno)
+    private final int estados;
+    private long basesRecorridas;          // Datos de la última búsqueda, para informar la velocidad
+    private long nanosUltimaBusqueda;
+
+    /**
+     * Constructor. Arma el trie de los motivos y resuelve las transiciones por falla en orden de anchura.
+     *
+     * @param motivos Motivos a buscar (A, C, G, T; se aceptan minúsculas). Puede haber repetidos.
+     * @throws IllegalArgumentException Si no hay motivos, si alguno está vacío o tiene caracteres inválidos.
+     */
+    public AutomataMotivos(String[] motivos) {
+        if (motivos.length == 0) {
+            throw new IllegalArgumentException("Debe indicar al menos un motivo.");
+        }
+        this.motivos = new String[motivos.length];
+        this.largos = new int[motivos.length];
+        int totalBases = 0;
+        int maximo = 0;
+        for (int m = 0; m < motivos.length; m++) {
+            String motivo = motivos[m].toUpperCase();
+            if (motivo.isEmpty()) {
+                throw new IllegalArgumentException("Los motivos no pueden estar vacíos.");
+            }
+            for (int i = 0; i < motivo.length(); i++) {
+                if (SecuenciaEmpaquetada.codificarBase(motivo.charAt(i)) < 0) {
+                    throw new IllegalArgumentException("Caracter inválido en el motivo " + motivo + ": " + motivo.charAt(i));
+                }
+            }
+            this.motivos[m] = motivo;
+            largos[m] = motivo.length();
+            totalBases += motivo.length();
+            maximo = Math.max(maximo, motivo.length());
+        }
+        largoMaximo = maximo;
+
+        // Trie: como mucho un estado por base de los motivos, más la raíz
+        int[] trie = new int[(totalBases + 1) * 4];
+        Arrays.fill(trie, -1);
+        int[] primero = new int[totalBases + 1];
+        Arrays.fill(primero, -1);
+        siguienteMotivo = new int[motivos.length];
+        int cantidad = 1;
+        for (int m = 0; m < motivos.length; m++) {
+            int estado = 0;
+            for (int i = 0; i < largos[m]; i++) {
+                int base = SecuenciaEmpaquetada.codificarBase(this.motivos[m].charAt(i));
+                if (trie[estado * 4 + base] < 0) {
+                    trie[estado * 4 + base] = cantidad++;
+                }
+                estado = trie[estado * 4 + base];
+            }
+            siguienteMotivo[m] = primero[estado];
+            primero[estado] = m;
+        }
+        estados = cantidad;
+        transiciones = Arrays.copyOf(trie, estados * 4);
+        primerMotivo = Arrays.copyOf(primero, estados);
+        enlaceSalida = new int[estados];
+
+        // Fallas en orden de anchura: las transiciones que faltan se copian de las del estado de falla
+        int[] falla = new int[estados];
+        int[] cola = new int[estados];
+        int inicio = 0;
+        int fin = 0;
+        enlaceSalida[0] = -1;
+        for (int base = 0; base < 4; base++) {
+            int hijo = transiciones[base];
+            if (hijo < 0) {
+                transiciones[base] = 0;
+            } else {
+                falla[hijo] = 0;
+                enlaceSalida[hijo] = -1;
+                cola[fin++] = hijo;
+            }
+        }
+        while (inicio < fin) {
+            int estado = cola[inicio++];
+            for (int base = 0; base < 4; base++) {
+                int hijo = transiciones[estado * 4 + base];
+                int destinoFalla = transiciones[falla[estado] * 4 + base];
+                if (hijo < 0) {
+                    transiciones[estado * 4 + base] = destinoFalla;
+                } else {
+                    falla[hijo] = destinoFalla;
+                    enlaceSalida[hijo] = primerMotivo[destinoFalla] >= 0 ? destinoFalla : enlaceSalida[destinoFalla];
+                    cola[fin++] = hijo;
+                }
+            }
+        }
+    }
+
+    /**
+     * Busca todos los motivos en la secuencia usando todos los procesadores.
+     *
+     * @param secuencia Secuencia a recorrer.
+     * @return Un arreglo con las posiciones iniciales de cada motivo (en el orden en que se dieron), ordenadas.
+     */
+    public ListaPosiciones[] buscar(SecuenciaEmpaquetada secuencia) {
+        return buscar(secuencia, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Busca todos los motivos en la secuencia, repartiéndola en partes que se recorren en paralelo
+     * con un ForkJoinPool. Las apariciones solapadas se informan todas.
+     *
+     * @param secuencia Secuencia a recorrer.
+     * @param hilos Cantidad de hilos a usar.
+     * @return Un arreglo con las posiciones iniciales de cada motivo (en el orden en que se dieron), ordenadas.
+     */
+    public ListaPosiciones[] buscar(SecuenciaEmpaquetada secuencia, int hilos) {
+        long inicio = System.nanoTime();
+        int longitud = secuencia.getLongitud();
+        long[] palabras = secuencia.getPalabras();
+        int partes = (int) Math.max(1, Math.min((long) Math.max(1, hilos) * PARTES_POR_HILO, longitud / MINIMO_POR_PARTE));
+        ListaPosiciones[][] parciales = new ListaPosiciones[partes][];
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, hilos));
+        try {
+            pool.submit(() -> IntStream.range(0, partes).parallel().forEach(parte -> {
+                int desde = (int) ((long) longitud * parte / partes);
+                int hasta = (int) ((long) longitud * (parte + 1) / partes);
+                parciales[parte] = recorrer(palabras, desde, hasta);
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Búsqueda de motivos interrumpida.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error buscando motivos: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        // Las partes están en el orden de la secuencia, así que cada lista queda ordenada
+        ListaPosiciones[] resultado = new ListaPosiciones[motivos.length];
+        for (int m = 0; m < motivos.length; m++) {
+            for (ListaPosiciones[] parcial : parciales) {
+                if (parcial[m] == null) {
+                    continue;
+                }
+                if (resultado[m] == null) {
+                    resultado[m] = parcial[m]; // La primera parte con apariciones se usa sin copiarla
+                } else {
+                    resultado[m].agregarTodos(parcial[m]);
+                }
+            }
+            if (resultado[m] == null) {
+                resultado[m] = new ListaPosiciones();
+            }
+        }
+        basesRecorridas = longitud;
+        nanosUltimaBusqueda = System.nanoTime() - inicio;
+        return resultado;
+    }
+
+    /**
+     * Recorre una parte de la secuencia e informa los motivos que terminan en [desde, hasta).
+     * Empieza largoMaximo - 1 bases antes, desde la raíz, para llegar a desde en el mismo estado
+     * que tendría un recorrido completo (para los motivos que importan).
+     *
+     * @return Posiciones de cada motivo en la parte (null para los que no aparecen).
+     */
+    private ListaPosiciones[] recorrer(long[] palabras, int desde, int hasta) {
+        ListaPosiciones[] encontrados = new ListaPosiciones[motivos.length];
+        int estado = 0;
+        int i = Math.max(0, desde - (largoMaximo - 1));
+        while (i < hasta) {
+            long palabra = palabras[i >>> 5] << (2 * (i & 31)); // Base i en los 2 bits más altos
+            int finPalabra = Math.min(hasta, (i | 31) + 1);
+            for (; i < finPalabra; i++, palabra <<= 2) {
+                estado = transiciones[estado * 4 + (int) (palabra >>> 62)];
+                if (i < desde) {
+                    continue;
+                }
+                int salida = primerMotivo[estado] >= 0 ? estado : enlaceSalida[estado];
+                while (salida >= 0) {
+                    for (int m = primerMotivo[salida]; m >= 0; m = siguienteMotivo[m]) {
+                        if (encontrados[m] == null) {
+                            encontrados[m] = new ListaPosiciones();
+                        }
+                        encontrados[m].agregar(i - largos[m] + 1);
+                    }
+                    salida = enlaceSalida[salida];
+                }
+            }
+        }
+        return encontrados;
+    }
+
+    /**
+     * Velocidad de la última búsqueda.
+     *
+     * @return Millones de bases por segundo (0 si todavía no se buscó).
+     */
+    public double getMegabasesPorSegundo() {
+        return nanosUltimaBusqueda == 0 ? 0 : basesRecorridas * 1e3 / nanosUltimaBusqueda;
+    }
+
+    /**
+     * Getters
+     */
+    public int getCantidadMotivos() {
+        return motivos.length;
+    }
+
+    public String getMotivo(int i) {
+        return motivos[i];
+    }
+
+    public int getCantidadEstados() {
+        return estados;
+    }
+
+    public int getLargoMaximo() {
+        return largoMaximo;
+    }
+
+    public long getNanosUltimaBusqueda() {
+        return nanosUltimaBusqueda;
+    }
+}
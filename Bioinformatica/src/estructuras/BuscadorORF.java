@@ -0,0 +1,279 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Busca marcos abiertos de lectura (ORF) en los tres marcos de la hebra directa y, si se pide,
+ * en los tres de la hebra inversa (complementaria), recorriendo la secuencia una sola vez.
+ * Cada tripleta se lleva como código rodante (0-63) y se clasifica con tablas armadas desde TraductorAminoacidos,
+ * sin crear textos; la tripleta complementaria inversa se lleva en paralelo con otro código rodante.
+ *
+ * Para cada STOP se informa el ORF más largo: desde el primer ATG después del STOP anterior del mismo marco.
+ * Los ORF sin STOP (que llegan al final de la secuencia) no se informan.
+ *
+ * La secuencia se reparte en partes que se recorren en paralelo. Como un ORF puede cruzar varias partes,
+ * cada parte informa los ORF que empiezan y terminan dentro de ella y guarda, por marco, lo que pasa antes
+ * de su primer STOP y después del último; al final esos bordes se unen en orden de la secuencia.
+ *
+ * @author Luis Peña, Luis Mariano Lovera
+ */
+public class BuscadorORF {
+    private static final boolean[] ES_INICIO = new boolean[64];
+    private static final boolean[] ES_STOP = new boolean[64];
+    private static final int MINIMO_POR_PARTE = 1 << 16;
+    private static final int PARTES_POR_HILO = 4;
+
+    private final int largoMinimo;
+    private final boolean seisMarcos;
+    private int longitud;
+    private long nanosUltimaBusqueda;
+
+    static {
+        for (int codigo = 0; codigo < 64; codigo++) {
+            Aminoacido.Tipo tipo = TraductorAminoacidos.traducir(codigo).getTipo();
+            ES_INICIO[codigo] = tipo == Aminoacido.Tipo.INICIO;
+            ES_STOP[codigo] = tipo == Aminoacido.Tipo.STOP;
+        }
+    }
+
+    /**
+     * Estado de una parte de la secuencia, por marco (índice = posición de la tripleta % 3, en la hebra directa).
+     */
+    private static class Parte {
+        final ListaSimple<MarcoAbierto> encontrados = new ListaSimple<>();
+        // Hebra directa
+        final int[] primerStop = {-1, -1, -1};
+        final int[] primerInicio = {-1, -1, -1};    // Primer ATG antes del primer STOP
+        final int[] inicioAbierto = {-1, -1, -1};   // Primer ATG después del último STOP
+        // Hebra inversa (se recorre al revés: primero aparece el STOP y después el ATG)
+        final int[] primerStopInverso = {-1, -1, -1};
+        final int[] ultimoInicioAntes = {-1, -1, -1}; // Último ATG antes del primer STOP
+        final int[] ultimoStopInverso = {-1, -1, -1};
+        final int[] inicioInverso = {-1, -1, -1};     // Último ATG después del último STOP
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param largoMinimo Largo mínimo en bases (incluido el STOP) de los ORF informados.
+     * @param seisMarcos true para buscar también en la hebra inversa.
+     */
+    public BuscadorORF(int largoMinimo, boolean seisMarcos) {
+        this.largoMinimo = Math.max(6, largoMinimo); // Un ORF tiene al menos el ATG y el STOP
+        this.seisMarcos = seisMarcos;
+    }
+
+    /**
+     * Busca los ORF usando todos los procesadores.
+     *
+     * @param secuencia Secuencia a recorrer.
+     * @return ListaSimple con los ORF ordenados por inicio.
+     */
+    public ListaSimple<MarcoAbierto> buscar(SecuenciaEmpaquetada secuencia) {
+        return buscar(secuencia, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Busca los ORF repartiendo la secuencia en partes que se recorren en paralelo con un ForkJoinPool.
+     *
+     * @param secuencia Secuencia a recorrer.
+     * @param hilos Cantidad de hilos a usar.
+     * @return ListaSimple con los ORF ordenados por inicio (y por fin y hebra si empiezan en la misma posición).
+     */
+    public ListaSimple<MarcoAbierto> buscar(SecuenciaEmpaquetada secuencia, int hilos) {
+        long inicio = System.nanoTime();
+        longitud = secuencia.getLongitud();
+        long[] palabras = secuencia.getPalabras();
+        int tripletas = Math.max(0, longitud - 2); // Posiciones donde empieza una tripleta completa
+        int partes = (int) Math.max(1, Math.min((long) Math.max(1, hilos) * PARTES_POR_HILO, tripletas / MINIMO_POR_PARTE));
+        Parte[] estados = new Parte[partes];
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, hilos));
+        try {
+            pool.submit(() -> IntStream.range(0, partes).parallel().forEach(parte -> {
+                int desde = (int) ((long) tripletas * parte / partes);
+                int hasta = (int) ((long) tripletas * (parte + 1) / partes);
+                estados[parte] = recorrer(palabras, desde, hasta);
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Búsqueda de ORF interrumpida.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error buscando ORF: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        int cantidad = 0;
+        for (Parte parte : estados) {
+            cantidad += parte.encontrados.getTamaño();
+        }
+        ListaSimple<MarcoAbierto> bordes = unirBordes(estados);
+        MarcoAbierto[] todos = new MarcoAbierto[cantidad + bordes.getTamaño()];
+        int i = 0;
+        for (Parte parte : estados) {
+            for (MarcoAbierto orf : parte.encontrados) {
+                todos[i++] = orf;
+            }
+        }
+        for (MarcoAbierto orf : bordes) {
+            todos[i++] = orf;
+        }
+        Arrays.sort(todos, Comparator.comparingInt(MarcoAbierto::getInicio).thenComparingInt(MarcoAbierto::getFin)
+                .thenComparing(MarcoAbierto::esInverso));
+        ListaSimple<MarcoAbierto> resultado = new ListaSimple<>();
+        for (MarcoAbierto orf : todos) {
+            resultado.insertarAlFinal(orf);
+        }
+        nanosUltimaBusqueda = System.nanoTime() - inicio;
+        return resultado;
+    }
+
+    /**
+     * Recorre las tripletas que empiezan en [desde, hasta). Lee hasta dos bases más allá para completar la última.
+     */
+    private Parte recorrer(long[] palabras, int desde, int hasta) {
+        Parte parte = new Parte();
+        int directo = 0;  // Tripleta que termina en la base actual
+        int inverso = 0;  // Su complementaria inversa
+        int marco = desde % 3; // Marco de la tripleta que termina en la base actual; avanza antes de usarse
+        int ultima = Math.min(longitud, hasta + 2);
+        int i = desde;
+        while (i < ultima) {
+            long palabra = palabras[i >>> 5] << (2 * (i & 31));
+            int finPalabra = Math.min(ultima, (i | 31) + 1);
+            for (; i < finPalabra; i++, palabra <<= 2) {
+                int base = (int) (palabra >>> 62);
+                directo = ((directo << 2) | base) & 63;
+                inverso = (inverso >>> 2) | ((3 - base) << 4);
+                marco = marco == 2 ? 0 : marco + 1;
+                if (i < desde + 2) {
+                    continue;
+                }
+                int posicion = i - 2;
+                if (ES_STOP[directo]) {
+                    if (parte.primerStop[marco] < 0) {
+                        parte.primerStop[marco] = posicion;
+                    } else if (parte.inicioAbierto[marco] >= 0) {
+                        agregar(parte.encontrados, parte.inicioAbierto[marco], posicion + 3, false);
+                    }
+                    parte.inicioAbierto[marco] = -1;
+                } else if (ES_INICIO[directo]) {
+                    if (parte.primerStop[marco] < 0) {
+                        if (parte.primerInicio[marco] < 0) {
+                            parte.primerInicio[marco] = posicion;
+                        }
+                    } else if (parte.inicioAbierto[marco] < 0) {
+                        parte.inicioAbierto[marco] = posicion;
+                    }
+                }
+                if (!seisMarcos) {
+                    continue;
+                }
+                if (ES_STOP[inverso]) {
+                    if (parte.primerStopInverso[marco] < 0) {
+                        parte.primerStopInverso[marco] = posicion;
+                    } else if (parte.inicioInverso[marco] >= 0) {
+                        agregar(parte.encontrados, parte.ultimoStopInverso[marco], parte.inicioInverso[marco] + 3, true);
+                    }
+                    parte.ultimoStopInverso[marco] = posicion;
+                    parte.inicioInverso[marco] = -1;
+                } else if (ES_INICIO[inverso]) {
+                    if (parte.primerStopInverso[marco] < 0) {
+                        parte.ultimoInicioAntes[marco] = posicion;
+                    } else {
+                        parte.inicioInverso[marco] = posicion;
+                    }
+                }
+            }
+        }
+        return parte;
+    }
+
+    /**
+     * Une los bordes de las partes en el orden de la secuencia: completa los ORF que empiezan en una parte
+     * y terminan en otra.
+     */
+    private ListaSimple<MarcoAbierto> unirBordes(Parte[] partes) {
+        ListaSimple<MarcoAbierto> encontrados = new ListaSimple<>();
+        for (int marco = 0; marco < 3; marco++) {
+            int abierto = -1;       // Primer ATG sin STOP todavía (hebra directa)
+            int stopPendiente = -1; // Último STOP de la hebra inversa sin su ATG más lejano todavía
+            int inicioPendiente = -1;
+            for (Parte parte : partes) {
+                if (parte.primerStop[marco] < 0) {
+                    if (abierto < 0) {
+                        abierto = parte.primerInicio[marco];
+                    }
+                } else {
+                    int inicio = abierto >= 0 ? abierto : parte.primerInicio[marco];
+                    if (inicio >= 0) {
+                        agregar(encontrados, inicio, parte.primerStop[marco] + 3, false);
+                    }
+                    abierto = parte.inicioAbierto[marco];
+                }
+                if (!seisMarcos) {
+                    continue;
+                }
+                if (parte.primerStopInverso[marco] < 0) {
+                    if (stopPendiente >= 0 && parte.ultimoInicioAntes[marco] >= 0) {
+                        inicioPendiente = parte.ultimoInicioAntes[marco];
+                    }
+                } else {
+                    int inicio = parte.ultimoInicioAntes[marco] >= 0 ? parte.ultimoInicioAntes[marco] : inicioPendiente;
+                    if (stopPendiente >= 0 && inicio >= 0) {
+                        agregar(encontrados, stopPendiente, inicio + 3, true);
+                    }
+                    stopPendiente = parte.ultimoStopInverso[marco];
+                    inicioPendiente = parte.inicioInverso[marco];
+                }
+            }
+            // En la hebra inversa el último ORF termina (en su sentido) en el último ATG visto
+            if (stopPendiente >= 0 && inicioPendiente >= 0) {
+                agregar(encontrados, stopPendiente, inicioPendiente + 3, true);
+            }
+        }
+        return encontrados;
+    }
+
+    /**
+     * Agrega un ORF si alcanza el largo mínimo. El marco de la hebra inversa se cuenta desde el final de la secuencia.
+     */
+    private void agregar(ListaSimple<MarcoAbierto> lista, int inicio, int fin, boolean inverso) {
+        if (fin - inicio >= largoMinimo) {
+            lista.insertarAlFinal(new MarcoAbierto(inicio, fin, inverso, inverso ? (longitud - fin) % 3 : inicio % 3));
+        }
+    }
+
+    /**
+     * Velocidad de la última búsqueda.
+     *
+     * @return Millones de bases por segundo (0 si todavía no se buscó).
+     */
+    public double getMegabasesPorSegundo() {
+        return nanosUltimaBusqueda == 0 ? 0 : (long) longitud * 1e3 / nanosUltimaBusqueda;
+    }
+
+    /**
+     * Getters
+     */
+    public int getLargoMinimo() {
+        return largoMinimo;
+    }
+
+    public boolean isSeisMarcos() {
+        return seisMarcos;
+    }
+
+    public long getNanosUltimaBusqueda() {
+        return nanosUltimaBusqueda;
+    }
+}
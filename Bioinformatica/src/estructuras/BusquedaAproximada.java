@@ -0,0 +1,211 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Búsqueda aproximada de un patrón (de hasta 64 bases) con paralelismo de bits: cada estado de la comparación
+ * es un bit de un long, así que avanzar una base de la secuencia cuesta unas pocas operaciones sin importar el largo.
+ *   - Solo sustituciones (distancia de Hamming ≤ d): shift-and de Baeza-Yates y Gonnet con d + 1 vectores
+ *     (Wu y Manber). Informa la posición inicial de cada aparición.
+ *   - Con inserciones y borrados (distancia de edición ≤ d): algoritmo de Myers en la formulación de Hyyrö.
+ *     Como la aparición puede tener distintos largos, informa la posición final (la última base).
+ *
+ * La secuencia empaquetada se lee de a una palabra y se reparte en partes que se recorren en paralelo;
+ * cada parte empieza antes de su inicio lo suficiente para cubrir una aparición que cruce el borde
+ * (largo - 1 bases con Hamming, largo + d - 1 con edición) y solo informa las que terminan dentro de ella.
+ *
+ * @author Luis Mariano Lovera, Luis Peña
+ */
+public class BusquedaAproximada {
+    /** Largo máximo del patrón: un bit por base en un long. */
+    public static final int LARGO_MAXIMO = 64;
+    private static final int MINIMO_POR_PARTE = 1 << 16;
+    private static final int PARTES_POR_HILO = 4;
+
+    private final String patron;
+    private final int largo;
+    private final int distancia;
+    private final boolean conIndels;
+    private final long[] coincidencias = new long[4]; // Bit i encendido si la base i del patrón es la del índice
+    private long basesRecorridas;
+    private long nanosUltimaBusqueda;
+
+    /**
+     * Constructor.
+     *
+     * @param patron Patrón a buscar (A, C, G, T; se aceptan minúsculas), de 1 a 64 bases.
+     * @param distancia Cantidad máxima de diferencias permitidas (0 a largo - 1).
+     * @param conIndels true para permitir inserciones y borrados (distancia de edición), false solo sustituciones.
+     * @throws IllegalArgumentException Si el patrón o la distancia no son válidos.
+     */
+    public BusquedaAproximada(String patron, int distancia, boolean conIndels) {
+        this.patron = patron.toUpperCase();
+        this.largo = this.patron.length();
+        if (largo < 1 || largo > LARGO_MAXIMO) {
+            throw new IllegalArgumentException("El patrón debe tener entre 1 y " + LARGO_MAXIMO + " bases.");
+        }
+        if (distancia < 0 || distancia >= largo) {
+            throw new IllegalArgumentException("La distancia debe estar entre 0 y " + (largo - 1) + ".");
+        }
+        for (int i = 0; i < largo; i++) {
+            int base = SecuenciaEmpaquetada.codificarBase(this.patron.charAt(i));
+            if (base < 0) {
+                throw new IllegalArgumentException("Caracter inválido en el patrón " + this.patron + ": " + this.patron.charAt(i));
+            }
+            coincidencias[base] |= 1L << i;
+        }
+        this.distancia = distancia;
+        this.conIndels = conIndels;
+    }
+
+    /**
+     * Busca el patrón usando todos los procesadores.
+     *
+     * @param secuencia Secuencia a recorrer.
+     * @return Posiciones de las apariciones, ordenadas: iniciales con Hamming, finales con edición.
+     */
+    public ListaPosiciones buscar(SecuenciaEmpaquetada secuencia) {
+        return buscar(secuencia, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Busca el patrón repartiendo la secuencia en partes que se recorren en paralelo con un ForkJoinPool.
+     *
+     * @param secuencia Secuencia a recorrer.
+     * @param hilos Cantidad de hilos a usar.
+     * @return Posiciones de las apariciones, ordenadas: iniciales con Hamming, finales con edición.
+     */
+    public ListaPosiciones buscar(SecuenciaEmpaquetada secuencia, int hilos) {
+        long inicio = System.nanoTime();
+        int longitud = secuencia.getLongitud();
+        long[] palabras = secuencia.getPalabras();
+        int partes = (int) Math.max(1, Math.min((long) Math.max(1, hilos) * PARTES_POR_HILO, longitud / MINIMO_POR_PARTE));
+        ListaPosiciones[] parciales = new ListaPosiciones[partes];
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, hilos));
+        try {
+            pool.submit(() -> IntStream.range(0, partes).parallel().forEach(parte -> {
+                int desde = (int) ((long) longitud * parte / partes);
+                int hasta = (int) ((long) longitud * (parte + 1) / partes);
+                parciales[parte] = conIndels ? recorrerEdicion(palabras, desde, hasta) : recorrerHamming(palabras, desde, hasta);
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Búsqueda aproximada interrumpida.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error en la búsqueda aproximada: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        ListaPosiciones resultado = parciales[0];
+        for (int parte = 1; parte < partes; parte++) {
+            resultado.agregarTodos(parciales[parte]);
+        }
+        basesRecorridas = longitud;
+        nanosUltimaBusqueda = System.nanoTime() - inicio;
+        return resultado;
+    }
+
+    /**
+     * Shift-and con hasta d sustituciones. El bit i de estados[j] indica que las primeras i + 1 bases del patrón
+     * coinciden con las que terminan en la posición actual con j diferencias o menos.
+     * Informa las apariciones que terminan en [desde, hasta) por su posición inicial.
+     */
+    private ListaPosiciones recorrerHamming(long[] palabras, int desde, int hasta) {
+        ListaPosiciones encontradas = new ListaPosiciones();
+        long[] estados = new long[distancia + 1];
+        long completo = 1L << (largo - 1);
+        int i = Math.max(0, desde - (largo - 1));
+        while (i < hasta) {
+            long palabra = palabras[i >>> 5] << (2 * (i & 31));
+            int finPalabra = Math.min(hasta, (i | 31) + 1);
+            for (; i < finPalabra; i++, palabra <<= 2) {
+                long coincide = coincidencias[(int) (palabra >>> 62)];
+                // De mayor a menor j, para usar el valor anterior de estados[j - 1]
+                for (int j = distancia; j > 0; j--) {
+                    estados[j] = (((estados[j] << 1) | 1) & coincide) | ((estados[j - 1] << 1) | 1);
+                }
+                estados[0] = ((estados[0] << 1) | 1) & coincide;
+                if ((estados[distancia] & completo) != 0 && i >= desde) {
+                    encontradas.agregar(i - largo + 1);
+                }
+            }
+        }
+        return encontradas;
+    }
+
+    /**
+     * Algoritmo de Myers (formulación de Hyyrö): mantiene las diferencias verticales positivas y negativas
+     * de la columna de la matriz de edición y el valor de su última fila, que es la menor distancia entre
+     * el patrón y algún fragmento que termina en la posición actual.
+     * Informa las posiciones finales en [desde, hasta) con distancia ≤ d.
+     */
+    private ListaPosiciones recorrerEdicion(long[] palabras, int desde, int hasta) {
+        ListaPosiciones encontradas = new ListaPosiciones();
+        long positivas = -1L;  // Pv
+        long negativas = 0;    // Mv
+        int puntaje = largo;
+        long ultima = 1L << (largo - 1);
+        int i = Math.max(0, desde - (largo + distancia - 1));
+        while (i < hasta) {
+            long palabra = palabras[i >>> 5] << (2 * (i & 31));
+            int finPalabra = Math.min(hasta, (i | 31) + 1);
+            for (; i < finPalabra; i++, palabra <<= 2) {
+                long coincide = coincidencias[(int) (palabra >>> 62)];
+                long xv = coincide | negativas;
+                long xh = (((coincide & positivas) + positivas) ^ positivas) | coincide;
+                long horizontalesPositivas = negativas | ~(xh | positivas);
+                long horizontalesNegativas = positivas & xh;
+                if ((horizontalesPositivas & ultima) != 0) {
+                    puntaje++;
+                } else if ((horizontalesNegativas & ultima) != 0) {
+                    puntaje--;
+                }
+                // La primera fila vale 0 en todas las columnas (la aparición puede empezar en cualquier posición)
+                horizontalesPositivas <<= 1;
+                horizontalesNegativas <<= 1;
+                positivas = horizontalesNegativas | ~(xv | horizontalesPositivas);
+                negativas = horizontalesPositivas & xv;
+                if (puntaje <= distancia && i >= desde) {
+                    encontradas.agregar(i);
+                }
+            }
+        }
+        return encontradas;
+    }
+
+    /**
+     * Velocidad de la última búsqueda.
+     *
+     * @return Millones de bases por segundo (0 si todavía no se buscó).
+     */
+    public double getMegabasesPorSegundo() {
+        return nanosUltimaBusqueda == 0 ? 0 : basesRecorridas * 1e3 / nanosUltimaBusqueda;
+    }
+
+    /**
+     * Getters
+     */
+    public String getPatron() {
+        return patron;
+    }
+
+    public int getDistancia() {
+        return distancia;
+    }
+
+    public boolean isConIndels() {
+        return conIndels;
+    }
+
+    public long getNanosUltimaBusqueda() {
+        return nanosUltimaBusqueda;
+    }
+}
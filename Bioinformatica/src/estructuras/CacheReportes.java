@@ -0,0 +1,160 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Guarda el texto de los reportes ya calculados para no repetirlos mientras los datos no cambien.
+ * Cada reporte se asocia a la estructura de la que sale (el árbol para los patrones; la tabla para
+ * mayor y menor, que salen de su IndiceFrecuencias, y para colisiones y aminoácidos) y a su contador de modificaciones: si la estructura es otra
+ * o su contador cambió, el reporte se vuelve a calcular.
+ *
+ * La memoria está acotada por la cantidad total de caracteres guardados; al pasarse se descartan
+ * los reportes usados hace más tiempo, y un reporte más grande que el límite no se guarda.
+ * Lleva la cuenta de aciertos y fallos.
+ *
+ * @author Diego Linares, Luis Peña
+ */
+public class CacheReportes {
+    /** Límite por defecto: 8 millones de caracteres entre todos los reportes. */
+    public static final long CAPACIDAD_POR_DEFECTO = 8L * 1024 * 1024;
+
+    private final long capacidad;
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true); // En orden de uso
+    private long caracteres;
+    private long aciertos;
+    private long fallos;
+
+    /**
+     * Reporte guardado con la versión de los datos con que se calculó.
+     */
+    private static class Entrada {
+        final Object fuente;
+        final int version;
+        final String texto;
+
+        Entrada(Object fuente, int version, String texto) {
+            this.fuente = fuente;
+            this.version = version;
+            this.texto = texto;
+        }
+    }
+
+    /**
+     * Constructor con el límite por defecto.
+     */
+    public CacheReportes() {
+        this(CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacidad Cantidad máxima de caracteres guardados entre todos los reportes.
+     */
+    public CacheReportes(long capacidad) {
+        this.capacidad = capacidad;
+    }
+
+    /**
+     * Devuelve el texto de un reporte, calculándolo solo si no está guardado o si los datos cambiaron.
+     * Es el mismo texto que muestra la interfaz en cada área.
+     *
+     * @param reporte Nombre del reporte (uno de ExportadorReportes.REPORTES).
+     * @param procesador Procesador con la secuencia cargada.
+     * @param tabla Tabla hash construida.
+     * @param arbol Árbol AVL construido.
+     * @return Texto del reporte.
+     * @throws IllegalArgumentException Si el nombre no corresponde a un reporte.
+     */
+    public String obtener(String reporte, ProcesadorArchivo procesador, Hashtable tabla, ArbolBB arbol) {
+        boolean delArbol = reporte.equals("patrones");
+        Object fuente = delArbol ? arbol : tabla;
+        int version = delArbol ? arbol.getModificaciones() : tabla.getModificaciones();
+
+        Entrada entrada = entradas.get(reporte);
+        if (entrada != null && entrada.fuente == fuente && entrada.version == version) {
+            aciertos++;
+            return entrada.texto;
+        }
+        fallos++;
+        String texto = calcular(reporte, procesador, tabla, arbol);
+        guardar(reporte, new Entrada(fuente, version, texto));
+        return texto;
+    }
+
+    /**
+     * Descarta todos los reportes guardados (por ejemplo, al cargar otro archivo). No reinicia los contadores.
+     */
+    public void limpiar() {
+        entradas.clear();
+        caracteres = 0;
+    }
+
+    /**
+     * Calcula el texto de un reporte.
+     */
+    private String calcular(String reporte, ProcesadorArchivo procesador, Hashtable tabla, ArbolBB arbol) {
+        switch (reporte) {
+            case "patrones":
+                return EscritorReportes.aTexto(arbol::escribirInorden);
+            case "mayor":
+                return tabla.getIndiceFrecuencias().buscarMayorFrecuencia().mostrarPatronesFrecuencia();
+            case "menor":
+                return tabla.getIndiceFrecuencias().buscarMenorFrecuencia().mostrarPatronesFrecuencia();
+            case "colisiones":
+                return tabla.reporteColisiones();
+            case "aminoacidos":
+                return procesador.generarReporteAminoacidos(tabla).mostrarLista();
+            default:
+                throw new IllegalArgumentException("Reporte desconocido: " + reporte);
+        }
+    }
+
+    /**
+     * Guarda una entrada y descarta las usadas hace más tiempo hasta volver a estar dentro del límite.
+     */
+    private void guardar(String reporte, Entrada entrada) {
+        Entrada anterior = entradas.remove(reporte);
+        if (anterior != null) {
+            caracteres -= anterior.texto.length();
+        }
+        if (entrada.texto.length() > capacidad) {
+            return; // No entra aunque se vacíe todo: se recalcula cada vez
+        }
+        entradas.put(reporte, entrada);
+        caracteres += entrada.texto.length();
+        Iterator<Map.Entry<String, Entrada>> it = entradas.entrySet().iterator();
+        while (caracteres > capacidad && it.hasNext()) {
+            Entrada vieja = it.next().getValue();
+            if (vieja != entrada) {
+                caracteres -= vieja.texto.length();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Getters
+     */
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    public long getCaracteres() {
+        return caracteres;
+    }
+
+    public long getCapacidad() {
+        return capacidad;
+    }
+}
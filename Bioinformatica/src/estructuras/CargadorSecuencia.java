@@ -0,0 +1,199 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Cargador de secuencias de ADN basado en archivos mapeados en memoria (NIO).
+ * Recorre el archivo una sola vez: valida cada byte y lo agrega a una SecuenciaEmpaquetada
+ * (2 bits por base), evitando la concatenación de Strings línea por línea.
+ *
+ * Las reglas de validación son las mismas de la lectura original: cada línea se recorta,
+ * se pasa a mayúsculas y solo puede contener los caracteres A, C, G y T.
+ * En el mismo recorrido se calcula la suma CRC32C del archivo, que usa Instantanea para saber si cambió.
+ *
+ * @author Luis Mariano Lovera, Luis Peña
+ */
+public class CargadorSecuencia {
+    private static final long TAMAÑO_VENTANA = 64L * 1024 * 1024; // Bytes mapeados por ventana
+    private static final int TAMAÑO_BLOQUE = 64 * 1024; // Bytes copiados del mapa en cada lectura
+    private static final int LONGITUD_MAXIMA = Integer.MAX_VALUE - 8;
+
+    private SecuenciaEmpaquetada secuencia;
+    private char caracterInvalido;
+    private boolean cancelada;
+    private long sumaVerificacion; // CRC32C de todo el archivo (solo si la carga terminó bien)
+    private long bytesLeidos;
+    private long nanosegundos;
+
+    /**
+     * Constructor que inicializa el cargador con una secuencia vacía.
+     */
+    public CargadorSecuencia() {
+        this.secuencia = new SecuenciaEmpaquetada();
+        this.caracterInvalido = 0;
+        this.cancelada = false;
+        this.sumaVerificacion = 0;
+        this.bytesLeidos = 0;
+        this.nanosegundos = 0;
+    }
+
+    /**
+     * Lee el archivo completo y guarda las bases válidas empaquetadas.
+     * Si encuentra un carácter inválido se detiene y lo deja disponible en getCaracterInvalido().
+     *
+     * @param archivo Archivo de texto con la secuencia de ADN.
+     * @return true si todo el archivo es válido, false si se encontró un carácter inválido.
+     * @throws IOException Si el archivo no se puede abrir o mapear.
+     */
+    public boolean cargar(File archivo) throws IOException {
+        return cargar(archivo, null);
+    }
+
+    /**
+     * Lee el archivo completo informando el progreso y revisando si se pidió cancelar cada 64 KB.
+     * Si se cancela, se detiene y devuelve false con fueCancelada() en true.
+     *
+     * @param archivo Archivo de texto con la secuencia de ADN.
+     * @param oyente Recibe el progreso y se consulta para cancelar (puede ser null).
+     * @return true si todo el archivo es válido, false si se encontró un carácter inválido o se canceló.
+     * @throws IOException Si el archivo no se puede abrir o mapear.
+     */
+    public boolean cargar(File archivo, OyenteProcesamiento oyente) throws IOException {
+        long inicio = System.nanoTime();
+        caracterInvalido = 0;
+        cancelada = false;
+        sumaVerificacion = 0;
+        bytesLeidos = 0;
+        CRC32C suma = new CRC32C();
+
+        try (FileChannel canal = FileChannel.open(archivo.toPath(), StandardOpenOption.READ)) {
+            long tamañoArchivo = canal.size();
+            // La secuencia nunca es más larga que el archivo, así que se reserva esa capacidad de entrada
+            secuencia = new SecuenciaEmpaquetada((int) Math.min(tamañoArchivo, LONGITUD_MAXIMA));
+
+            byte[] bloque = new byte[TAMAÑO_BLOQUE];
+            boolean lineaConBases = false; // Ya apareció una base en la línea actual
+            byte espacioPendiente = 0;     // Espacio encontrado después de una base en la línea actual
+
+            long posicion = 0;
+            while (posicion < tamañoArchivo) {
+                long tamañoMapa = Math.min(TAMAÑO_VENTANA, tamañoArchivo - posicion);
+                MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, posicion, tamañoMapa);
+
+                while (mapa.hasRemaining()) {
+                    if (oyente != null) {
+                        long procesados = posicion + mapa.position();
+                        if (oyente.cancelado()) {
+                            cancelada = true;
+                            terminar(inicio, procesados);
+                            return false;
+                        }
+                        oyente.progreso(procesados, tamañoArchivo);
+                    }
+                    int cantidad = Math.min(bloque.length, mapa.remaining());
+                    mapa.get(bloque, 0, cantidad);
+                    suma.update(bloque, 0, cantidad);
+
+                    for (int i = 0; i < cantidad; i++) {
+                        byte b = bloque[i];
+                        if (b == '\n') {
+                            lineaConBases = false;
+                            espacioPendiente = 0;
+                        } else if ((b & 0xFF) <= ' ') {
+                            // Espacios al inicio o final de la línea se ignoran (equivalente a trim)
+                            if (lineaConBases) {
+                                espacioPendiente = b;
+                            }
+                        } else {
+                            if (b >= 'a' && b <= 'z') {
+                                b = (byte) (b - 32);
+                            }
+                            if (espacioPendiente != 0) {
+                                caracterInvalido = (char) espacioPendiente;
+                                terminar(inicio, posicion + mapa.position());
+                                return false;
+                            }
+                            int codigo = SecuenciaEmpaquetada.codificarBase(b);
+                            if (codigo < 0) {
+                                caracterInvalido = (char) (b & 0xFF);
+                                terminar(inicio, posicion + mapa.position());
+                                return false;
+                            }
+                            if (secuencia.getLongitud() == LONGITUD_MAXIMA) {
+                                throw new IOException("La secuencia supera el tamaño máximo soportado.");
+                            }
+                            secuencia.agregar(codigo);
+                            lineaConBases = true;
+                        }
+                    }
+                }
+                posicion += tamañoMapa;
+            }
+            terminar(inicio, tamañoArchivo);
+            sumaVerificacion = suma.getValue();
+            if (oyente != null) {
+                oyente.progreso(tamañoArchivo, tamañoArchivo);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Registra los bytes consumidos y el tiempo total de la carga.
+     *
+     * @param inicio Instante de inicio en nanosegundos.
+     * @param bytes Cantidad de bytes del archivo que se recorrieron.
+     */
+    private void terminar(long inicio, long bytes) {
+        bytesLeidos = bytes;
+        nanosegundos = System.nanoTime() - inicio;
+    }
+
+    /**
+     * Calcula la velocidad de la última carga.
+     *
+     * @return Megabytes leídos por segundo, o 0 si no se ha cargado nada.
+     */
+    public double getMegabytesPorSegundo() {
+        if (nanosegundos <= 0) {
+            return 0;
+        }
+        return (bytesLeidos / (1024.0 * 1024.0)) / (nanosegundos / 1e9);
+    }
+
+    /**
+    * Getters
+    */
+    public SecuenciaEmpaquetada getSecuencia() {
+        return secuencia;
+    }
+
+    public char getCaracterInvalido() {
+        return caracterInvalido;
+    }
+
+    public boolean fueCancelada() {
+        return cancelada;
+    }
+
+    public long getSumaVerificacion() {
+        return sumaVerificacion;
+    }
+
+    public long getBytesLeidos() {
+        return bytesLeidos;
+    }
+
+    public long getNanosegundos() {
+        return nanosegundos;
+    }
+}
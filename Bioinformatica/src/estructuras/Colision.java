@@ -0,0 +1,64 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+/**
+ * Colisión de la tabla hash: un cubo inicial compartido por dos o más patrones.
+ * Se usa para el reporte de colisiones y para exportarlo.
+ *
+ * @author Diego Linares
+ */
+public class Colision {
+    private final int cubo;
+    private final ListaSimple<NodoArbol> patrones;
+
+    /**
+     * Constructor. La lista de patrones empieza vacía.
+     *
+     * @param cubo Cubo inicial que comparten los patrones.
+     */
+    public Colision(int cubo) {
+        this.cubo = cubo;
+        this.patrones = new ListaSimple<>();
+    }
+
+    /**
+     * Agrega un patrón que empieza a sondear en este cubo.
+     *
+     * @param nodo Nodo del patrón.
+     */
+    public void agregarPatron(NodoArbol nodo) {
+        patrones.insertarAlFinal(nodo);
+    }
+
+    /**
+     * Genera la línea del reporte de colisiones.
+     *
+     * @return Línea con el cubo y los patrones separados por comas.
+     */
+    public String generarLineaReporte() {
+        StringBuilder linea = new StringBuilder("Colisión en cubo N. ").append(cubo).append(": ");
+        NodoSimple<NodoArbol> aux = patrones.getFirst();
+        while (aux != null) {
+            linea.append(aux.getData().getPatron());
+            if (aux.getNext() != null) {
+                linea.append(", ");
+            }
+            aux = aux.getNext();
+        }
+        return linea.toString();
+    }
+
+    /**
+    * Getters
+    */
+    public int getCubo() {
+        return cubo;
+    }
+
+    public ListaSimple<NodoArbol> getPatrones() {
+        return patrones;
+    }
+}
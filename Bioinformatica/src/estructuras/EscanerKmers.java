@@ -0,0 +1,79 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+/**
+ * Recorre una secuencia empaquetada una sola vez manteniendo un código rodante de 2 bits por base.
+ * En cada base el código del k-mer que termina ahí se actualiza con un desplazamiento y una máscara,
+ * así el trabajo por base es constante sin importar el valor de k.
+ *
+ * Con el mismo recorrido se pueden llenar las tablas de los tres marcos de lectura (o de los k marcos
+ * para cualquier k), o una sola tabla con todos los k-mers solapados.
+ *
+ * @author Luis Mariano Lovera, Luis Peña
+ */
+public class EscanerKmers {
+
+    /**
+     * Clase utilitaria, no se instancia.
+     */
+    private EscanerKmers() {
+    }
+
+    /**
+     * Cuenta los k-mers de todos los marcos de lectura en un solo recorrido.
+     * El k-mer que empieza en la posición p va a la tabla del marco p % k; para k=3 esto da los tres marcos
+     * de lectura (marco 0 es el mismo resultado que ProcesadorArchivo.construirTabla).
+     *
+     * @param secuencia Secuencia a recorrer.
+     * @param marcos Una tabla por marco; todas deben tener el mismo k y debe haber exactamente k tablas.
+     * @throws IllegalArgumentException Si la cantidad de tablas no coincide con su k.
+     */
+    public static void contarMarcos(SecuenciaEmpaquetada secuencia, Hashtable[] marcos) {
+        int k = marcos[0].getK();
+        if (marcos.length != k) {
+            throw new IllegalArgumentException("Se necesita una tabla por cada uno de los " + k + " marcos.");
+        }
+        for (Hashtable marco : marcos) {
+            if (marco.getK() != k) {
+                throw new IllegalArgumentException("Todas las tablas deben tener el mismo largo de patrón.");
+            }
+        }
+        long mascara = (1L << (2 * k)) - 1;
+        long codigo = 0;
+        int marco = 0; // Marco del próximo k-mer completo, es decir (i - k + 1) % k
+        int longitud = secuencia.getLongitud();
+        for (int i = 0; i < longitud; i++) {
+            codigo = ((codigo << 2) | secuencia.codigoBase(i)) & mascara;
+            if (i >= k - 1) {
+                marcos[marco].insertar(codigo, i - k + 1);
+                marco = marco + 1 == k ? 0 : marco + 1;
+            }
+        }
+        for (Hashtable tabla : marcos) {
+            tabla.compactar();
+        }
+    }
+
+    /**
+     * Cuenta todos los k-mers solapados (uno por cada posición de la secuencia) en una sola tabla.
+     *
+     * @param secuencia Secuencia a recorrer.
+     * @param tabla Tabla donde se guardan los k-mers; su k define el largo de los patrones.
+     */
+    public static void contarSolapados(SecuenciaEmpaquetada secuencia, Hashtable tabla) {
+        int k = tabla.getK();
+        long mascara = (1L << (2 * k)) - 1;
+        long codigo = 0;
+        int longitud = secuencia.getLongitud();
+        for (int i = 0; i < longitud; i++) {
+            codigo = ((codigo << 2) | secuencia.codigoBase(i)) & mascara;
+            if (i >= k - 1) {
+                tabla.insertar(codigo, i - k + 1);
+            }
+        }
+        tabla.compactar();
+    }
+}
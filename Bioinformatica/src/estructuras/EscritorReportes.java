@@ -0,0 +1,251 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Escribe los reportes directamente en un Appendable (un Writer a archivo, la salida estándar, un StringBuilder...)
+ * con el mismo formato que los métodos mostrar... de ListaSimple, ListaPosiciones y AminoAcidoInfo.
+ * El texto pasa por un buffer de tamaño fijo, así el tiempo es lineal en el tamaño del reporte y la memoria
+ * no depende de la cantidad de posiciones. Si el destino es un StringBuilder se escribe en él sin buffer.
+ *
+ * @author Luis Peña, Diego Linares
+ */
+public class EscritorReportes {
+    private static final int TAMAÑO_BUFFER = 8192; // Caracteres acumulados antes de pasarlos al destino
+    /** Separador de las ubicaciones en el listado en orden (22 por línea, alineadas bajo "Ubicaciones: "). */
+    static final String SALTO_LISTADO = ",\n                     ";
+    /** Separador de las ubicaciones en los reportes de mayor y menor frecuencia (10 por línea). */
+    static final String SALTO_FRECUENCIA = ",\n             ";
+
+    /**
+     * Clase utilitaria, no se instancia.
+     */
+    private EscritorReportes() {
+    }
+
+    /**
+     * Escribe cada elemento de la lista seguido de un salto de línea (igual que ListaSimple.mostrarLista()).
+     *
+     * @param lista Lista a escribir.
+     * @param destino Donde se escribe el texto.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    public static void escribirLista(ListaSimple<?> lista, Appendable destino) throws IOException {
+        Salida salida = new Salida(destino);
+        NodoSimple<?> aux = lista.getFirst();
+        while (aux != null) {
+            salida.escribir(String.valueOf(aux.getData()));
+            salida.escribir("\n");
+            aux = aux.getNext();
+        }
+        salida.vaciar();
+    }
+
+    /**
+     * Escribe los elementos de la lista separados por un separador (igual que ListaSimple.mostrarLista(separador)).
+     *
+     * @param lista Lista a escribir.
+     * @param separador Texto entre dos elementos.
+     * @param destino Donde se escribe el texto.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    public static void escribirLista(ListaSimple<?> lista, String separador, Appendable destino) throws IOException {
+        Salida salida = new Salida(destino);
+        NodoSimple<?> aux = lista.getFirst();
+        while (aux != null) {
+            salida.escribir(String.valueOf(aux.getData()));
+            if (aux.getNext() != null) {
+                salida.escribir(separador);
+            }
+            aux = aux.getNext();
+        }
+        salida.vaciar();
+    }
+
+    /**
+     * Escribe una lista de posiciones separadas por comas con 22 por línea (igual que ListaSimple.mostrarListaPosiciones()).
+     *
+     * @param lista Lista de posiciones.
+     * @param destino Donde se escribe el texto.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    public static void escribirListaPosiciones(ListaSimple<?> lista, Appendable destino) throws IOException {
+        Salida salida = new Salida(destino);
+        NodoSimple<?> aux = lista.getFirst();
+        int contador = 0;
+        while (aux != null) {
+            salida.escribir(String.valueOf(aux.getData()));
+            aux = aux.getNext();
+            contador++;
+            if (aux != null) {
+                salida.escribir(contador % 22 == 0 ? SALTO_LISTADO : ", ");
+            }
+        }
+        salida.vaciar();
+    }
+
+    /**
+     * Escribe las posiciones separadas por comas, con un salto de línea cada cierta cantidad
+     * (igual que ListaPosiciones.mostrar).
+     *
+     * @param posiciones Lista de posiciones.
+     * @param porLinea Cantidad de posiciones por línea.
+     * @param saltoLinea Texto que se usa como separador al terminar cada línea.
+     * @param destino Donde se escribe el texto.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    public static void escribirPosiciones(ListaPosiciones posiciones, int porLinea, String saltoLinea, Appendable destino) throws IOException {
+        Salida salida = new Salida(destino);
+        escribirPosiciones(posiciones, porLinea, saltoLinea, salida);
+        salida.vaciar();
+    }
+
+    /**
+     * Escribe el patrón, la frecuencia y las ubicaciones de cada nodo (igual que ListaSimple.mostrarPatronesFrecuencia()).
+     *
+     * @param nodos Lista de nodos del árbol.
+     * @param destino Donde se escribe el texto.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    public static void escribirPatronesFrecuencia(ListaSimple<NodoArbol> nodos, Appendable destino) throws IOException {
+        Salida salida = new Salida(destino);
+        NodoSimple<NodoArbol> aux = nodos.getFirst();
+        while (aux != null) {
+            escribirNodo(aux.getData(), 10, SALTO_FRECUENCIA, salida);
+            aux = aux.getNext();
+        }
+        salida.vaciar();
+    }
+
+    /**
+     * Escribe el listado en orden del árbol con el mismo texto que ArbolBB.inorden().mostrarLista(),
+     * pero sin armar un String por patrón.
+     *
+     * @param arbol Árbol a recorrer.
+     * @param destino Donde se escribe el texto.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    public static void escribirInorden(ArbolBB arbol, Appendable destino) throws IOException {
+        Salida salida = new Salida(destino);
+        for (NodoArbol nodo : arbol) {
+            escribirNodo(nodo, 22, SALTO_LISTADO, salida);
+            salida.escribir("\n");
+        }
+        salida.vaciar();
+    }
+
+    /**
+     * Escribe el resumen de un aminoácido (igual que AminoAcidoInfo.generarLineaReporte()).
+     *
+     * @param info Aminoácido a escribir.
+     * @param destino Donde se escribe el texto.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    public static void escribirLineaReporte(AminoAcidoInfo info, Appendable destino) throws IOException {
+        Salida salida = new Salida(destino);
+        salida.escribir(info.nombre);
+        salida.escribir(":\n  Tripleta(s): ");
+        salida.vaciar();
+        escribirLista(info.tripletas, ", ", destino);
+        salida.escribir("\n  Frecuencia Total: ");
+        salida.escribir(info.frecuenciaTotal);
+        salida.escribir("\n");
+        salida.vaciar();
+    }
+
+    /**
+     * Escritura de un reporte en un destino, para aTexto.
+     */
+    interface Escritura {
+        void escribir(Appendable destino) throws IOException;
+    }
+
+    /**
+     * Ejecuta una escritura sobre un StringBuilder y devuelve el texto; la usan los métodos mostrar... que devuelven String.
+     *
+     * @param escritura Escritura a ejecutar.
+     * @return Texto escrito.
+     */
+    static String aTexto(Escritura escritura) {
+        StringBuilder cadena = new StringBuilder();
+        try {
+            escritura.escribir(cadena);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Un StringBuilder nunca falla al escribir
+        }
+        return cadena.toString();
+    }
+
+    /**
+     * Escribe un nodo del árbol en formato de reporte: patrón, frecuencia y ubicaciones.
+     * Es el texto de cada elemento de ArbolBB.inorden() (con 22 posiciones por línea) y de
+     * ListaSimple.mostrarPatronesFrecuencia() (con 10).
+     */
+    static void escribirNodo(NodoArbol nodo, int porLinea, String saltoLinea, Salida salida) throws IOException {
+        salida.escribir(nodo.getPatron());
+        salida.escribir(" | Frecuencia: ");
+        salida.escribir(nodo.getFrecuencias());
+        salida.escribir("\nUbicaciones: ");
+        escribirPosiciones(nodo.getPosiciones(), porLinea, saltoLinea, salida);
+        salida.escribir("\n");
+    }
+
+    /**
+     * Escribe las posiciones en la salida con buffer.
+     */
+    private static void escribirPosiciones(ListaPosiciones posiciones, int porLinea, String saltoLinea, Salida salida) throws IOException {
+        PrimitiveIterator.OfInt it = posiciones.iterador();
+        int contador = 0;
+        while (it.hasNext()) {
+            salida.escribir(it.nextInt());
+            contador++;
+            if (it.hasNext()) {
+                salida.escribir(contador % porLinea == 0 ? saltoLinea : ", ");
+            }
+        }
+    }
+
+    /**
+     * Acumula texto en un buffer y lo pasa al destino cuando se llena, para no escribir de a un número.
+     * Si el destino ya es un StringBuilder se escribe directamente en él.
+     */
+    static final class Salida {
+        private final Appendable destino;
+        private final StringBuilder buffer;
+
+        Salida(Appendable destino) {
+            this.destino = destino;
+            this.buffer = destino instanceof StringBuilder ? (StringBuilder) destino : new StringBuilder(TAMAÑO_BUFFER + 64);
+        }
+
+        void escribir(CharSequence texto) throws IOException {
+            buffer.append(texto);
+            if (buffer != destino && buffer.length() >= TAMAÑO_BUFFER) {
+                vaciar();
+            }
+        }
+
+        void escribir(int valor) throws IOException {
+            buffer.append(valor);
+            if (buffer != destino && buffer.length() >= TAMAÑO_BUFFER) {
+                vaciar();
+            }
+        }
+
+        /**
+         * Pasa al destino todo lo acumulado.
+         */
+        void vaciar() throws IOException {
+            if (buffer != destino && buffer.length() > 0) {
+                destino.append(buffer);
+                buffer.setLength(0);
+            }
+        }
+    }
+}
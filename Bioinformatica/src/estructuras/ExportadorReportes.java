@@ -0,0 +1,323 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.io.IOException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Exporta los reportes como datos para otras herramientas, en CSV, TSV o JSON Lines (un objeto JSON por línea).
+ * Igual que EscritorReportes, escribe directamente en el destino a través de un buffer de tamaño fijo,
+ * sin armar el documento completo en memoria.
+ *
+ * Columnas de cada reporte (CSV y TSV llevan una fila de encabezado; en JSON Lines son las claves):
+ *   patrones (listado en orden, mayor y menor frecuencia): patron, frecuencia, posiciones
+ *   colisiones: cubo, patrones
+ *   aminoácidos: aminoacido, tripletas, frecuencia
+ * En CSV y TSV las listas (posiciones, patrones, tripletas) van en un solo campo separadas por espacios;
+ * en JSON Lines son arreglos.
+ *
+ * @author Diego Linares, Luis Peña
+ */
+public class ExportadorReportes {
+    /** Nombres de los reportes que se pueden exportar, en el orden en que se muestran. */
+    public static final String[] REPORTES = {"patrones", "mayor", "menor", "colisiones", "aminoacidos"};
+
+    /**
+     * Formatos de exportación disponibles.
+     */
+    public enum Formato {
+        CSV(",", "csv"),
+        TSV("\t", "tsv"),
+        JSONL(null, "jsonl");
+
+        private final String separador;
+        private final String extension;
+
+        Formato(String separador, String extension) {
+            this.separador = separador;
+            this.extension = extension;
+        }
+
+        /**
+         * Extensión de archivo del formato, sin el punto.
+         */
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Busca un formato por su nombre (csv, tsv o jsonl, sin importar mayúsculas).
+         *
+         * @param nombre Nombre del formato.
+         * @return Formato correspondiente.
+         * @throws IllegalArgumentException Si el nombre no corresponde a ningún formato.
+         */
+        public static Formato desdeNombre(String nombre) {
+            for (Formato formato : values()) {
+                if (formato.extension.equalsIgnoreCase(nombre.trim())) {
+                    return formato;
+                }
+            }
+            throw new IllegalArgumentException("Formato desconocido: " + nombre);
+        }
+    }
+
+    private final Formato formato;
+    private final EscritorReportes.Salida salida;
+
+    /**
+     * Constructor.
+     *
+     * @param formato Formato de exportación.
+     * @param destino Donde se escriben los datos (por ejemplo, un Writer a archivo).
+     */
+    public ExportadorReportes(Formato formato, Appendable destino) {
+        this.formato = formato;
+        this.salida = new EscritorReportes.Salida(destino);
+    }
+
+    /**
+     * Exporta uno de los reportes por su nombre.
+     *
+     * @param reporte Nombre del reporte (uno de REPORTES).
+     * @param procesador Procesador con la secuencia cargada.
+     * @param tabla Tabla hash construida.
+     * @param arbol Árbol AVL construido.
+     * @throws IOException Si el destino no se puede escribir.
+     * @throws IllegalArgumentException Si el nombre no corresponde a un reporte.
+     */
+    public void exportar(String reporte, ProcesadorArchivo procesador, Hashtable tabla, ArbolBB arbol) throws IOException {
+        switch (reporte) {
+            case "patrones":
+                exportarPatrones(arbol);
+                break;
+            case "mayor":
+                exportarPatrones(tabla.getIndiceFrecuencias().buscarMayorFrecuencia());
+                break;
+            case "menor":
+                exportarPatrones(tabla.getIndiceFrecuencias().buscarMenorFrecuencia());
+                break;
+            case "colisiones":
+                exportarColisiones(tabla);
+                break;
+            case "aminoacidos":
+                exportarAminoacidos(procesador.agruparAminoacidos(tabla));
+                break;
+            default:
+                throw new IllegalArgumentException("Reporte desconocido: " + reporte);
+        }
+    }
+
+    /**
+     * Exporta todos los patrones del árbol en orden, con su frecuencia y posiciones.
+     *
+     * @param arbol Árbol AVL construido.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    public void exportarPatrones(ArbolBB arbol) throws IOException {
+        encabezado("patron", "frecuencia", "posiciones");
+        for (NodoArbol nodo : arbol) {
+            exportarNodo(nodo);
+        }
+        salida.vaciar();
+    }
+
+    /**
+     * Exporta una lista de patrones (por ejemplo, los de mayor o menor frecuencia) con su frecuencia y posiciones.
+     *
+     * @param nodos Lista de nodos del árbol.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    public void exportarPatrones(ListaSimple<NodoArbol> nodos) throws IOException {
+        encabezado("patron", "frecuencia", "posiciones");
+        NodoSimple<NodoArbol> aux = nodos.getFirst();
+        while (aux != null) {
+            exportarNodo(aux.getData());
+            aux = aux.getNext();
+        }
+        salida.vaciar();
+    }
+
+    /**
+     * Exporta las colisiones de la tabla hash: cada cubo compartido con sus patrones.
+     *
+     * @param tabla Tabla hash construida.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    public void exportarColisiones(Hashtable tabla) throws IOException {
+        encabezado("cubo", "patrones");
+        NodoSimple<Colision> aux = tabla.obtenerColisiones().getFirst();
+        while (aux != null) {
+            Colision colision = aux.getData();
+            inicioFila();
+            campo("cubo");
+            salida.escribir(colision.getCubo());
+            separador();
+            campo("patrones");
+            lista(colision.getPatrones(), true);
+            finFila();
+            aux = aux.getNext();
+        }
+        salida.vaciar();
+    }
+
+    /**
+     * Exporta los aminoácidos con sus tripletas y frecuencia total.
+     *
+     * @param aminoacidos Grupos de ProcesadorArchivo.agruparAminoacidos.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    public void exportarAminoacidos(ListaSimple<AminoAcidoInfo> aminoacidos) throws IOException {
+        encabezado("aminoacido", "tripletas", "frecuencia");
+        NodoSimple<AminoAcidoInfo> aux = aminoacidos.getFirst();
+        while (aux != null) {
+            AminoAcidoInfo info = aux.getData();
+            inicioFila();
+            campo("aminoacido");
+            texto(info.nombre);
+            separador();
+            campo("tripletas");
+            lista(info.tripletas, false);
+            separador();
+            campo("frecuencia");
+            salida.escribir(info.frecuenciaTotal);
+            finFila();
+            aux = aux.getNext();
+        }
+        salida.vaciar();
+    }
+
+    /**
+     * Exporta la fila de un patrón.
+     */
+    private void exportarNodo(NodoArbol nodo) throws IOException {
+        inicioFila();
+        campo("patron");
+        texto(nodo.getPatron());
+        separador();
+        campo("frecuencia");
+        salida.escribir(nodo.getFrecuencias());
+        separador();
+        campo("posiciones");
+        salida.escribir(formato == Formato.JSONL ? "[" : "");
+        PrimitiveIterator.OfInt it = nodo.getPosiciones().iterador();
+        while (it.hasNext()) {
+            salida.escribir(it.nextInt());
+            if (it.hasNext()) {
+                salida.escribir(formato == Formato.JSONL ? "," : " ");
+            }
+        }
+        salida.escribir(formato == Formato.JSONL ? "]" : "");
+        finFila();
+    }
+
+    /**
+     * Escribe la fila de encabezado (solo en CSV y TSV).
+     */
+    private void encabezado(String... columnas) throws IOException {
+        if (formato == Formato.JSONL) {
+            return;
+        }
+        for (int i = 0; i < columnas.length; i++) {
+            if (i > 0) {
+                salida.escribir(formato.separador);
+            }
+            salida.escribir(columnas[i]);
+        }
+        salida.escribir("\n");
+    }
+
+    private void inicioFila() throws IOException {
+        if (formato == Formato.JSONL) {
+            salida.escribir("{");
+        }
+    }
+
+    private void finFila() throws IOException {
+        salida.escribir(formato == Formato.JSONL ? "}\n" : "\n");
+    }
+
+    private void separador() throws IOException {
+        salida.escribir(formato == Formato.JSONL ? "," : formato.separador);
+    }
+
+    /**
+     * Escribe la clave de un campo (solo en JSON Lines).
+     */
+    private void campo(String nombre) throws IOException {
+        if (formato == Formato.JSONL) {
+            salida.escribir("\"");
+            salida.escribir(nombre);
+            salida.escribir("\":");
+        }
+    }
+
+    /**
+     * Escribe una lista de textos (o de patrones, si son nodos) como un solo campo.
+     */
+    private void lista(ListaSimple<?> elementos, boolean sonNodos) throws IOException {
+        boolean json = formato == Formato.JSONL;
+        if (json) {
+            salida.escribir("[");
+        }
+        NodoSimple<?> aux = elementos.getFirst();
+        StringBuilder unido = json ? null : new StringBuilder();
+        while (aux != null) {
+            String valor = sonNodos ? ((NodoArbol) aux.getData()).getPatron() : String.valueOf(aux.getData());
+            if (json) {
+                texto(valor);
+                if (aux.getNext() != null) {
+                    salida.escribir(",");
+                }
+            } else {
+                unido.append(valor);
+                if (aux.getNext() != null) {
+                    unido.append(' ');
+                }
+            }
+            aux = aux.getNext();
+        }
+        if (json) {
+            salida.escribir("]");
+        } else {
+            texto(unido.toString());
+        }
+    }
+
+    /**
+     * Escribe un texto con el escape que corresponde al formato:
+     * comillas dobles en CSV si hace falta, secuencias con barra invertida en TSV y JSON.
+     */
+    private void texto(String valor) throws IOException {
+        switch (formato) {
+            case CSV:
+                if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+                    salida.escribir(valor);
+                } else {
+                    salida.escribir("\"");
+                    salida.escribir(valor.replace("\"", "\"\""));
+                    salida.escribir("\"");
+                }
+                break;
+            case TSV:
+                salida.escribir(valor.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r"));
+                break;
+            default:
+                StringBuilder json = new StringBuilder(valor.length() + 2).append('"');
+                for (int i = 0; i < valor.length(); i++) {
+                    char c = valor.charAt(i);
+                    if (c == '"' || c == '\\') {
+                        json.append('\\').append(c);
+                    } else if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+                salida.escribir(json.append('"'));
+        }
+    }
+}
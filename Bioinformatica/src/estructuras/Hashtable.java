@@ -4,29 +4,81 @@
  */
 package estructuras;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
- * Implementación de una hashtable para almacenar patrones de ADN.
- * Utiliza una estrategia de encadenamiento para resolver colisiones, donde cada "cubo" (bucket) de la tabla es una ListaSimple de nodos NodoArbol.
- * La clave hash se genera a partir de patrones de ADN de 3 caracteres (tripleta), asignando cada nucleótido (A, C, G, T) a un valor numérico para crear un índice.
+ * Implementación de una hashtable para almacenar patrones de ADN de largo k (k-mers).
+ * La clave de cada patrón es su código en base 4, asignando cada nucleótido (A, C, G, T) a un valor numérico
+ * (A=0, C=1, G=2, T=3), igual que en SecuenciaEmpaquetada. Por defecto k=3 (tripletas).
+ *
+ * Para k pequeño (hasta 8, es decir 4^8 = 65536 patrones posibles) se usa direccionamiento directo:
+ * el código es el índice del arreglo, así que no hay colisiones.
+ * Para k grande (hasta 31) se usa direccionamiento abierto con sondeo lineal sobre el código de 2 bits por base,
+ * duplicando la capacidad cuando la tabla pasa de la mitad de su ocupación.
  *
  * @author Diego Linares, Luis Mariano Lovera, Luis Peña
  */
-public class Hashtable {
-    
-    private static final int tamaño = 64; // Tamaño fijo de la hashtable. Optimizado, 3 caracteres con 4 posibiles nucleótidos (4^3=64)
-    private ListaSimple<NodoArbol>[] tabla; // Arreglo que representa los cubos del hashtable.
-    private ListaSimple<String> listaColisiones;
-    
+public class Hashtable implements Iterable<NodoArbol> {
+
+    public static final int K_MAXIMO = 31;
+    private static final int K_DIRECTO = 8; // Mayor k que usa direccionamiento directo (4^8 = 65536 cubos)
+    private static final int K_CLAVE_PRIMITIVA = 15; // Mayor k cuyo código cabe en 30 bits, junto a la frecuencia en un long
+    private static final int CAPACIDAD_INICIAL_ABIERTA = 1 << 10;
+    private static final String[] TRIPLETAS = new String[64];   // Patrón de cada tripleta, creado una sola vez
+    private static final byte[] VALORES_ASCII = new byte[256];  // Valor de cada byte ASCII (-1 si no es nucleótido)
+
+    private final int k;
+    private final boolean directo;
+    private int tamaño;              // Cantidad de cubos (4^k en direccionamiento directo, potencia de 2 en abierto)
+    private NodoArbol[] tabla;       // Nodo de cada cubo (null si está vacío)
+    private long[] claves;           // Código guardado en cada cubo (solo direccionamiento abierto)
+    private int ocupados;            // Cantidad de patrones distintos
+    private int modificaciones;      // Aumenta con cada cambio de los datos, para invalidar reportes guardados
+    private OyenteFrecuencias oyenteFrecuencias; // Recibe cada cambio de frecuencia (por ejemplo, el árbol AVL), o null
+    private IndiceFrecuencias indiceFrecuencias; // Patrones agrupados por frecuencia, creado al pedirlo por primera vez
+
+    static {
+        for (int i = 0; i < TRIPLETAS.length; i++) {
+            TRIPLETAS[i] = SecuenciaEmpaquetada.decodificar(i, 3);
+        }
+        for (int i = 0; i < VALORES_ASCII.length; i++) {
+            VALORES_ASCII[i] = (byte) SecuenciaEmpaquetada.codificarBase(i);
+        }
+    }
+
     /**
-     * Constructor de la clase Hashtable.
-     * Inicializa el arreglo de ListaSimple y crea una nueva ListaSimple vacía para cada cubo de la tabla.
+     * Constructor de la clase Hashtable para tripletas (k=3).
+     * Inicializa un arreglo de 64 cubos, uno por cada tripleta posible.
      */
     public Hashtable() {
-        tabla = new ListaSimple[tamaño];
-        for (int i = 0; i < tamaño; i++) {
-            tabla[i] = new ListaSimple<>();
+        this(3);
+    }
+
+    /**
+     * Constructor de la clase Hashtable para patrones de largo k.
+     *
+     * @param k Largo de los patrones (1 a 31).
+     * @throws IllegalArgumentException Si k está fuera de rango.
+     */
+    public Hashtable(int k) {
+        if (k < 1 || k > K_MAXIMO) {
+            throw new IllegalArgumentException("El largo de los patrones debe estar entre 1 y " + K_MAXIMO + ".");
         }
-        listaColisiones = new ListaSimple<>();
+        this.k = k;
+        this.directo = k <= K_DIRECTO;
+        this.tamaño = directo ? 1 << (2 * k) : CAPACIDAD_INICIAL_ABIERTA;
+        this.tabla = new NodoArbol[tamaño];
+        this.claves = directo ? null : new long[tamaño];
+        this.ocupados = 0;
+        this.modificaciones = 0;
     }
 
     /**
@@ -41,32 +93,128 @@ public class Hashtable {
             case 'A': return 0;
             case 'C': return 1;
             case 'G': return 2;
-            case 'T': return 3; 
+            case 'T': return 3;
             default: return -1;
         }
     }
 
     /**
-     * Calcula el índice hash para un patrón de ADN de 3 caracteres.
-     * Se le asigna cada patrón a un índice único entre 0 y 63, minimizando colisiones.
-     * La fórmula se basa en un sistema de base 4: (valor_char1 * 4^2=16) + (valor_char2 * 4^1=4) + (valor_char3 * 4^0=1).
+     * Calcula el código de un patrón de ADN de k caracteres.
+     * La fórmula se basa en un sistema de base 4; para k=3: (valor_char1 * 4^2=16) + (valor_char2 * 4^1=4) + (valor_char3 * 4^0=1),
+     * lo que da un índice único entre 0 y 63.
      *
-     * @param patron El patrón de ADN de 3 caracteres.
-     * @return El índice calculado para el patrón en la tabla hash.
-     * @throws IllegalArgumentException Si el patrón es nulo o no tiene 3 caracteres de largo.
+     * @param patron El patrón de ADN de k caracteres.
+     * @return El código calculado para el patrón.
+     * @throws IllegalArgumentException Si el patrón es nulo, no tiene k caracteres de largo o contiene un nucleótido inválido.
      */
-    private int calcularIndice(String patron) {
-        if (patron == null || patron.length() != 3) {
-            throw new IllegalArgumentException("El patrón debe tener 3 caracteres de largo.");
+    private long calcularIndice(String patron) {
+        if (patron == null || patron.length() != k) {
+            throw new IllegalArgumentException("El patrón debe tener " + k + " caracteres de largo.");
+        }
+        long indice = 0;
+        for (int i = 0; i < k; i++) {
+            int valor = getValor(patron.charAt(i));
+            if (valor < 0) {
+                throw new IllegalArgumentException("El patrón contiene un nucleótido inválido: " + patron);
+            }
+            indice = indice * 4 + valor;
         }
-        int indice = 0;
-
-        indice += getValor(patron.charAt(0)) * 16;
-        indice += getValor(patron.charAt(1)) * 4;
-        indice += getValor(patron.charAt(2)) * 1;
         return indice;
     }
 
+    /**
+     * Mezcla los bits del código para repartir los patrones en el direccionamiento abierto.
+     *
+     * @param codigo Código del patrón.
+     * @return Cubo inicial donde se empieza a sondear.
+     */
+    private int cuboInicial(long codigo) {
+        long h = codigo * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) h & (tamaño - 1);
+    }
+
+    /**
+     * Busca el cubo donde está (o debería estar) un código.
+     *
+     * @param codigo Código del patrón.
+     * @return Índice del cubo que contiene el código, o del cubo vacío donde se insertaría.
+     */
+    private int ubicar(long codigo) {
+        if (directo) {
+            return (int) codigo;
+        }
+        int i = cuboInicial(codigo);
+        while (tabla[i] != null && claves[i] != codigo) {
+            i = (i + 1) & (tamaño - 1);
+        }
+        return i;
+    }
+
+    /**
+     * Duplica la capacidad del direccionamiento abierto y reubica todos los patrones.
+     */
+    private void redimensionar() {
+        redimensionar(tamaño * 2);
+    }
+
+    /**
+     * Cambia la capacidad del direccionamiento abierto y reubica todos los patrones.
+     *
+     * @param nuevoTamaño Nueva cantidad de cubos (potencia de 2, mayor que el doble de los patrones).
+     */
+    private void redimensionar(int nuevoTamaño) {
+        NodoArbol[] viejaTabla = tabla;
+        long[] viejasClaves = claves;
+        tamaño = nuevoTamaño;
+        tabla = new NodoArbol[tamaño];
+        claves = new long[tamaño];
+        for (int j = 0; j < viejaTabla.length; j++) {
+            if (viejaTabla[j] != null) {
+                int i = ubicar(viejasClaves[j]);
+                tabla[i] = viejaTabla[j];
+                claves[i] = viejasClaves[j];
+            }
+        }
+    }
+
+    /**
+     * Devuelve el nodo de un código, creándolo vacío si el patrón todavía no está en la tabla.
+     *
+     * @param codigo Código del patrón.
+     * @return Nodo del patrón.
+     */
+    private NodoArbol obtenerOCrear(long codigo) {
+        int i = ubicar(codigo);
+        if (tabla[i] != null) {
+            return tabla[i];
+        }
+        return crearNodo(i, codigo, new ListaPosiciones());
+    }
+
+    /**
+     * Crea el nodo de un patrón que todavía no está en la tabla, redimensionando si hace falta.
+     *
+     * @param i Cubo libre que devolvió ubicar para el código.
+     * @param codigo Código del patrón.
+     * @param posiciones Lista de posiciones del nodo.
+     * @return Nodo creado.
+     */
+    private NodoArbol crearNodo(int i, long codigo, ListaPosiciones posiciones) {
+        if (!directo && (ocupados + 1) * 2 > tamaño) {
+            redimensionar();
+            i = ubicar(codigo);
+        }
+        String patron = k == 3 ? TRIPLETAS[(int) codigo] : SecuenciaEmpaquetada.decodificar(codigo, k);
+        NodoArbol nodo = new NodoArbol(patron, codigo, posiciones);
+        tabla[i] = nodo;
+        if (!directo) {
+            claves[i] = codigo;
+        }
+        ocupados++;
+        return nodo;
+    }
+
     /**
      * Inserta un patrón de ADN y su posición en la tabla hash.
      * Si el patrón ya existe, agrega la nueva posición a la lista de posiciones del patrón.
@@ -75,42 +223,214 @@ public class Hashtable {
      * @param posicion La posición (entero) asociada al patrón en la secuencia principal.
      */
     public void insertar(String patron, int posicion) {
-        int indice = calcularIndice(patron);
-        ListaSimple<NodoArbol> cubo = tabla[indice];
-
-        // Buscar si el patrón ya existe en la ListaSimple de este cubo
-        NodoSimple<NodoArbol> aux = cubo.getFirst();
-        while (aux != null) {
-            if (aux.getData().getPatron().equals(patron)) {
-                aux.getData().insertarPosicion(posicion); 
-                return;
+        insertar(calcularIndice(patron), posicion);
+    }
+
+    /**
+     * Inserta un patrón leído directamente de un arreglo de bytes ASCII, sin crear un String.
+     *
+     * @param bases Arreglo con los caracteres de la secuencia.
+     * @param desplazamiento Índice del primer carácter del patrón dentro del arreglo.
+     * @param posicion La posición asociada al patrón en la secuencia principal.
+     * @throws IllegalArgumentException Si alguno de los k bytes no es A, C, G o T.
+     */
+    public void insertar(byte[] bases, int desplazamiento, int posicion) {
+        long codigo = 0;
+        for (int i = 0; i < k; i++) {
+            int valor = VALORES_ASCII[bases[desplazamiento + i] & 0xFF];
+            if (valor < 0) {
+                throw new IllegalArgumentException("El patrón en " + desplazamiento + " contiene un nucleótido inválido.");
+            }
+            codigo = codigo * 4 + valor;
+        }
+        insertar(codigo, posicion);
+    }
+
+    /**
+     * Inserta un patrón ya codificado (misma fórmula que calcularIndice) y su posición.
+     *
+     * @param codigo Código del patrón (0 a 4^k - 1; 0-63 para tripletas).
+     * @param posicion La posición asociada al patrón en la secuencia principal.
+     */
+    public void insertar(int codigo, int posicion) {
+        insertar((long) codigo, posicion);
+    }
+
+    /**
+     * Inserta un patrón ya codificado en base 4 y su posición.
+     * Es el camino usado al construir la tabla: no crea objetos por patrón, solo el nodo
+     * la primera vez que aparece un patrón y, de vez en cuando, el crecimiento de su arreglo de posiciones.
+     *
+     * @param codigo Código del patrón (0 a 4^k - 1).
+     * @param posicion La posición asociada al patrón en la secuencia principal.
+     * @throws IllegalArgumentException Si el código está fuera del rango de la tabla.
+     */
+    public void insertar(long codigo, int posicion) {
+        if (codigo < 0 || codigo >= (1L << (2 * k))) {
+            throw new IllegalArgumentException("Código de patrón fuera de rango: " + codigo);
+        }
+        NodoArbol nodo = obtenerOCrear(codigo);
+        nodo.insertarPosicion(posicion);
+        modificaciones++;
+        avisarCambio(nodo, nodo.getFrecuencias() - 1);
+    }
+
+    /**
+     * Prepara el direccionamiento abierto para la cantidad de patrones indicada, para no redimensionar
+     * varias veces al agregarlos. Con direccionamiento directo no hace nada.
+     *
+     * @param cantidad Cantidad total de patrones que se espera guardar.
+     */
+    void reservarPatrones(int cantidad) {
+        if (directo || (cantidad + 1L) * 2 <= tamaño) {
+            return;
+        }
+        long nuevoTamaño = Long.highestOneBit((cantidad + 1L) * 2 - 1) << 1;
+        if (nuevoTamaño <= (1 << 30)) {
+            redimensionar((int) nuevoTamaño);
+        }
+    }
+
+    /**
+     * Agrega un patrón nuevo con una lista de posiciones ya construida, sin copiarla.
+     * Lo usa Instantanea al reconstruir la tabla guardada.
+     *
+     * @param codigo Código del patrón.
+     * @param posiciones Posiciones del patrón.
+     * @throws IllegalArgumentException Si el código está fuera de rango o el patrón ya está en la tabla.
+     */
+    void agregarPatron(long codigo, ListaPosiciones posiciones) {
+        if (codigo < 0 || codigo >= (1L << (2 * k))) {
+            throw new IllegalArgumentException("Código de patrón fuera de rango: " + codigo);
+        }
+        int i = ubicar(codigo);
+        if (tabla[i] != null) {
+            throw new IllegalArgumentException("El patrón ya está en la tabla: " + tabla[i].getPatron());
+        }
+        NodoArbol nodo = crearNodo(i, codigo, posiciones);
+        modificaciones++;
+        avisarCambio(nodo, 0);
+    }
+
+    /**
+     * Agrega a esta tabla los patrones y posiciones de varias tablas parciales del mismo k.
+     * Las tablas deben venir en el orden de la secuencia (las posiciones de cada una mayores que las de la anterior),
+     * así cada lista de posiciones queda ordenada igual que si se hubiera construido de forma secuencial.
+     * Con direccionamiento directo cada patrón se fusiona en paralelo, ya que sus cubos son independientes,
+     * salvo que haya un oyente o un índice de frecuencias: en ese caso se fusiona en orden, avisando cada cambio.
+     *
+     * @param parciales Tablas parciales en el orden de la secuencia.
+     */
+    public void fusionar(Hashtable[] parciales) {
+        modificaciones++;
+        if (!directo || oyenteFrecuencias != null || indiceFrecuencias != null) {
+            for (Hashtable parcial : parciales) {
+                for (NodoArbol nodo : parcial.tabla) {
+                    if (nodo != null) {
+                        NodoArbol destino = obtenerOCrear(nodo.getCodigo());
+                        int anterior = destino.getFrecuencias();
+                        destino.getPosiciones().agregarTodos(nodo.getPosiciones());
+                        avisarCambio(destino, anterior);
+                    }
+                }
             }
-            aux = aux.getNext();
+            return;
         }
-        ListaSimple<Integer> lista = new ListaSimple<>();
-        lista.insertarAlFinal(posicion);
-        cubo.insertarAlFinal(new NodoArbol(patron, lista));
+        // Se crean primero los nodos que faltan, para que la fusión en paralelo no modifique el contador
+        for (int codigo = 0; codigo < tamaño; codigo++) {
+            for (Hashtable parcial : parciales) {
+                if (parcial.tabla[codigo] != null) {
+                    obtenerOCrear(codigo);
+                    break;
+                }
+            }
+        }
+        IntStream.range(0, tamaño).parallel().forEach(codigo -> {
+            if (tabla[codigo] == null) {
+                return;
+            }
+            ListaPosiciones posiciones = tabla[codigo].getPosiciones();
+            int total = posiciones.getTamaño();
+            for (Hashtable parcial : parciales) {
+                if (parcial.tabla[codigo] != null) {
+                    total += parcial.tabla[codigo].getFrecuencias();
+                }
+            }
+            posiciones.reservar(total);
+            for (Hashtable parcial : parciales) {
+                if (parcial.tabla[codigo] != null) {
+                    posiciones.agregarTodos(parcial.tabla[codigo].getPosiciones());
+                }
+            }
+        });
+    }
+
+    /**
+     * Compacta las listas de posiciones de todos los patrones (delta + varint).
+     * Se llama cuando termina la carga; si luego se insertan más posiciones, la lista afectada se descompacta sola.
+     */
+    public void compactar() {
+        IntStream.range(0, tamaño).parallel().forEach(i -> {
+            if (tabla[i] != null) {
+                tabla[i].getPosiciones().compactar();
+            }
+        });
     }
 
     /**
      * Obtiene el NodoArbol asociado a un patrón de ADN específico.
-     * Primero calcula su índice y luego busca el patrón dentro de la ListaSimple del cubo correspondiente.
+     * Primero calcula su código y luego lo ubica en la tabla.
      *
      * @param patron El patrón de ADN (String) a buscar.
      * @return El NodoArbol que contiene el patrón y sus posiciones (o null si el patrón no se encuentra).
      */
     public NodoArbol buscar(String patron) {
-        int indice = calcularIndice(patron);
-        ListaSimple<NodoArbol> cubo = tabla[indice];
+        return buscar(calcularIndice(patron));
+    }
 
-        NodoSimple<NodoArbol> aux = cubo.getFirst();
-        while (aux != null) {
-            if (aux.getData().getPatron().equals(patron)) {
-                return aux.getData();
-            }
-            aux = aux.getNext();
+    /**
+     * Obtiene el NodoArbol asociado a un patrón ya codificado.
+     *
+     * @param codigo Código del patrón en base 4.
+     * @return El NodoArbol del patrón, o null si el patrón no se encuentra.
+     */
+    public NodoArbol buscar(long codigo) {
+        if (codigo < 0 || codigo >= (1L << (2 * k))) {
+            return null;
         }
-        return null;
+        return tabla[ubicar(codigo)];
+    }
+
+    /**
+     * Iterador sobre los nodos de todos los patrones, en el orden de los cubos, sin armar una lista.
+     * La tabla no debe modificarse mientras se recorre.
+     *
+     * @return Iterador sobre los nodos de la tabla.
+     */
+    @Override
+    public Iterator<NodoArbol> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Spliterator sobre los cubos de la tabla. Al dividirse parte el rango de cubos a la mitad,
+     * así un Stream paralelo reparte la tabla sin copiarla.
+     *
+     * @return Spliterator sobre los nodos de la tabla.
+     */
+    @Override
+    public Spliterator<NodoArbol> spliterator() {
+        return new CubosSpliterator(0, tamaño, ocupados);
+    }
+
+    /**
+     * Recorre los nodos de la tabla como Stream, sin copiarlos.
+     *
+     * @param paralelo true para un Stream paralelo.
+     * @return Stream de los nodos de la tabla.
+     */
+    public Stream<NodoArbol> stream(boolean paralelo) {
+        return StreamSupport.stream(spliterator(), paralelo);
     }
 
     /**
@@ -122,103 +442,155 @@ public class Hashtable {
     public ListaSimple<NodoArbol> obtenerPatrones() {
         ListaSimple<NodoArbol> patrones = new ListaSimple<>();
         for (int i = 0; i < tamaño; i++) {
-            ListaSimple<NodoArbol> cubo = tabla[i];
-            NodoSimple<NodoArbol> aux = cubo.getFirst();
-            while (aux != null) {
-                patrones.insertarAlFinal(aux.getData());
-                aux = aux.getNext();
+            if (tabla[i] != null) {
+                patrones.insertarAlFinal(tabla[i]);
             }
         }
         return patrones;
     }
-    
+
     /**
-     * Recupera todos los patrones almacenados en la tabla hash y los devuelve en una lista ordenada
-     * por el primer carácter de cada patrón.
+     * Devuelve los nodos de todos los patrones ordenados por frecuencia y, si empatan, alfabéticamente:
+     * el orden del árbol AVL, listo para ArbolBB.construirDesdeOrdenados.
+     * Como todos los patrones tienen k bases, el orden alfabético es el de sus códigos.
+     * Hasta k=15 se ordena en paralelo un arreglo de claves primitivas (frecuencia << 30 | código);
+     * para k mayor el código no cabe en la clave y se ordenan los nodos con un comparador.
      *
-     * @return Una ListaSimple con los patrones ordenados alfabéticamente por su primer carácter.
+     * @return Arreglo con los nodos de la tabla, de menor a mayor frecuencia.
+     */
+    public NodoArbol[] obtenerPatronesPorFrecuencia() {
+        NodoArbol[] nodos = new NodoArbol[ocupados];
+        if (k <= K_CLAVE_PRIMITIVA) {
+            long[] llaves = new long[ocupados];
+            int n = 0;
+            for (int i = 0; i < tamaño; i++) {
+                if (tabla[i] != null) {
+                    llaves[n++] = ((long) tabla[i].getFrecuencias() << 30) | tabla[i].getCodigo();
+                }
+            }
+            Arrays.parallelSort(llaves);
+            for (int j = 0; j < n; j++) {
+                nodos[j] = buscar(llaves[j] & ((1L << 30) - 1));
+            }
+            return nodos;
+        }
+        int n = 0;
+        for (int i = 0; i < tamaño; i++) {
+            if (tabla[i] != null) {
+                nodos[n++] = tabla[i];
+            }
+        }
+        Arrays.parallelSort(nodos, Comparator.comparingInt(NodoArbol::getFrecuencias).thenComparingLong(NodoArbol::getCodigo));
+        return nodos;
+    }
+
+    /**
+     * Recupera todos los patrones almacenados en la tabla hash y los devuelve en una lista ordenada alfabéticamente.
+     * Con direccionamiento directo el orden de los cubos ya es alfabético; en el abierto se ordenan los códigos,
+     * que siguen el mismo orden que los patrones (A < C < G < T).
+     *
+     * @return Una ListaSimple con los patrones ordenados alfabéticamente.
      */
     public ListaSimple<String> obtenerTodosPatronesOrdenados() {
         ListaSimple<String> patrones = new ListaSimple<>();
-
+        if (directo) {
+            for (int i = 0; i < tamaño; i++) {
+                if (tabla[i] != null) {
+                    patrones.insertarAlFinal(tabla[i].getPatron());
+                }
+            }
+            return patrones;
+        }
+        long[] codigos = new long[ocupados];
+        int n = 0;
         for (int i = 0; i < tamaño; i++) {
-            ListaSimple<NodoArbol> cubo = tabla[i];
-            NodoSimple<NodoArbol> actual = cubo.getFirst();
-
-            while (actual != null) {
-                patrones.insertarAlFinal(actual.getData().getPatron());
-                actual = actual.getNext();
+            if (tabla[i] != null) {
+                codigos[n++] = claves[i];
             }
         }
-
-        // Ordenar por primer carácter
-        return ordenarPorPrimerCaracter(patrones);
+        Arrays.sort(codigos);
+        for (long codigo : codigos) {
+            patrones.insertarAlFinal(buscar(codigo).getPatron());
+        }
+        return patrones;
     }
-    
+
     /**
-     * Ordena una lista de patrones por el primer carácter de cada uno usando el método de burbuja.
-     * Este método es privado y solo se usa internamente.
+     * Cuenta las apariciones de cada tripleta, indexadas por su código (0 a 63).
+     * Con k=3 solo se recorren los 64 cubos, sin armar listas ni textos de patrones;
+     * con k mayor cada patrón suma su frecuencia en la tripleta con la que empieza.
      *
-     * @param lista La lista de patrones a ordenar.
-     * @return Una nueva ListaSimple con los patrones ordenados por su primer carácter.
+     * @return Arreglo de 64 frecuencias.
+     * @throws IllegalStateException Si los patrones tienen menos de 3 bases.
      */
-    private ListaSimple<String> ordenarPorPrimerCaracter(ListaSimple<String> lista) {
-        if (lista.getFirst() == null || lista.getFirst().getNext() == null) {
-            return lista;
+    public int[] contarTripletas() {
+        if (k < 3) {
+            throw new IllegalStateException("Los patrones deben tener al menos 3 bases para formar tripletas.");
         }
-
-        // Convertir a array para ordenar
-        int size = lista.getTamaño();
-        String[] array = new String[size];
-        NodoSimple<String> actual = lista.getFirst();
-
-        for (int i = 0; i < size; i++) {
-            array[i] = actual.getData();
-            actual = actual.getNext();
+        int[] frecuencias = new int[64];
+        int desplazamiento = 2 * (k - 3);
+        for (int i = 0; i < tamaño; i++) {
+            if (tabla[i] != null) {
+                long codigo = directo ? i : claves[i];
+                frecuencias[(int) (codigo >>> desplazamiento)] += tabla[i].getFrecuencias();
+            }
         }
+        return frecuencias;
+    }
 
-        // Ordenar por primer carácter (burbuja simple)
-        for (int i = 0; i < size - 1; i++) {
-            for (int j = 0; j < size - i - 1; j++) {
-                if (array[j].charAt(0) > array[j + 1].charAt(0)) {
-                    String temp = array[j];
-                    array[j] = array[j + 1];
-                    array[j + 1] = temp;
-                }
+    /**
+     * Obtiene las colisiones de la tabla: los cubos iniciales compartidos por más de un patrón,
+     * ordenados por cubo, con los patrones en el orden en que quedaron al sondear.
+     * Con direccionamiento directo la lista siempre está vacía.
+     *
+     * @return ListaSimple con una Colision por cubo compartido.
+     */
+    public ListaSimple<Colision> obtenerColisiones() {
+        ListaSimple<Colision> colisiones = new ListaSimple<>();
+        if (directo) {
+            return colisiones;
+        }
+        // Se ordenan las parejas (cubo inicial, cubo actual) para agrupar los patrones por cubo inicial
+        long[] parejas = new long[ocupados];
+        int n = 0;
+        for (int i = 0; i < tamaño; i++) {
+            if (tabla[i] != null) {
+                parejas[n++] = ((long) cuboInicial(claves[i]) << 32) | i;
             }
         }
-
-        // Reconstruir lista ordenada
-        ListaSimple<String> ordenada = new ListaSimple<>();
-        for (String s : array) {
-            ordenada.insertarAlFinal(s);
+        Arrays.sort(parejas);
+        int j = 0;
+        while (j < n) {
+            int inicial = (int) (parejas[j] >>> 32);
+            int fin = j;
+            while (fin < n && (int) (parejas[fin] >>> 32) == inicial) {
+                fin++;
+            }
+            if (fin - j > 1) {
+                Colision colision = new Colision(inicial);
+                for (int m = j; m < fin; m++) {
+                    colision.agregarPatron(tabla[(int) parejas[m]]);
+                }
+                colisiones.insertarAlFinal(colision);
+            }
+            j = fin;
         }
-
-        return ordenada;
+        return colisiones;
     }
-    
+
     /**
      * Genera un reporte de colisiones encontradas en la tabla hash.
-     * Recorre cada cubo y, si hay más de un patrón almacenado en el mismo índice, 
-     * lo reporta como una colisión.
+     * Con direccionamiento directo cada patrón tiene su propio cubo, así que no hay colisiones.
+     * Con direccionamiento abierto se reportan los cubos iniciales compartidos por más de un patrón.
      *
      * @return Un String con el reporte de colisiones encontradas, o un mensaje indicando que no hubo colisiones.
      */
     public String reporteColisiones(){
-        for (int i = 0; i < tamaño; i++) {
-            ListaSimple<NodoArbol> cubo = tabla[i];
-            if (cubo.getTamaño() > 1) {
-                String cadena="Colisión en cubo N. " + i + ": ";
-                NodoSimple<NodoArbol> aux = cubo.getFirst();
-                while (aux!=null) {
-                    cadena+=aux.getData().getPatron();
-                    if (aux.getNext()!=null) {
-                        cadena+= ", ";
-                    }
-                    aux = aux.getNext();
-                }
-                listaColisiones.insertarAlFinal(cadena);
-            }
+        ListaSimple<String> listaColisiones = new ListaSimple<>();
+        NodoSimple<Colision> colision = obtenerColisiones().getFirst();
+        while (colision != null) {
+            listaColisiones.insertarAlFinal(colision.getData().generarLineaReporte());
+            colision = colision.getNext();
         }
         if (listaColisiones.esVacia()){
             return "No se generaron colisiones.";
@@ -226,5 +598,120 @@ public class Hashtable {
         return listaColisiones.mostrarLista();
     }
 
-    
+    /**
+    * Getters
+    */
+    public int getK() {
+        return k;
+    }
+
+    public int getCantidadPatrones() {
+        return ocupados;
+    }
+
+    /**
+     * Registra quién recibe los cambios de frecuencia de los patrones (por ejemplo, el árbol AVL construido
+     * a partir de esta tabla, para que siga ordenado si después se agregan posiciones).
+     * Al construir la tabla conviene no tener oyente y armar el árbol al final, que es más rápido.
+     *
+     * @param oyenteFrecuencias Oyente a avisar, o null para no avisar a nadie.
+     */
+    public void setOyenteFrecuencias(OyenteFrecuencias oyenteFrecuencias) {
+        this.oyenteFrecuencias = oyenteFrecuencias;
+    }
+
+    /**
+     * Devuelve el índice de los patrones por frecuencia (mayor y menor frecuencia en O(1), histograma).
+     * Se arma la primera vez que se pide y desde ahí la tabla lo mantiene al día con cada cambio de frecuencia.
+     *
+     * @return IndiceFrecuencias de esta tabla.
+     */
+    public IndiceFrecuencias getIndiceFrecuencias() {
+        if (indiceFrecuencias == null) {
+            indiceFrecuencias = new IndiceFrecuencias(this);
+        }
+        return indiceFrecuencias;
+    }
+
+    /**
+     * Avisa un cambio de frecuencia al índice (si ya se armó) y al oyente registrado.
+     */
+    private void avisarCambio(NodoArbol nodo, int frecuenciaAnterior) {
+        if (indiceFrecuencias != null) {
+            indiceFrecuencias.frecuenciaCambiada(nodo, frecuenciaAnterior);
+        }
+        if (oyenteFrecuencias != null) {
+            oyenteFrecuencias.frecuenciaCambiada(nodo, frecuenciaAnterior);
+        }
+    }
+
+    /**
+     * Cantidad de cambios hechos a los datos de la tabla (inserciones, fusiones, patrones agregados).
+     * Si no cambió, cualquier reporte calculado antes sigue siendo válido (ver CacheReportes).
+     */
+    public int getModificaciones() {
+        return modificaciones;
+    }
+
+
+    /**
+     * Recorre un rango de cubos [desde, hasta), saltando los vacíos.
+     */
+    private class CubosSpliterator implements Spliterator<NodoArbol> {
+        private static final int MINIMO_DIVISION = 1024; // Rangos más chicos no se dividen
+        private int desde;
+        private final int hasta;
+        private long estimado;
+
+        CubosSpliterator(int desde, int hasta, long estimado) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.estimado = estimado;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super NodoArbol> accion) {
+            while (desde < hasta) {
+                NodoArbol nodo = tabla[desde++];
+                if (nodo != null) {
+                    accion.accept(nodo);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super NodoArbol> accion) {
+            NodoArbol[] cubos = tabla;
+            for (int i = desde; i < hasta; i++) {
+                if (cubos[i] != null) {
+                    accion.accept(cubos[i]);
+                }
+            }
+            desde = hasta;
+        }
+
+        @Override
+        public Spliterator<NodoArbol> trySplit() {
+            int medio = (desde + hasta) >>> 1;
+            if (hasta - desde < MINIMO_DIVISION) {
+                return null;
+            }
+            CubosSpliterator prefijo = new CubosSpliterator(desde, medio, estimado >>> 1);
+            desde = medio;
+            estimado -= estimado >>> 1;
+            return prefijo;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimado;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
 }
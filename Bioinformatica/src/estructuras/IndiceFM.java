@@ -0,0 +1,508 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Índice FM sobre la secuencia cargada, para buscar motivos de cualquier largo (no solo los k-mers de la tabla).
+ * Se arma a partir del arreglo de sufijos de la secuencia (construido con SA-IS, en tiempo lineal) y guarda:
+ *   - la transformada de Burrows-Wheeler (BWT) empaquetada a 2 bits por base, igual que SecuenciaEmpaquetada;
+ *   - la cantidad de cada base antes de cada bloque de 64 filas, para calcular Occ(c, i) con un popcount;
+ *   - una muestra del arreglo de sufijos: las filas cuyo sufijo empieza en un múltiplo del paso de muestreo,
+ *     marcadas en un mapa de bits con su rango acumulado por palabra.
+ *
+ * contar(patron) cuesta O(m) y localizar(patron) O(m + apariciones * paso). El arreglo de sufijos completo
+ * solo existe durante la construcción; el índice ocupa unos 2 bits por base más las muestras.
+ * El fin de la secuencia ($) ocupa una fila de la BWT; se guarda aparte en qué fila está.
+ *
+ * Memoria de la construcción: SA-IS lee el texto directamente de las palabras de la secuencia empaquetada,
+ * guarda los tipos L/S en un mapa de bits y arma el texto reducido y su arreglo de sufijos dentro del propio
+ * arreglo de sufijos. El pico es de unos 5 bytes por base: 4 del int[] de sufijos, 1/8 de los tipos y, según
+ * la etapa, la BWT, las marcas y las muestras (unos 0,5) o, en la recursión, dos int[] del tamaño del alfabeto
+ * reducido (en ADN, menos de 0,7). Para 1.000 millones de bases son unos 5 GB mientras se construye
+ * y unos 0,8 GB después, con los conteos por bloque (más la secuencia empaquetada, 0,25 GB).
+ *
+ * @author Luis Peña, Luis Mariano Lovera
+ */
+public class IndiceFM {
+    /** Paso de muestreo del arreglo de sufijos por defecto. */
+    public static final int PASO_POR_DEFECTO = 32;
+    private static final int FILAS_POR_BLOQUE = 64;        // Filas de la BWT entre dos conteos guardados
+    private static final long PARES_BAJOS = 0x5555555555555555L;
+
+    private final int longitud;      // Bases de la secuencia (la BWT tiene longitud + 1 filas)
+    private final int paso;          // Paso de muestreo del arreglo de sufijos
+    private final int filaFin;       // Fila de la BWT donde está el fin de la secuencia ($)
+    private final long[] bwt;        // BWT empaquetada, 32 filas por long (la fila del $ guarda una A)
+    private final int[] conteos;     // Cantidad de cada base antes de cada bloque: conteos[bloque * 4 + base]
+    private final int[] primeras = new int[5]; // Primera fila de los sufijos que empiezan con cada base (C[c])
+    private final long[] marcas;     // Filas con sufijo muestreado, 64 por long
+    private final int[] rangoMarcas; // Cantidad de marcas antes de cada palabra de marcas
+    private final int[] muestras;    // Posición del sufijo de cada fila marcada, en el orden de las filas
+
+    /**
+     * Constructor a partir de la BWT, las marcas y las muestras (por ejemplo, leídas de disco).
+     * Los conteos por bloque y los rangos de las marcas se recalculan.
+     *
+     * @throws IllegalArgumentException Si los arreglos no corresponden a la longitud indicada.
+     */
+    IndiceFM(int longitud, int paso, int filaFin, long[] bwt, long[] marcas, int[] muestras) {
+        int filas = longitud + 1;
+        if (longitud < 0 || paso < 1 || filaFin < 0 || filaFin >= filas
+                || bwt.length != palabras(filas, 32) || marcas.length != palabras(filas, 64)) {
+            throw new IllegalArgumentException("Los datos del índice no corresponden a una secuencia de " + longitud + " bases.");
+        }
+        this.longitud = longitud;
+        this.paso = paso;
+        this.filaFin = filaFin;
+        this.bwt = bwt;
+        this.marcas = marcas;
+        this.muestras = muestras;
+
+        // Conteos de cada bloque en paralelo y luego acumulados
+        int bloques = palabras(filas, FILAS_POR_BLOQUE);
+        conteos = new int[(bloques + 1) * 4];
+        IntStream.range(0, bloques).parallel().forEach(bloque -> {
+            int desde = bloque * FILAS_POR_BLOQUE;
+            int hasta = Math.min(filas, desde + FILAS_POR_BLOQUE);
+            for (int base = 0; base < 4; base++) {
+                conteos[(bloque + 1) * 4 + base] = contarEnRango(base, desde, hasta);
+            }
+        });
+        for (int i = 4; i < conteos.length; i++) {
+            conteos[i] += conteos[i - 4];
+        }
+        primeras[0] = 1;
+        for (int base = 0; base < 4; base++) {
+            primeras[base + 1] = primeras[base] + conteos[bloques * 4 + base];
+        }
+
+        rangoMarcas = new int[marcas.length + 1];
+        for (int w = 0; w < marcas.length; w++) {
+            rangoMarcas[w + 1] = rangoMarcas[w] + Long.bitCount(marcas[w]);
+        }
+        if (rangoMarcas[marcas.length] != muestras.length) {
+            throw new IllegalArgumentException("La cantidad de muestras no coincide con las filas marcadas.");
+        }
+    }
+
+    /**
+     * Construye el índice de una secuencia con el paso de muestreo por defecto.
+     *
+     * @param secuencia Secuencia a indexar.
+     * @return Índice de la secuencia.
+     */
+    public static IndiceFM construir(SecuenciaEmpaquetada secuencia) {
+        return construir(secuencia, PASO_POR_DEFECTO);
+    }
+
+    /**
+     * Construye el índice de una secuencia. El arreglo de sufijos se arma con SA-IS; la BWT, las marcas,
+     * las muestras y los conteos por bloque se derivan de él en paralelo, ya que cada palabra es independiente.
+     * Conviene llamarlo dentro de un ForkJoinPool para limitar los hilos.
+     *
+     * @param secuencia Secuencia a indexar.
+     * @param paso Paso de muestreo del arreglo de sufijos: más chico ocupa más memoria pero localiza más rápido.
+     * @return Índice de la secuencia.
+     * @throws IllegalArgumentException Si el paso no es positivo.
+     */
+    public static IndiceFM construir(SecuenciaEmpaquetada secuencia, int paso) {
+        if (paso < 1) {
+            throw new IllegalArgumentException("El paso de muestreo debe ser positivo.");
+        }
+        int longitud = secuencia.getLongitud();
+        int filas = longitud + 1;
+        long[] palabras = secuencia.getPalabras();
+
+        // Texto con las bases de 1 a 4 y el fin (0) al final, que es el menor símbolo y no se repite.
+        // Se lee de las palabras empaquetadas, sin copiarlo
+        int[] sufijos = new int[filas];
+        sais(i -> i == longitud ? 0 : baseEmpaquetada(palabras, i) + 1, sufijos, filas, 5);
+
+        long[] bwt = new long[palabras(filas, 32)];
+        IntStream.range(0, bwt.length).parallel().forEach(w -> {
+            long palabra = 0;
+            int hasta = Math.min(filas, (w + 1) * 32);
+            for (int fila = w * 32; fila < hasta; fila++) {
+                int sufijo = sufijos[fila];
+                long base = sufijo == 0 ? 0 : baseEmpaquetada(palabras, sufijo - 1);
+                palabra |= base << (62 - 2 * (fila & 31));
+            }
+            bwt[w] = palabra;
+        });
+        long[] marcas = new long[palabras(filas, 64)];
+        IntStream.range(0, marcas.length).parallel().forEach(w -> {
+            long palabra = 0;
+            int hasta = Math.min(filas, (w + 1) * 64);
+            for (int fila = w * 64; fila < hasta; fila++) {
+                if (sufijos[fila] % paso == 0) {
+                    palabra |= 1L << (fila & 63);
+                }
+            }
+            marcas[w] = palabra;
+        });
+        int[] rango = new int[marcas.length + 1];
+        for (int w = 0; w < marcas.length; w++) {
+            rango[w + 1] = rango[w] + Long.bitCount(marcas[w]);
+        }
+        int[] muestras = new int[rango[marcas.length]];
+        IntStream.range(0, marcas.length).parallel().forEach(w -> {
+            int i = rango[w];
+            for (long resto = marcas[w]; resto != 0; resto &= resto - 1) {
+                muestras[i++] = sufijos[w * 64 + Long.numberOfTrailingZeros(resto)];
+            }
+        });
+        int filaFin = 0;
+        while (sufijos[filaFin] != 0) {
+            filaFin++;
+        }
+        return new IndiceFM(longitud, paso, filaFin, bwt, marcas, muestras);
+    }
+
+    /**
+     * Cuenta las apariciones (solapadas) de un patrón en la secuencia. O(m).
+     *
+     * @param patron Patrón de ADN de cualquier largo.
+     * @return Cantidad de apariciones (0 si el patrón tiene caracteres que no son A, C, G o T, o está vacío).
+     */
+    public int contar(String patron) {
+        int[] intervalo = buscarIntervalo(patron);
+        return intervalo == null ? 0 : intervalo[1] - intervalo[0];
+    }
+
+    /**
+     * Localiza todas las apariciones (solapadas) de un patrón. O(m + apariciones * paso).
+     *
+     * @param patron Patrón de ADN de cualquier largo.
+     * @return ListaPosiciones con la posición inicial de cada aparición, de menor a mayor
+     *         (vacía si el patrón no aparece, está vacío o tiene caracteres inválidos).
+     */
+    public ListaPosiciones localizar(String patron) {
+        ListaPosiciones lista = new ListaPosiciones();
+        int[] intervalo = buscarIntervalo(patron);
+        if (intervalo == null) {
+            return lista;
+        }
+        int[] posiciones = new int[intervalo[1] - intervalo[0]];
+        for (int fila = intervalo[0]; fila < intervalo[1]; fila++) {
+            posiciones[fila - intervalo[0]] = posicionDeFila(fila);
+        }
+        Arrays.sort(posiciones);
+        lista.reservar(posiciones.length);
+        for (int posicion : posiciones) {
+            lista.agregar(posicion);
+        }
+        return lista;
+    }
+
+    /**
+     * Búsqueda hacia atrás: intervalo [desde, hasta) de filas cuyos sufijos empiezan con el patrón.
+     *
+     * @return El intervalo, o null si el patrón no aparece o no es válido.
+     */
+    private int[] buscarIntervalo(String patron) {
+        if (patron == null || patron.isEmpty()) {
+            return null;
+        }
+        int desde = 0;
+        int hasta = longitud + 1;
+        for (int j = patron.length() - 1; j >= 0; j--) {
+            int base = SecuenciaEmpaquetada.codificarBase(patron.charAt(j));
+            if (base < 0) {
+                return null;
+            }
+            desde = primeras[base] + occ(base, desde);
+            hasta = primeras[base] + occ(base, hasta);
+            if (desde >= hasta) {
+                return null;
+            }
+        }
+        return new int[]{desde, hasta};
+    }
+
+    /**
+     * Posición del sufijo de una fila: retrocede con LF hasta una fila muestreada.
+     * La fila del $ siempre está marcada (su sufijo empieza en 0), así que nunca se pasa por ella.
+     */
+    private int posicionDeFila(int fila) {
+        int pasos = 0;
+        while ((marcas[fila >>> 6] & (1L << (fila & 63))) == 0) {
+            int base = baseEn(fila);
+            fila = primeras[base] + occ(base, fila);
+            pasos++;
+        }
+        int w = fila >>> 6;
+        int anteriores = Long.bitCount(marcas[w] & ((1L << (fila & 63)) - 1));
+        return muestras[rangoMarcas[w] + anteriores] + pasos;
+    }
+
+    /**
+     * Base de la BWT en una fila (la del $ se lee como A; se distingue con filaFin).
+     */
+    private int baseEn(int fila) {
+        return (int) (bwt[fila >>> 5] >>> (62 - 2 * (fila & 31))) & 3;
+    }
+
+    /**
+     * Occ(base, fila): cantidad de veces que aparece la base en las filas [0, fila) de la BWT.
+     */
+    private int occ(int base, int fila) {
+        int bloque = fila / FILAS_POR_BLOQUE;
+        return conteos[bloque * 4 + base] + contarEnRango(base, bloque * FILAS_POR_BLOQUE, fila);
+    }
+
+    /**
+     * Cuenta una base en las filas [desde, hasta) de la BWT, de a una palabra, sin contar la fila del $.
+     */
+    private int contarEnRango(int base, int desde, int hasta) {
+        int cantidad = 0;
+        long repetida = base * PARES_BAJOS; // La base repetida en los 32 pares de bits
+        for (int fila = desde; fila < hasta; ) {
+            int desplazamiento = fila & 31;
+            int enPalabra = Math.min(32 - desplazamiento, hasta - fila);
+            long iguales = ~(bwt[fila >>> 5] ^ repetida);
+            iguales &= iguales >>> 1;
+            iguales &= PARES_BAJOS;
+            // Se dejan solo los pares de las filas pedidas (la primera fila está en los bits más altos)
+            long mascara = enPalabra == 32 ? -1L : ((1L << (2 * enPalabra)) - 1) << (2 * (32 - desplazamiento - enPalabra));
+            cantidad += Long.bitCount(iguales & mascara);
+            fila += enPalabra;
+        }
+        if (base == 0 && filaFin >= desde && filaFin < hasta) {
+            cantidad--;
+        }
+        return cantidad;
+    }
+
+    /**
+     * Cantidad de palabras necesarias para guardar una cantidad de elementos.
+     */
+    private static int palabras(int elementos, int porPalabra) {
+        return (int) (((long) elementos + porPalabra - 1) / porPalabra);
+    }
+
+    /**
+     * Base en una posición de las palabras de una secuencia empaquetada.
+     */
+    private static int baseEmpaquetada(long[] palabras, int i) {
+        return (int) (palabras[i >>> 5] >>> (62 - 2 * (i & 31))) & 3;
+    }
+
+    /**
+     * Texto sobre el que se arma el arreglo de sufijos: el de la secuencia se lee de las palabras empaquetadas
+     * y los textos reducidos de la recursión, de una parte del arreglo de sufijos.
+     */
+    interface Texto {
+        int simbolo(int i);
+    }
+
+    /**
+     * Construye el arreglo de sufijos de un texto guardado en un int[] (ver sais(Texto, ...)).
+     *
+     * @param texto Texto con símbolos de 0 a alfabeto - 1, terminado en 0 (único y menor que el resto).
+     * @param sufijos Arreglo donde queda el arreglo de sufijos.
+     * @param n Largo del texto.
+     * @param alfabeto Cantidad de símbolos.
+     */
+    static void sais(int[] texto, int[] sufijos, int n, int alfabeto) {
+        sais(i -> texto[i], sufijos, n, alfabeto);
+    }
+
+    /**
+     * Construye el arreglo de sufijos con SA-IS (Nong, Zhang y Chan): clasifica los sufijos en tipo L o S,
+     * ordena las subcadenas LMS induciendo desde ellas, les da nombres y, si hay nombres repetidos,
+     * resuelve recursivamente el texto reducido; al final induce el orden de todos los sufijos.
+     * Como dos LMS nunca están a menos de dos posiciones, hay como mucho n / 2: el texto reducido se guarda
+     * al final de sufijos y su arreglo de sufijos al principio, sin pedir memoria aparte.
+     *
+     * @param texto Texto con símbolos de 0 a alfabeto - 1, terminado en 0 (único y menor que el resto).
+     * @param sufijos Arreglo donde queda el arreglo de sufijos (en las posiciones 0 a n - 1).
+     * @param n Largo del texto.
+     * @param alfabeto Cantidad de símbolos.
+     */
+    static void sais(Texto texto, int[] sufijos, int n, int alfabeto) {
+        if (n == 1) {
+            sufijos[0] = 0;
+            return;
+        }
+        long[] tipoS = new long[palabras(n, 64)]; // Bit encendido si el sufijo es tipo S
+        tipoS[(n - 1) >>> 6] |= 1L << (n - 1);
+        int[] cubetas = new int[alfabeto];
+        int siguiente = texto.simbolo(n - 1);
+        cubetas[siguiente]++;
+        for (int i = n - 2; i >= 0; i--) {
+            int actual = texto.simbolo(i);
+            if (actual < siguiente || (actual == siguiente && esS(tipoS, i + 1))) {
+                tipoS[i >>> 6] |= 1L << i;
+            }
+            cubetas[actual]++;
+            siguiente = actual;
+        }
+        int[] limites = new int[alfabeto];
+
+        // 1. Se ubican las posiciones LMS al final de sus cubetas y se induce el orden de las subcadenas LMS
+        Arrays.fill(sufijos, 0, n, -1);
+        finalesCubetas(cubetas, limites);
+        for (int i = 1; i < n; i++) {
+            if (esLMS(tipoS, i)) {
+                sufijos[--limites[texto.simbolo(i)]] = i;
+            }
+        }
+        inducir(texto, sufijos, n, tipoS, cubetas, limites);
+
+        // 2. Se compactan las LMS ordenadas al inicio y se nombran sus subcadenas
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            if (esLMS(tipoS, sufijos[i])) {
+                sufijos[m++] = sufijos[i];
+            }
+        }
+        Arrays.fill(sufijos, m, n, -1);
+        int nombres = 0;
+        int anterior = -1;
+        for (int i = 0; i < m; i++) {
+            int actual = sufijos[i];
+            if (anterior < 0 || !subcadenasIguales(texto, tipoS, anterior, actual)) {
+                nombres++;
+                anterior = actual;
+            }
+            sufijos[m + actual / 2] = nombres - 1; // Dos LMS nunca están a menos de dos posiciones
+        }
+        // El texto reducido queda en sufijos[n - m, n), en el orden de las posiciones
+        int inicio = n - m;
+        for (int i = n - 1, j = n - 1; i >= m; i--) {
+            if (sufijos[i] >= 0) {
+                sufijos[j--] = sufijos[i];
+            }
+        }
+
+        // 3. Se ordenan los sufijos del texto reducido en sufijos[0, m) (recursivamente si hay nombres repetidos)
+        if (nombres < m) {
+            sais(i -> sufijos[inicio + i], sufijos, m, nombres);
+        } else {
+            for (int i = 0; i < m; i++) {
+                sufijos[sufijos[inicio + i]] = i;
+            }
+        }
+
+        // 4. Se ubican las LMS en su orden definitivo y se induce el resto. Cada LMS va al final de su cubeta,
+        // que nunca está antes de su lugar en sufijos[0, m), así que se pueden mover de la última a la primera
+        for (int i = 1, j = inicio; i < n; i++) {
+            if (esLMS(tipoS, i)) {
+                sufijos[j++] = i;
+            }
+        }
+        for (int i = 0; i < m; i++) {
+            sufijos[i] = sufijos[inicio + sufijos[i]];
+        }
+        Arrays.fill(sufijos, m, n, -1);
+        finalesCubetas(cubetas, limites);
+        for (int i = m - 1; i >= 0; i--) {
+            int posicion = sufijos[i];
+            sufijos[i] = -1;
+            sufijos[--limites[texto.simbolo(posicion)]] = posicion;
+        }
+        inducir(texto, sufijos, n, tipoS, cubetas, limites);
+    }
+
+    /**
+     * Induce los sufijos tipo L de izquierda a derecha y luego los tipo S de derecha a izquierda.
+     */
+    private static void inducir(Texto texto, int[] sufijos, int n, long[] tipoS, int[] cubetas, int[] limites) {
+        iniciosCubetas(cubetas, limites);
+        for (int i = 0; i < n; i++) {
+            int j = sufijos[i] - 1;
+            if (j >= 0 && !esS(tipoS, j)) {
+                sufijos[limites[texto.simbolo(j)]++] = j;
+            }
+        }
+        finalesCubetas(cubetas, limites);
+        for (int i = n - 1; i >= 0; i--) {
+            int j = sufijos[i] - 1;
+            if (j >= 0 && esS(tipoS, j)) {
+                sufijos[--limites[texto.simbolo(j)]] = j;
+            }
+        }
+    }
+
+    /**
+     * Compara las subcadenas LMS que empiezan en dos posiciones (símbolos y tipos hasta la LMS siguiente).
+     * El fin del texto es único, así que la comparación nunca se pasa del final.
+     */
+    private static boolean subcadenasIguales(Texto texto, long[] tipoS, int a, int b) {
+        for (int d = 0; ; d++) {
+            if (texto.simbolo(a + d) != texto.simbolo(b + d) || esS(tipoS, a + d) != esS(tipoS, b + d)) {
+                return false;
+            }
+            if (d > 0 && (esLMS(tipoS, a + d) || esLMS(tipoS, b + d))) {
+                return esLMS(tipoS, a + d) && esLMS(tipoS, b + d);
+            }
+        }
+    }
+
+    private static boolean esS(long[] tipoS, int i) {
+        return (tipoS[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private static boolean esLMS(long[] tipoS, int i) {
+        return i > 0 && esS(tipoS, i) && !esS(tipoS, i - 1);
+    }
+
+    private static void iniciosCubetas(int[] cubetas, int[] limites) {
+        int suma = 0;
+        for (int c = 0; c < cubetas.length; c++) {
+            limites[c] = suma;
+            suma += cubetas[c];
+        }
+    }
+
+    private static void finalesCubetas(int[] cubetas, int[] limites) {
+        int suma = 0;
+        for (int c = 0; c < cubetas.length; c++) {
+            suma += cubetas[c];
+            limites[c] = suma;
+        }
+    }
+
+    /**
+     * Memoria aproximada del índice (BWT, conteos, marcas y muestras).
+     *
+     * @return Cantidad de bytes.
+     */
+    public long getBytesUsados() {
+        return (long) bwt.length * Long.BYTES + (long) conteos.length * Integer.BYTES
+                + (long) marcas.length * Long.BYTES + (long) rangoMarcas.length * Integer.BYTES
+                + (long) muestras.length * Integer.BYTES;
+    }
+
+    /**
+     * Getters (los arreglos se usan para guardar el índice, ver Instantanea)
+     */
+    public int getLongitud() {
+        return longitud;
+    }
+
+    public int getPaso() {
+        return paso;
+    }
+
+    int getFilaFin() {
+        return filaFin;
+    }
+
+    long[] getBwt() {
+        return bwt;
+    }
+
+    long[] getMarcas() {
+        return marcas;
+    }
+
+    int[] getMuestras() {
+        return muestras;
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Índice de los patrones de una Hashtable agrupados por frecuencia (un histograma de cubetas).
+ * Aunque haya millones de patrones, la cantidad de frecuencias distintas suele ser chica: cada frecuencia
+ * tiene una cubeta con sus patrones, y las cubetas forman una lista doble ordenada por frecuencia.
+ * Así la mayor y la menor frecuencia se obtienen en O(1), y los patrones de una frecuencia en O(1) por patrón,
+ * sin recorrer el árbol AVL.
+ *
+ * Los patrones de cada cubeta se enlazan a través de los propios nodos de la tabla (NodoArbol), sin objetos extra.
+ * La tabla avisa cada cambio de frecuencia (ver Hashtable.getIndiceFrecuencias): cuando un patrón suma una posición
+ * pasa a la cubeta vecina, así que la actualización también es O(1).
+ * Las cubetas se ubican por frecuencia en una tabla de direccionamiento abierto con claves int (sin Integer),
+ * y las que quedan vacías se reusan, así que actualizar el índice no crea objetos al insertar posiciones.
+ *
+ * @author Luis Mariano Lovera, Luis Peña
+ */
+public class IndiceFrecuencias implements OyenteFrecuencias {
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private Cubeta[] cubetas = new Cubeta[CAPACIDAD_INICIAL]; // Cubeta de cada frecuencia presente, por dispersión
+    private int cantidadCubetas;
+    private Cubeta libres;  // Cubetas vacías para reusar, enlazadas por siguiente
+    private Cubeta menor;   // Cubeta de menor frecuencia (inicio de la lista)
+    private Cubeta mayor;   // Cubeta de mayor frecuencia (fin de la lista)
+    private int cantidadPatrones;
+
+    /**
+     * Patrones que comparten una frecuencia.
+     */
+    private static class Cubeta {
+        int frecuencia;
+        NodoArbol primero;
+        NodoArbol ultimo;
+        int cantidad;
+        boolean ordenada = true; // Los patrones están en orden alfabético (por código)
+        Cubeta anterior;         // Cubeta de frecuencia inmediatamente menor
+        Cubeta siguiente;        // Cubeta de frecuencia inmediatamente mayor
+
+        Cubeta(int frecuencia) {
+            this.frecuencia = frecuencia;
+        }
+    }
+
+    /**
+     * Construye el índice de todos los patrones de una tabla. Los patrones se agregan ordenados por frecuencia
+     * y código, así cada cubeta se crea al final de la lista y queda en orden alfabético.
+     *
+     * @param tabla Tabla con los patrones.
+     */
+    IndiceFrecuencias(Hashtable tabla) {
+        for (NodoArbol nodo : tabla.obtenerPatronesPorFrecuencia()) {
+            int frecuencia = nodo.getFrecuencias();
+            if (mayor == null || mayor.frecuencia != frecuencia) {
+                enlazarDespues(mayor, crearCubeta(frecuencia));
+            }
+            agregar(mayor, nodo);
+        }
+    }
+
+    /**
+     * Mueve un patrón a la cubeta de su nueva frecuencia. La cubeta nueva se busca a partir de la anterior,
+     * así que si la frecuencia cambió en uno (lo normal al agregar una posición) no hay que recorrer nada.
+     *
+     * @param nodo Nodo del patrón en la tabla, ya con su nueva frecuencia.
+     * @param frecuenciaAnterior Frecuencia que tenía antes del cambio (0 si el patrón es nuevo).
+     */
+    @Override
+    public void frecuenciaCambiada(NodoArbol nodo, int frecuenciaAnterior) {
+        int frecuencia = nodo.getFrecuencias();
+        if (frecuencia == frecuenciaAnterior) {
+            return;
+        }
+        Cubeta vieja = frecuenciaAnterior > 0 ? obtener(frecuenciaAnterior) : null;
+        if (vieja != null) {
+            quitar(vieja, nodo);
+        }
+        if (frecuencia > 0) {
+            Cubeta nueva = obtener(frecuencia);
+            if (nueva == null) {
+                nueva = crearCubeta(frecuencia);
+                // Se busca la cubeta de frecuencia inmediatamente menor, desde la vieja (o desde el inicio)
+                Cubeta previa = vieja != null ? vieja : menor;
+                while (previa != null && previa.frecuencia > frecuencia) {
+                    previa = previa.anterior;
+                }
+                while (previa != null && previa.siguiente != null && previa.siguiente.frecuencia < frecuencia) {
+                    previa = previa.siguiente;
+                }
+                if (previa != null && previa.frecuencia > frecuencia) {
+                    previa = null;
+                }
+                enlazarDespues(previa, nueva);
+            }
+            agregar(nueva, nodo);
+        }
+        if (vieja != null && vieja.cantidad == 0) {
+            desenlazar(vieja);
+        }
+    }
+
+    /**
+     * Mayor frecuencia presente. O(1).
+     *
+     * @return La mayor frecuencia, o 0 si no hay patrones.
+     */
+    public int getMayorFrecuencia() {
+        return mayor == null ? 0 : mayor.frecuencia;
+    }
+
+    /**
+     * Menor frecuencia presente. O(1).
+     *
+     * @return La menor frecuencia, o 0 si no hay patrones.
+     */
+    public int getMenorFrecuencia() {
+        return menor == null ? 0 : menor.frecuencia;
+    }
+
+    /**
+     * Devuelve los patrones de mayor frecuencia, en orden alfabético (igual que ArbolBB.buscarMayorFrecuencia()).
+     *
+     * @return ListaSimple con los nodos de mayor frecuencia.
+     */
+    public ListaSimple<NodoArbol> buscarMayorFrecuencia() {
+        return buscarPorFrecuencia(getMayorFrecuencia());
+    }
+
+    /**
+     * Devuelve los patrones de menor frecuencia, en orden alfabético (igual que ArbolBB.buscarMenorFrecuencia()).
+     *
+     * @return ListaSimple con los nodos de menor frecuencia.
+     */
+    public ListaSimple<NodoArbol> buscarMenorFrecuencia() {
+        return buscarPorFrecuencia(getMenorFrecuencia());
+    }
+
+    /**
+     * Devuelve los patrones con una frecuencia dada, en orden alfabético. Cuesta O(1) por patrón;
+     * solo si a la cubeta llegaron patrones fuera de orden se ordena antes de recorrerla.
+     *
+     * @param frecuencia Frecuencia buscada.
+     * @return ListaSimple con los nodos de la tabla con esa frecuencia (vacía si no hay).
+     */
+    public ListaSimple<NodoArbol> buscarPorFrecuencia(int frecuencia) {
+        ListaSimple<NodoArbol> lista = new ListaSimple<>();
+        Cubeta cubeta = obtener(frecuencia);
+        if (cubeta == null) {
+            return lista;
+        }
+        if (!cubeta.ordenada) {
+            ordenar(cubeta);
+        }
+        for (NodoArbol nodo = cubeta.primero; nodo != null; nodo = nodo.getSiguienteIndice()) {
+            lista.insertarAlFinal(nodo);
+        }
+        return lista;
+    }
+
+    /**
+     * Cantidad de patrones con una frecuencia dada. O(1).
+     *
+     * @param frecuencia Frecuencia buscada.
+     * @return Cantidad de patrones con esa frecuencia.
+     */
+    public int contarConFrecuencia(int frecuencia) {
+        Cubeta cubeta = obtener(frecuencia);
+        return cubeta == null ? 0 : cubeta.cantidad;
+    }
+
+    /**
+     * Histograma completo de frecuencias, de menor a mayor: cada fila es {frecuencia, cantidad de patrones}.
+     * O(1) por frecuencia distinta.
+     *
+     * @return Arreglo con una fila por frecuencia presente.
+     */
+    public int[][] histograma() {
+        int[][] filas = new int[cantidadCubetas][];
+        int i = 0;
+        for (Cubeta cubeta = menor; cubeta != null; cubeta = cubeta.siguiente) {
+            filas[i++] = new int[]{cubeta.frecuencia, cubeta.cantidad};
+        }
+        return filas;
+    }
+
+    /**
+     * Cantidad de frecuencias distintas.
+     */
+    public int getCantidadFrecuencias() {
+        return cantidadCubetas;
+    }
+
+    /**
+     * Cantidad de patrones indexados.
+     */
+    public int getCantidadPatrones() {
+        return cantidadPatrones;
+    }
+
+    /**
+     * Agrega un patrón al final de una cubeta.
+     */
+    private void agregar(Cubeta cubeta, NodoArbol nodo) {
+        nodo.setAnteriorIndice(cubeta.ultimo);
+        nodo.setSiguienteIndice(null);
+        if (cubeta.ultimo == null) {
+            cubeta.primero = nodo;
+        } else {
+            if (cubeta.ultimo.getCodigo() > nodo.getCodigo()) {
+                cubeta.ordenada = false;
+            }
+            cubeta.ultimo.setSiguienteIndice(nodo);
+        }
+        cubeta.ultimo = nodo;
+        cubeta.cantidad++;
+        cantidadPatrones++;
+    }
+
+    /**
+     * Quita un patrón de su cubeta usando sus enlaces. O(1).
+     */
+    private void quitar(Cubeta cubeta, NodoArbol nodo) {
+        NodoArbol anterior = nodo.getAnteriorIndice();
+        NodoArbol siguiente = nodo.getSiguienteIndice();
+        if (anterior == null) {
+            cubeta.primero = siguiente;
+        } else {
+            anterior.setSiguienteIndice(siguiente);
+        }
+        if (siguiente == null) {
+            cubeta.ultimo = anterior;
+        } else {
+            siguiente.setAnteriorIndice(anterior);
+        }
+        nodo.setAnteriorIndice(null);
+        nodo.setSiguienteIndice(null);
+        cubeta.cantidad--;
+        cantidadPatrones--;
+    }
+
+    /**
+     * Ordena por código los patrones de una cubeta y vuelve a enlazarlos.
+     */
+    private void ordenar(Cubeta cubeta) {
+        NodoArbol[] nodos = new NodoArbol[cubeta.cantidad];
+        int i = 0;
+        for (NodoArbol nodo = cubeta.primero; nodo != null; nodo = nodo.getSiguienteIndice()) {
+            nodos[i++] = nodo;
+        }
+        Arrays.sort(nodos, Comparator.comparingLong(NodoArbol::getCodigo));
+        cubeta.primero = null;
+        cubeta.ultimo = null;
+        cubeta.cantidad = 0;
+        cantidadPatrones -= nodos.length;
+        for (NodoArbol nodo : nodos) {
+            agregar(cubeta, nodo);
+        }
+        cubeta.ordenada = true;
+    }
+
+    /**
+     * Enlaza una cubeta nueva en la lista, después de la indicada (o al inicio si es null).
+     */
+    private void enlazarDespues(Cubeta previa, Cubeta nueva) {
+        nueva.anterior = previa;
+        nueva.siguiente = previa == null ? menor : previa.siguiente;
+        if (nueva.siguiente == null) {
+            mayor = nueva;
+        } else {
+            nueva.siguiente.anterior = nueva;
+        }
+        if (previa == null) {
+            menor = nueva;
+        } else {
+            previa.siguiente = nueva;
+        }
+        poner(nueva);
+    }
+
+    /**
+     * Saca de la lista una cubeta que quedó vacía.
+     */
+    private void desenlazar(Cubeta cubeta) {
+        if (cubeta.anterior == null) {
+            menor = cubeta.siguiente;
+        } else {
+            cubeta.anterior.siguiente = cubeta.siguiente;
+        }
+        if (cubeta.siguiente == null) {
+            mayor = cubeta.anterior;
+        } else {
+            cubeta.siguiente.anterior = cubeta.anterior;
+        }
+        sacar(cubeta);
+        cubeta.anterior = null;
+        cubeta.siguiente = libres;
+        cubeta.primero = null;
+        cubeta.ultimo = null;
+        cubeta.ordenada = true;
+        libres = cubeta;
+    }
+
+    /**
+     * Crea una cubeta vacía, reusando una de las que se desenlazaron si hay.
+     */
+    private Cubeta crearCubeta(int frecuencia) {
+        if (libres == null) {
+            return new Cubeta(frecuencia);
+        }
+        Cubeta cubeta = libres;
+        libres = cubeta.siguiente;
+        cubeta.siguiente = null;
+        cubeta.frecuencia = frecuencia;
+        return cubeta;
+    }
+
+    /**
+     * Primer lugar donde se busca la cubeta de una frecuencia (dispersión multiplicativa).
+     */
+    private int lugar(int frecuencia) {
+        return (frecuencia * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(cubetas.length));
+    }
+
+    /**
+     * Cubeta de una frecuencia, o null si no hay patrones con esa frecuencia.
+     */
+    private Cubeta obtener(int frecuencia) {
+        int mascara = cubetas.length - 1;
+        for (int i = lugar(frecuencia); cubetas[i] != null; i = (i + 1) & mascara) {
+            if (cubetas[i].frecuencia == frecuencia) {
+                return cubetas[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ubica una cubeta nueva por su frecuencia, duplicando la tabla si queda más de la mitad ocupada.
+     */
+    private void poner(Cubeta cubeta) {
+        if ((cantidadCubetas + 1) * 2 > cubetas.length) {
+            Cubeta[] anteriores = cubetas;
+            cubetas = new Cubeta[anteriores.length * 2];
+            for (Cubeta otra : anteriores) {
+                if (otra != null) {
+                    ubicar(otra);
+                }
+            }
+        }
+        ubicar(cubeta);
+        cantidadCubetas++;
+    }
+
+    private void ubicar(Cubeta cubeta) {
+        int mascara = cubetas.length - 1;
+        int i = lugar(cubeta.frecuencia);
+        while (cubetas[i] != null) {
+            i = (i + 1) & mascara;
+        }
+        cubetas[i] = cubeta;
+    }
+
+    /**
+     * Quita una cubeta de la tabla, corriendo hacia atrás las que le siguen para no cortar sus secuencias de sondeo.
+     */
+    private void sacar(Cubeta cubeta) {
+        int mascara = cubetas.length - 1;
+        int hueco = lugar(cubeta.frecuencia);
+        while (cubetas[hueco] != cubeta) {
+            hueco = (hueco + 1) & mascara;
+        }
+        cubetas[hueco] = null;
+        for (int i = (hueco + 1) & mascara; cubetas[i] != null; i = (i + 1) & mascara) {
+            int ideal = lugar(cubetas[i].frecuencia);
+            // Se mueve si su lugar ideal no está entre el hueco (exclusive) e i (inclusive), en forma circular
+            if (((i - ideal) & mascara) >= ((i - hueco) & mascara)) {
+                cubetas[hueco] = cubetas[i];
+                cubetas[i] = null;
+                hueco = i;
+            }
+        }
+        cantidadCubetas--;
+    }
+}
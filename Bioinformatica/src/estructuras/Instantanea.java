@@ -0,0 +1,398 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Instantánea binaria de un archivo ya analizado: la secuencia empaquetada y la tabla hash con sus
+ * listas de posiciones compactadas. Se guarda junto al archivo original (archivo.txt.bioidx) y se lee
+ * mapeándola en memoria, sin volver a validar el texto ni contar los patrones. El árbol AVL no se guarda:
+ * se arma desde la tabla con ProcesadorArchivo.construirArbol, que solo recorre los patrones distintos.
+ *
+ * Formato (versión 1, big-endian):
+ *   int magia "BIOX", int versión,
+ *   long tamaño, long fecha de modificación y long CRC32C del archivo original,
+ *   int k, int longitud de la secuencia, long[(longitud + 31) / 32] bases empaquetadas,
+ *   int cantidad de patrones y, por cada patrón: long código, int cantidad de posiciones, byte compactada;
+ *   si está compactada: int bytes, byte[bytes] diferencias en varint, int[] muestras e int[] desplazamientos;
+ *   si no: int[] posiciones.
+ *
+ * La instantánea se descarta (y hay que reconstruir) si el archivo original cambió de tamaño, de fecha
+ * de modificación o de contenido, si se pide otro k, o si la instantánea es de otra versión o está dañada.
+ *
+ * El índice FM de la secuencia (ver IndiceFM) se guarda aparte, en archivo.txt.biofm, porque no depende de k
+ * y solo se arma si se pide. Su formato (versión 1, big-endian) tiene el mismo encabezado con magia "BIOF":
+ *   int magia, int versión, long tamaño, long fecha de modificación y long CRC32C del archivo original,
+ *   int longitud de la secuencia, int paso de muestreo, int fila del fin de la secuencia,
+ *   long[(longitud + 32) / 32] BWT empaquetada, long[(longitud + 64) / 64] filas marcadas,
+ *   int cantidad de muestras e int[] muestras. Los conteos por bloque se recalculan al leerlo.
+ *
+ * @author Luis Peña, Luis Mariano Lovera
+ */
+public class Instantanea {
+    /** Extensión que se agrega al nombre del archivo original. */
+    public static final String EXTENSION = ".bioidx";
+    /** Extensión del índice FM, que se agrega al nombre del archivo original. */
+    public static final String EXTENSION_INDICE = ".biofm";
+    private static final int MAGIA = 0x42494F58; // "BIOX"
+    private static final int MAGIA_INDICE = 0x42494F46; // "BIOF"
+    private static final int VERSION = 1;
+    private static final int TAMAÑO_BUFFER = 1 << 20;
+    private static final long TAMAÑO_VENTANA = 64L * 1024 * 1024; // Bytes mapeados por ventana al calcular la suma
+
+    /**
+     * Clase utilitaria, no se instancia.
+     */
+    private Instantanea() {
+    }
+
+    /**
+     * Obtiene el archivo de instantánea que corresponde a un archivo de secuencia.
+     *
+     * @param fuente Archivo de texto con la secuencia.
+     * @return Archivo de instantánea en el mismo directorio.
+     */
+    public static File archivoDe(File fuente) {
+        return new File(fuente.getPath() + EXTENSION);
+    }
+
+    /**
+     * Obtiene el archivo del índice FM que corresponde a un archivo de secuencia.
+     *
+     * @param fuente Archivo de texto con la secuencia.
+     * @return Archivo del índice en el mismo directorio.
+     */
+    public static File archivoIndiceDe(File fuente) {
+        return new File(fuente.getPath() + EXTENSION_INDICE);
+    }
+
+    /**
+     * Calcula la suma CRC32C de un archivo, mapeándolo en memoria por ventanas.
+     *
+     * @param archivo Archivo a recorrer.
+     * @return Valor de la suma.
+     * @throws IOException Si el archivo no se puede leer.
+     */
+    public static long calcularSuma(File archivo) throws IOException {
+        CRC32C suma = new CRC32C();
+        try (FileChannel canal = FileChannel.open(archivo.toPath(), StandardOpenOption.READ)) {
+            long tamaño = canal.size();
+            for (long posicion = 0; posicion < tamaño; posicion += TAMAÑO_VENTANA) {
+                suma.update(canal.map(FileChannel.MapMode.READ_ONLY, posicion, Math.min(TAMAÑO_VENTANA, tamaño - posicion)));
+            }
+        }
+        return suma.getValue();
+    }
+
+    /**
+     * Guarda la instantánea de un archivo ya cargado. Se escribe primero en un archivo temporal
+     * y luego se renombra, para que nunca quede una instantánea a medio escribir.
+     *
+     * @param fuente Archivo de texto del que se cargó la secuencia.
+     * @param sumaFuente Suma CRC32C del archivo (la que calculó CargadorSecuencia al leerlo).
+     * @param secuencia Secuencia cargada.
+     * @param tabla Tabla construida a partir de la secuencia.
+     * @throws IOException Si no se puede escribir la instantánea.
+     */
+    public static void guardar(File fuente, long sumaFuente, SecuenciaEmpaquetada secuencia, Hashtable tabla) throws IOException {
+        File destino = archivoDe(fuente);
+        File temporal = new File(destino.getPath() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Escritor escritor = new Escritor(canal);
+            escritor.escribirInt(MAGIA);
+            escritor.escribirInt(VERSION);
+            escritor.escribirLong(fuente.length());
+            escritor.escribirLong(fuente.lastModified());
+            escritor.escribirLong(sumaFuente);
+            escritor.escribirInt(tabla.getK());
+
+            int longitud = secuencia.getLongitud();
+            long[] palabras = secuencia.getPalabras();
+            escritor.escribirInt(longitud);
+            for (int i = 0; i < (longitud + 31) / 32; i++) {
+                escritor.escribirLong(palabras[i]);
+            }
+
+            escritor.escribirInt(tabla.getCantidadPatrones());
+            for (NodoArbol nodo : tabla) {
+                ListaPosiciones posiciones = nodo.getPosiciones();
+                escritor.escribirLong(nodo.getCodigo());
+                escritor.escribirInt(posiciones.getTamaño());
+                if (posiciones.compactar()) {
+                    escritor.escribirByte(1);
+                    escritor.escribirInt(posiciones.getCodificado().length);
+                    escritor.escribirBytes(posiciones.getCodificado());
+                    escritor.escribirInts(posiciones.getMuestras());
+                    escritor.escribirInts(posiciones.getDesplazamientos());
+                } else {
+                    escritor.escribirByte(0);
+                    for (int i = 0; i < posiciones.getTamaño(); i++) {
+                        escritor.escribirInt(posiciones.get(i));
+                    }
+                }
+            }
+            escritor.vaciar();
+        } catch (IOException e) {
+            Files.deleteIfExists(temporal.toPath());
+            throw e;
+        }
+        Files.move(temporal.toPath(), destino.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Carga la instantánea de un archivo si existe y sigue siendo válida, llenando la tabla indicada.
+     * La tabla solo se modifica si toda la instantánea se pudo leer.
+     *
+     * @param fuente Archivo de texto con la secuencia.
+     * @param tabla Tabla vacía donde se cargan los patrones; su k debe coincidir con el de la instantánea.
+     * @return Secuencia guardada, o null si no hay instantánea o no se puede usar (en ese caso hay que reconstruir).
+     * @throws IOException Si la instantánea existe pero no se puede leer.
+     * @throws IllegalArgumentException Si la tabla no está vacía.
+     */
+    public static SecuenciaEmpaquetada cargar(File fuente, Hashtable tabla) throws IOException {
+        if (tabla.getCantidadPatrones() != 0) {
+            throw new IllegalArgumentException("La tabla debe estar vacía para cargar una instantánea.");
+        }
+        File archivo = archivoDe(fuente);
+        if (!archivo.isFile() || !fuente.isFile()) {
+            return null;
+        }
+        try (FileChannel canal = FileChannel.open(archivo.toPath(), StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                return null; // Un solo mapa no alcanza; se reconstruye desde el texto
+            }
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (mapa.getInt() != MAGIA || mapa.getInt() != VERSION
+                    || mapa.getLong() != fuente.length() || mapa.getLong() != fuente.lastModified()) {
+                return null;
+            }
+            long sumaGuardada = mapa.getLong();
+            if (mapa.getInt() != tabla.getK() || sumaGuardada != calcularSuma(fuente)) {
+                return null;
+            }
+
+            int longitud = mapa.getInt();
+            long[] palabras = new long[(int) (((long) longitud + 31) / 32)];
+            mapa.asLongBuffer().get(palabras);
+            mapa.position(mapa.position() + palabras.length * Long.BYTES);
+            SecuenciaEmpaquetada secuencia = new SecuenciaEmpaquetada(palabras, longitud);
+
+            int cantidad = mapa.getInt();
+            long[] codigos = new long[cantidad];
+            ListaPosiciones[] listas = new ListaPosiciones[cantidad];
+            for (int p = 0; p < cantidad; p++) {
+                codigos[p] = mapa.getLong();
+                int tamaño = mapa.getInt();
+                if (mapa.get() == 1) {
+                    byte[] codificado = new byte[mapa.getInt()];
+                    mapa.get(codificado);
+                    int cantidadMuestras = (tamaño + 63) / 64;
+                    listas[p] = ListaPosiciones.desdeCompactada(tamaño, codificado,
+                            leerInts(mapa, cantidadMuestras), leerInts(mapa, cantidadMuestras));
+                } else {
+                    int[] valores = leerInts(mapa, tamaño);
+                    ListaPosiciones lista = new ListaPosiciones();
+                    lista.reservar(tamaño);
+                    for (int valor : valores) {
+                        lista.agregar(valor);
+                    }
+                    listas[p] = lista;
+                }
+            }
+            // Se validan todos los códigos antes de tocar la tabla, para no dejarla a medio llenar
+            long[] ordenados = codigos.clone();
+            Arrays.sort(ordenados);
+            for (int p = 0; p < cantidad; p++) {
+                if (ordenados[p] < 0 || ordenados[p] >= (1L << (2 * tabla.getK())) || (p > 0 && ordenados[p] == ordenados[p - 1])) {
+                    return null;
+                }
+            }
+            tabla.reservarPatrones(cantidad);
+            for (int p = 0; p < cantidad; p++) {
+                tabla.agregarPatron(codigos[p], listas[p]);
+            }
+            return secuencia;
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            return null; // Instantánea dañada o truncada
+        }
+    }
+
+    /**
+     * Guarda el índice FM de un archivo ya cargado, también a través de un archivo temporal.
+     *
+     * @param fuente Archivo de texto del que se cargó la secuencia.
+     * @param sumaFuente Suma CRC32C del archivo.
+     * @param indice Índice construido a partir de la secuencia.
+     * @throws IOException Si no se puede escribir el índice.
+     */
+    public static void guardarIndice(File fuente, long sumaFuente, IndiceFM indice) throws IOException {
+        File destino = archivoIndiceDe(fuente);
+        File temporal = new File(destino.getPath() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Escritor escritor = new Escritor(canal);
+            escritor.escribirInt(MAGIA_INDICE);
+            escritor.escribirInt(VERSION);
+            escritor.escribirLong(fuente.length());
+            escritor.escribirLong(fuente.lastModified());
+            escritor.escribirLong(sumaFuente);
+            escritor.escribirInt(indice.getLongitud());
+            escritor.escribirInt(indice.getPaso());
+            escritor.escribirInt(indice.getFilaFin());
+            for (long palabra : indice.getBwt()) {
+                escritor.escribirLong(palabra);
+            }
+            for (long palabra : indice.getMarcas()) {
+                escritor.escribirLong(palabra);
+            }
+            escritor.escribirInt(indice.getMuestras().length);
+            escritor.escribirInts(indice.getMuestras());
+            escritor.vaciar();
+        } catch (IOException e) {
+            Files.deleteIfExists(temporal.toPath());
+            throw e;
+        }
+        Files.move(temporal.toPath(), destino.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Carga el índice FM de un archivo si existe y sigue siendo válido.
+     *
+     * @param fuente Archivo de texto con la secuencia.
+     * @return Índice guardado, o null si no hay índice o no se puede usar (en ese caso hay que construirlo).
+     * @throws IOException Si el índice existe pero no se puede leer.
+     */
+    public static IndiceFM cargarIndice(File fuente) throws IOException {
+        File archivo = archivoIndiceDe(fuente);
+        if (!archivo.isFile() || !fuente.isFile()) {
+            return null;
+        }
+        try (FileChannel canal = FileChannel.open(archivo.toPath(), StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (mapa.getInt() != MAGIA_INDICE || mapa.getInt() != VERSION
+                    || mapa.getLong() != fuente.length() || mapa.getLong() != fuente.lastModified()
+                    || mapa.getLong() != calcularSuma(fuente)) {
+                return null;
+            }
+            int longitud = mapa.getInt();
+            int paso = mapa.getInt();
+            int filaFin = mapa.getInt();
+            long[] bwt = leerLongs(mapa, (int) (((long) longitud + 32) / 32));
+            long[] marcas = leerLongs(mapa, (int) (((long) longitud + 64) / 64));
+            int[] muestras = leerInts(mapa, mapa.getInt());
+            return new IndiceFM(longitud, paso, filaFin, bwt, marcas, muestras);
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            return null; // Índice dañado o truncado
+        }
+    }
+
+    /**
+     * Lee un arreglo de long del mapa y avanza su posición.
+     */
+    private static long[] leerLongs(ByteBuffer mapa, int cantidad) {
+        long[] valores = new long[cantidad];
+        mapa.asLongBuffer().get(valores);
+        mapa.position(mapa.position() + cantidad * Long.BYTES);
+        return valores;
+    }
+
+    /**
+     * Lee un arreglo de enteros del mapa y avanza su posición.
+     * Los arreglos cortos (la mayoría, con una muestra por cada 64 posiciones) se leen de a uno
+     * para no crear una vista del buffer por patrón.
+     */
+    private static int[] leerInts(ByteBuffer mapa, int cantidad) {
+        int[] valores = new int[cantidad];
+        if (cantidad < 16) {
+            for (int i = 0; i < cantidad; i++) {
+                valores[i] = mapa.getInt();
+            }
+        } else {
+            mapa.asIntBuffer().get(valores);
+            mapa.position(mapa.position() + cantidad * Integer.BYTES);
+        }
+        return valores;
+    }
+
+    /**
+     * Escribe valores primitivos en un canal a través de un buffer, para no hacer una escritura por valor.
+     */
+    private static class Escritor {
+        private final FileChannel canal;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMAÑO_BUFFER);
+
+        Escritor(FileChannel canal) {
+            this.canal = canal;
+        }
+
+        /**
+         * Escribe el buffer en el canal si no quedan al menos los bytes indicados.
+         */
+        private void asegurar(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                vaciar();
+            }
+        }
+
+        void escribirByte(int valor) throws IOException {
+            asegurar(1);
+            buffer.put((byte) valor);
+        }
+
+        void escribirInt(int valor) throws IOException {
+            asegurar(Integer.BYTES);
+            buffer.putInt(valor);
+        }
+
+        void escribirLong(long valor) throws IOException {
+            asegurar(Long.BYTES);
+            buffer.putLong(valor);
+        }
+
+        void escribirBytes(byte[] valores) throws IOException {
+            int desplazamiento = 0;
+            while (desplazamiento < valores.length) {
+                if (!buffer.hasRemaining()) {
+                    vaciar();
+                }
+                int cantidad = Math.min(buffer.remaining(), valores.length - desplazamiento);
+                buffer.put(valores, desplazamiento, cantidad);
+                desplazamiento += cantidad;
+            }
+        }
+
+        void escribirInts(int[] valores) throws IOException {
+            for (int valor : valores) {
+                escribirInt(valor);
+            }
+        }
+
+        /**
+         * Escribe en el canal todo lo que queda en el buffer.
+         */
+        void vaciar() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
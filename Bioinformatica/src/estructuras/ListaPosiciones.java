@@ -0,0 +1,436 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Lista de posiciones guardadas como enteros primitivos en un arreglo que crece por duplicación.
+ * Reemplaza a ListaSimple<Integer> para las ubicaciones de los patrones: agregar una posición
+ * no crea nodos ni objetos Integer, solo se reserva memoria cuando el arreglo se llena.
+ *
+ * Cuando termina la carga, la lista se puede compactar: las posiciones (ordenadas de menor a mayor)
+ * se guardan como diferencias sucesivas codificadas en varint (1 a 5 bytes cada una), junto con
+ * una muestra cada 64 posiciones que permite el acceso por índice y la búsqueda binaria.
+ * El tamaño siempre se conoce en O(1). Si se agrega una posición a una lista compactada,
+ * se descompacta automáticamente.
+ *
+ * @author Luis Peña, Diego Linares
+ */
+public class ListaPosiciones {
+    private static final int CAPACIDAD_INICIAL = 8;
+    private static final int INTERVALO_MUESTRA = 64; // Posiciones entre dos muestras de la versión compactada
+
+    private int[] valores;      // Posiciones sin compactar (null si la lista está compactada)
+    private int tamaño;
+    private byte[] codificado;  // Diferencias en varint (null si la lista no está compactada)
+    private int[] muestras;     // Valor de las posiciones 0, 64, 128...
+    private int[] desplazamientos; // Byte donde empieza la posición siguiente a cada muestra
+
+    /**
+     * Constructor que inicializa una lista vacía.
+     */
+    public ListaPosiciones() {
+        this.valores = new int[CAPACIDAD_INICIAL];
+        this.tamaño = 0;
+        this.codificado = null;
+        this.muestras = null;
+        this.desplazamientos = null;
+    }
+
+    /**
+     * Crea una lista ya compactada a partir de sus arreglos (por ejemplo, leídos de una instantánea), sin copiarlos.
+     *
+     * @param tamaño Cantidad de posiciones.
+     * @param codificado Diferencias en varint.
+     * @param muestras Valor de las posiciones 0, 64, 128...
+     * @param desplazamientos Byte donde empieza la posición siguiente a cada muestra.
+     * @return Lista compactada.
+     * @throws IllegalArgumentException Si la cantidad de muestras no corresponde al tamaño.
+     */
+    static ListaPosiciones desdeCompactada(int tamaño, byte[] codificado, int[] muestras, int[] desplazamientos) {
+        int cantidadMuestras = (tamaño + INTERVALO_MUESTRA - 1) / INTERVALO_MUESTRA;
+        if (tamaño < 0 || muestras.length != cantidadMuestras || desplazamientos.length != cantidadMuestras) {
+            throw new IllegalArgumentException("Los arreglos no corresponden a una lista de " + tamaño + " posiciones.");
+        }
+        return new ListaPosiciones(tamaño, codificado, muestras, desplazamientos);
+    }
+
+    /**
+     * Constructor privado de una lista ya compactada.
+     */
+    private ListaPosiciones(int tamaño, byte[] codificado, int[] muestras, int[] desplazamientos) {
+        this.valores = null;
+        this.tamaño = tamaño;
+        this.codificado = codificado;
+        this.muestras = muestras;
+        this.desplazamientos = desplazamientos;
+    }
+
+    /**
+     * Agrega una posición al final de la lista.
+     * Si la lista estaba compactada, primero se descompacta.
+     *
+     * @param posicion Posición a agregar.
+     */
+    public void agregar(int posicion) {
+        if (codificado != null) {
+            descompactar();
+        }
+        if (tamaño == valores.length) {
+            int[] nuevo = new int[valores.length * 2];
+            System.arraycopy(valores, 0, nuevo, 0, tamaño);
+            valores = nuevo;
+        }
+        valores[tamaño++] = posicion;
+    }
+
+    /**
+     * Agrega al final todas las posiciones de otra lista, en su mismo orden.
+     * Reserva de una vez la capacidad necesaria.
+     *
+     * @param otra Lista cuyas posiciones se copian.
+     */
+    public void agregarTodos(ListaPosiciones otra) {
+        if (codificado != null) {
+            descompactar();
+        }
+        reservar(tamaño + otra.tamaño);
+        if (otra.codificado == null) {
+            System.arraycopy(otra.valores, 0, valores, tamaño, otra.tamaño);
+            tamaño += otra.tamaño;
+        } else {
+            PrimitiveIterator.OfInt it = otra.iterador();
+            while (it.hasNext()) {
+                valores[tamaño++] = it.nextInt();
+            }
+        }
+    }
+
+    /**
+     * Asegura que el arreglo interno tenga espacio para la cantidad de posiciones indicada.
+     *
+     * @param capacidad Cantidad total de posiciones que se van a guardar.
+     */
+    public void reservar(int capacidad) {
+        if (codificado != null) {
+            descompactar();
+        }
+        if (capacidad > valores.length) {
+            int[] nuevo = new int[capacidad];
+            System.arraycopy(valores, 0, nuevo, 0, tamaño);
+            valores = nuevo;
+        }
+    }
+
+    /**
+     * Compacta la lista con codificación delta + varint.
+     * Solo se compacta si las posiciones están ordenadas de menor a mayor y no son negativas;
+     * en caso contrario la lista se queda como está.
+     *
+     * @return true si la lista quedó compactada.
+     */
+    public boolean compactar() {
+        if (codificado != null) {
+            return true;
+        }
+        for (int i = 0; i < tamaño; i++) {
+            if (valores[i] < 0 || (i > 0 && valores[i] < valores[i - 1])) {
+                return false;
+            }
+        }
+        int cantidadMuestras = (tamaño + INTERVALO_MUESTRA - 1) / INTERVALO_MUESTRA;
+        int[] nuevasMuestras = new int[cantidadMuestras];
+        int[] nuevosDesplazamientos = new int[cantidadMuestras];
+
+        // Primer recorrido: tamaño exacto del arreglo codificado
+        int bytes = 0;
+        for (int i = 0; i < tamaño; i++) {
+            if (i % INTERVALO_MUESTRA != 0) {
+                bytes += largoVarint(valores[i] - valores[i - 1]);
+            }
+        }
+        byte[] nuevoCodificado = new byte[bytes];
+
+        int desplazamiento = 0;
+        for (int i = 0; i < tamaño; i++) {
+            if (i % INTERVALO_MUESTRA == 0) {
+                nuevasMuestras[i / INTERVALO_MUESTRA] = valores[i];
+                nuevosDesplazamientos[i / INTERVALO_MUESTRA] = desplazamiento;
+            } else {
+                desplazamiento = escribirVarint(nuevoCodificado, desplazamiento, valores[i] - valores[i - 1]);
+            }
+        }
+        codificado = nuevoCodificado;
+        muestras = nuevasMuestras;
+        desplazamientos = nuevosDesplazamientos;
+        valores = null;
+        return true;
+    }
+
+    /**
+     * Vuelve a guardar las posiciones en un arreglo de enteros para poder seguir agregando.
+     */
+    private void descompactar() {
+        int[] nuevo = new int[Math.max(CAPACIDAD_INICIAL, tamaño + tamaño / 2)];
+        PrimitiveIterator.OfInt it = iterador();
+        int i = 0;
+        while (it.hasNext()) {
+            nuevo[i++] = it.nextInt();
+        }
+        valores = nuevo;
+        codificado = null;
+        muestras = null;
+        desplazamientos = null;
+    }
+
+    /**
+     * Obtiene la posición guardada en un índice.
+     * En una lista compactada cuesta a lo sumo 63 decodificaciones desde la muestra anterior.
+     *
+     * @param indice Índice dentro de la lista (0 a getTamaño()-1).
+     * @return Posición guardada en ese índice.
+     * @throws IndexOutOfBoundsException Si el índice no es válido.
+     */
+    public int get(int indice) {
+        if (indice < 0 || indice >= tamaño) {
+            throw new IndexOutOfBoundsException("Índice fuera de la lista: " + indice);
+        }
+        if (codificado == null) {
+            return valores[indice];
+        }
+        int muestra = indice / INTERVALO_MUESTRA;
+        int valor = muestras[muestra];
+        int desplazamiento = desplazamientos[muestra];
+        for (int i = muestra * INTERVALO_MUESTRA; i < indice; i++) {
+            int delta = 0;
+            int corrimiento = 0;
+            byte b;
+            do {
+                b = codificado[desplazamiento++];
+                delta |= (b & 0x7F) << corrimiento;
+                corrimiento += 7;
+            } while (b < 0);
+            valor += delta;
+        }
+        return valor;
+    }
+
+    /**
+     * Busca una posición con búsqueda binaria (la lista debe estar ordenada, como queda al construir la tabla).
+     *
+     * @param posicion Posición a buscar.
+     * @return Índice de la posición si está en la lista; si no, (-(punto de inserción) - 1), igual que Arrays.binarySearch.
+     */
+    public int buscar(int posicion) {
+        if (codificado == null) {
+            return Arrays.binarySearch(valores, 0, tamaño, posicion);
+        }
+        // Búsqueda binaria sobre las muestras y luego recorrido dentro del bloque
+        int bajo = 0;
+        int alto = muestras.length - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (muestras[medio] <= posicion) {
+                bajo = medio + 1;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        int muestra = alto;
+        if (muestra < 0) {
+            return -1;
+        }
+        int indice = muestra * INTERVALO_MUESTRA;
+        int fin = Math.min(tamaño, indice + INTERVALO_MUESTRA);
+        int valor = muestras[muestra];
+        int desplazamiento = desplazamientos[muestra];
+        while (true) {
+            if (valor == posicion) {
+                return indice;
+            }
+            indice++;
+            if (indice == fin) {
+                return -indice - 1;
+            }
+            int delta = 0;
+            int corrimiento = 0;
+            byte b;
+            do {
+                b = codificado[desplazamiento++];
+                delta |= (b & 0x7F) << corrimiento;
+                corrimiento += 7;
+            } while (b < 0);
+            valor += delta;
+            if (valor > posicion) {
+                return -indice - 1;
+            }
+        }
+    }
+
+    /**
+     * Indica si una posición está en la lista.
+     *
+     * @param posicion Posición a buscar.
+     * @return true si la posición está en la lista.
+     */
+    public boolean contiene(int posicion) {
+        return buscar(posicion) >= 0;
+    }
+
+    /**
+     * Crea un iterador secuencial sobre las posiciones, sin crear objetos Integer.
+     *
+     * @return Iterador de enteros primitivos.
+     */
+    public PrimitiveIterator.OfInt iterador() {
+        return new Iterador();
+    }
+
+    /**
+     * Copia las posiciones a una ListaSimple, para los reportes que todavía trabajan con ella.
+     *
+     * @return Nueva ListaSimple con las mismas posiciones en el mismo orden.
+     */
+    public ListaSimple<Integer> aListaSimple() {
+        ListaSimple<Integer> lista = new ListaSimple<>();
+        PrimitiveIterator.OfInt it = iterador();
+        while (it.hasNext()) {
+            lista.insertarAlFinal(it.nextInt());
+        }
+        return lista;
+    }
+
+    /**
+     * Muestra la lista de posiciones en formato visual, separando por comas y
+     * agregando saltos de línea cada 22 posiciones para mejor legibilidad.
+     *
+     * @return Cadena con las posiciones separadas y alineadas.
+     */
+    public String mostrarListaPosiciones() {
+        return mostrar(22, EscritorReportes.SALTO_LISTADO);
+    }
+
+    /**
+     * Muestra las posiciones separadas por comas, con un salto de línea cada cierta cantidad.
+     *
+     * @param porLinea Cantidad de posiciones por línea.
+     * @param saltoLinea Texto que se usa como separador al terminar cada línea.
+     * @return Cadena con las posiciones.
+     */
+    public String mostrar(int porLinea, String saltoLinea) {
+        return EscritorReportes.aTexto(destino -> EscritorReportes.escribirPosiciones(this, porLinea, saltoLinea, destino));
+    }
+
+    /**
+     * Memoria aproximada usada por las posiciones.
+     *
+     * @return Cantidad de bytes de los arreglos internos.
+     */
+    public long getBytesUsados() {
+        if (codificado == null) {
+            return (long) valores.length * Integer.BYTES;
+        }
+        return codificado.length + (long) (muestras.length + desplazamientos.length) * Integer.BYTES;
+    }
+
+    /**
+     * Arreglos internos de la versión compactada (null si la lista no está compactada), para guardar instantáneas.
+     */
+    byte[] getCodificado() {
+        return codificado;
+    }
+
+    int[] getMuestras() {
+        return muestras;
+    }
+
+    int[] getDesplazamientos() {
+        return desplazamientos;
+    }
+
+    /**
+     * Calcula cuántos bytes ocupa un valor no negativo en varint.
+     */
+    private static int largoVarint(int valor) {
+        int largo = 1;
+        while ((valor & ~0x7F) != 0) {
+            valor >>>= 7;
+            largo++;
+        }
+        return largo;
+    }
+
+    /**
+     * Escribe un valor no negativo en varint (7 bits por byte, el bit alto indica que sigue otro byte).
+     *
+     * @return Desplazamiento siguiente al último byte escrito.
+     */
+    private static int escribirVarint(byte[] destino, int desplazamiento, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            destino[desplazamiento++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        destino[desplazamiento++] = (byte) valor;
+        return desplazamiento;
+    }
+
+    /**
+     * Iterador secuencial que decodifica las diferencias una sola vez por posición.
+     */
+    private class Iterador implements PrimitiveIterator.OfInt {
+        private int indice = 0;
+        private int valor = 0;
+        private int desplazamiento = 0;
+
+        @Override
+        public boolean hasNext() {
+            return indice < tamaño;
+        }
+
+        @Override
+        public int nextInt() {
+            if (indice >= tamaño) {
+                throw new NoSuchElementException();
+            }
+            if (codificado == null) {
+                return valores[indice++];
+            }
+            if (indice % INTERVALO_MUESTRA == 0) {
+                valor = muestras[indice / INTERVALO_MUESTRA];
+                desplazamiento = desplazamientos[indice / INTERVALO_MUESTRA];
+            } else {
+                int delta = 0;
+                int corrimiento = 0;
+                byte b;
+                do {
+                    b = codificado[desplazamiento++];
+                    delta |= (b & 0x7F) << corrimiento;
+                    corrimiento += 7;
+                } while (b < 0);
+                valor += delta;
+            }
+            indice++;
+            return valor;
+        }
+    }
+
+    /**
+    * Getters
+    */
+    public int getTamaño() {
+        return tamaño;
+    }
+
+    public boolean esVacia() {
+        return tamaño == 0;
+    }
+
+    public boolean estaCompactada() {
+        return codificado != null;
+    }
+}
@@ -4,15 +4,23 @@
  */
 package estructuras;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
  /**
  * Implementación de una lista simplemente enlazada genérica.
  * Permite operaciones básicas como inserción al final, verificación de vacío,
  * vaciado de lista y representación en cadena de caracteres.
+ * Se puede recorrer con for-each o como Stream, sin copiarla.
  * 
  * @param <T> Tipo genérico de los elementos almacenados en la lista
  * @author Luis Peña, Diego Linares, Luis Mariano Lovera
  */
-public class ListaSimple<T> {
+public class ListaSimple<T> implements Iterable<T> {
     private NodoSimple first;
     private NodoSimple last;
     private int tamaño;
@@ -68,14 +76,7 @@ public class ListaSimple<T> {
      * @return Cadena con los elementos de la lista separados por saltos de línea
      */
     public String mostrarLista(){
-        String cadena="";
-        NodoSimple aux=first;
-        
-        while (aux!=null){
-            cadena=cadena+aux.getData()+"\n";
-            aux=aux.getNext();
-        }
-        return cadena;
+        return EscritorReportes.aTexto(destino -> EscritorReportes.escribirLista(this, destino));
     } 
     
     /**
@@ -85,16 +86,7 @@ public class ListaSimple<T> {
      * @return Cadena con los elementos separados según el separador dado.
      */
     public String mostrarLista(String separador) {
-        String cadena = "";
-        NodoSimple<T> aux = first;
-        while (aux != null) {
-            cadena = cadena + aux.getData();
-            if (aux.getNext() != null) {
-                cadena = cadena + separador;
-            }
-            aux = aux.getNext();
-        }
-        return cadena;
+        return EscritorReportes.aTexto(destino -> EscritorReportes.escribirLista(this, separador, destino));
     }
     
     /**
@@ -104,23 +96,7 @@ public class ListaSimple<T> {
      * @return Cadena con las posiciones separadas y alineadas.
      */
     public String mostrarListaPosiciones(){
-        String cadena="";
-        NodoSimple aux=first;
-        int contador = 0;
-        while (aux != null) {
-            cadena = cadena + aux.getData();
-            aux = aux.getNext();
-            contador++;
-            if (aux != null) {
-                if (contador % 22==0) {
-                    //Espacio para que se visualizen las ubicaciones de forma alineada
-                    cadena = cadena + ",\n                     ";
-                } else {
-                    cadena = cadena + ", ";
-                }
-            }
-        }
-        return cadena;
+        return EscritorReportes.aTexto(destino -> EscritorReportes.escribirListaPosiciones(this, destino));
     }
     
     /**
@@ -129,30 +105,9 @@ public class ListaSimple<T> {
      *
      * @return Cadena con el patrón, frecuencia y ubicaciones para cada nodo.
      */
+    @SuppressWarnings("unchecked")
     public String mostrarPatronesFrecuencia(){
-        String cadena="";
-        NodoSimple aux=first;
-        while (aux != null) {
-            NodoArbol nodo = (NodoArbol) aux.getData();
-            cadena += nodo.getPatron() + " | Frecuencia: " + nodo.getFrecuencias()+ "\nUbicaciones: ";
-            NodoSimple auxPos = nodo.getPosiciones().getFirst();
-            int contador = 0;
-            while (auxPos != null) {
-                cadena += auxPos.getData();
-                auxPos = auxPos.getNext();
-                contador++;
-                if (auxPos != null) {
-                    if (contador % 10 == 0) {
-                        cadena += ",\n             ";
-                    } else {
-                        cadena += ", ";
-                    }
-                }
-            }
-            cadena += "\n"; 
-            aux = aux.getNext();
-        }
-        return cadena;
+        return EscritorReportes.aTexto(destino -> EscritorReportes.escribirPatronesFrecuencia((ListaSimple<NodoArbol>) this, destino));
     }
     
     /**
@@ -175,6 +130,54 @@ public class ListaSimple<T> {
     }   
 
 
+    /**
+     * Iterador que recorre los elementos desde el primero, siguiendo los enlaces (sin copiar la lista).
+     * La lista no debe modificarse mientras se recorre.
+     *
+     * @return Iterador sobre los elementos.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            @SuppressWarnings("unchecked")
+            private NodoSimple<T> actual = first;
+
+            @Override
+            public boolean hasNext() {
+                return actual != null;
+            }
+
+            @Override
+            public T next() {
+                if (actual == null) {
+                    throw new NoSuchElementException();
+                }
+                T dato = actual.getData();
+                actual = actual.getNext();
+                return dato;
+            }
+        };
+    }
+
+    /**
+     * Spliterator de tamaño conocido; al dividirse para un Stream paralelo reparte los elementos por bloques.
+     *
+     * @return Spliterator sobre los elementos.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), tamaño, Spliterator.ORDERED);
+    }
+
+    /**
+     * Recorre la lista como Stream, sin copiarla.
+     *
+     * @return Stream secuencial de los elementos.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
     /**
     * Getters y setters
     */
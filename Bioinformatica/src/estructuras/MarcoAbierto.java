@@ -0,0 +1,80 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+/**
+ * Marco abierto de lectura (ORF) encontrado por BuscadorORF: desde una tripleta de inicio (ATG)
+ * hasta la primera tripleta STOP del mismo marco, incluida.
+ * Las coordenadas son siempre de la hebra directa, con el inicio incluido y el fin excluido.
+ * En la hebra inversa el STOP está en [inicio, inicio + 3) y el ATG en [fin - 3, fin).
+ *
+ * @author Luis Peña
+ */
+public class MarcoAbierto {
+    private final int inicio;
+    private final int fin;
+    private final boolean inverso;
+    private final int marco;
+
+    /**
+     * Constructor.
+     *
+     * @param inicio Primera posición del ORF en la hebra directa.
+     * @param fin Posición siguiente a la última del ORF en la hebra directa.
+     * @param inverso true si el ORF está en la hebra inversa (complementaria).
+     * @param marco Marco de lectura (0, 1 o 2) dentro de su hebra.
+     */
+    public MarcoAbierto(int inicio, int fin, boolean inverso, int marco) {
+        this.inicio = inicio;
+        this.fin = fin;
+        this.inverso = inverso;
+        this.marco = marco;
+    }
+
+    /**
+     * Largo en bases, incluida la tripleta STOP.
+     */
+    public int getLargo() {
+        return fin - inicio;
+    }
+
+    /**
+     * Cantidad de aminoácidos que codifica (sin contar el STOP).
+     */
+    public int getCantidadAminoacidos() {
+        return getLargo() / 3 - 1;
+    }
+
+    /**
+     * Línea del reporte, por ejemplo "+2 | Inicio: 120 | Fin: 450 | Largo: 330 (109 aminoácidos)".
+     * La hebra y el marco se muestran como +1..+3 o -1..-3.
+     *
+     * @return Texto del ORF.
+     */
+    @Override
+    public String toString() {
+        return (inverso ? "-" : "+") + (marco + 1) + " | Inicio: " + inicio + " | Fin: " + fin
+                + " | Largo: " + getLargo() + " (" + getCantidadAminoacidos() + " aminoácidos)";
+    }
+
+    /**
+     * Getters
+     */
+    public int getInicio() {
+        return inicio;
+    }
+
+    public int getFin() {
+        return fin;
+    }
+
+    public boolean esInverso() {
+        return inverso;
+    }
+
+    public int getMarco() {
+        return marco;
+    }
+}
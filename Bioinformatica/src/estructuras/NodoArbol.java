@@ -8,28 +8,65 @@ package estructuras;
  * Implementación de un nodo para el Árbol Binario de Búsqueda.
  * Cada nodo contiene un patrón de ADN (dato) y referencias a sus hijos izquierdo y derecho.
  * Además, almacena una lista de posiciones donde el patrón se encuentra en la secuencia principal de ADN.
+ * Las posiciones se guardan como enteros primitivos en una ListaPosiciones.
+ * Para las consultas por orden del árbol, cada nodo guarda además la cantidad de nodos de su subárbol
+ * y la suma de sus frecuencias (las mantiene ArbolBB).
  *
  * @author Diego Linares
  */
 
 public class NodoArbol {
     private String patron;
-    private ListaSimple<Integer> posiciones; 
+    private long codigo; // Patrón codificado en base 4 (A=0, C=1, G=2, T=3), o -1 si no se conoce
+    private ListaPosiciones posiciones; 
     private NodoArbol hijoIzq;
     private NodoArbol hijoDer;
     private int altura;
+    private int tamañoSubarbol;    // Cantidad de nodos del subárbol, incluido este
+    private int frecuenciaOrden;   // Frecuencia con la que el nodo está ubicado en el árbol (ver ArbolBB)
+    private long totalSubarbol;    // Suma de las frecuencias del subárbol, incluido este
+    private NodoArbol anteriorIndice;  // Patrón anterior con la misma frecuencia (ver IndiceFrecuencias)
+    private NodoArbol siguienteIndice; // Patrón siguiente con la misma frecuencia (ver IndiceFrecuencias)
 
     /**
     * Constructor para crear un nuevo nodo.
-    * @param patron El patrón (secuencia de 3 caracteres de ADN) de este nodo.
+    * @param patron El patrón (secuencia de k bases de ADN) de este nodo.
     * @param posiciones Lista de todas las posiciones (índices) donde se encontró este patrón en la secuencia principal.
     */
-    public NodoArbol(String patron, ListaSimple<Integer> posiciones) {
+    public NodoArbol(String patron, ListaPosiciones posiciones) {
+        this(patron, -1, posiciones);
+    }
+
+    /**
+    * Constructor para crear un nuevo nodo que conoce el código numérico de su patrón.
+    * @param patron El patrón de ADN de este nodo.
+    * @param codigo El patrón codificado en base 4, igual que en la tabla hash.
+    * @param posiciones Lista de todas las posiciones (índices) donde se encontró este patrón en la secuencia principal.
+    */
+    public NodoArbol(String patron, long codigo, ListaPosiciones posiciones) {
         this.patron = patron;
+        this.codigo = codigo;
         this.posiciones=posiciones;
         this.hijoIzq = null;
         this.hijoDer = null;
         this.altura = 1;
+        this.tamañoSubarbol = 1;
+        this.frecuenciaOrden = posiciones.getTamaño();
+        this.totalSubarbol = frecuenciaOrden;
+    }
+
+    /**
+    * Constructor que copia las posiciones desde una ListaSimple.
+    * @param patron El patrón (secuencia de k bases de ADN) de este nodo.
+    * @param posiciones Lista de todas las posiciones (índices) donde se encontró este patrón en la secuencia principal.
+    */
+    public NodoArbol(String patron, ListaSimple<Integer> posiciones) {
+        this(patron, new ListaPosiciones());
+        NodoSimple<Integer> aux = posiciones.getFirst();
+        while (aux != null) {
+            this.posiciones.agregar(aux.getData());
+            aux = aux.getNext();
+        }
     }
 
     /**
@@ -43,7 +80,11 @@ public class NodoArbol {
         this.patron = patron;
     }
 
-    public ListaSimple<Integer> getPosiciones() {
+    public long getCodigo() {
+        return codigo;
+    }
+
+    public ListaPosiciones getPosiciones() {
         return posiciones;
     }
     
@@ -52,7 +93,7 @@ public class NodoArbol {
     }
 
     public void insertarPosicion(int posicion) {
-        this.posiciones.insertarAlFinal(posicion);
+        this.posiciones.agregar(posicion);
     }
 
     public NodoArbol getHijoIzq() {
@@ -78,6 +119,53 @@ public class NodoArbol {
     public void setAltura(int altura) {
         this.altura = altura;
     }
+
+    public int getTamañoSubarbol() {
+        return tamañoSubarbol;
+    }
+
+    public void setTamañoSubarbol(int tamañoSubarbol) {
+        this.tamañoSubarbol = tamañoSubarbol;
+    }
+
+    /**
+     * Frecuencia que usa el árbol para ordenar el nodo. Es la del momento en que se insertó y solo cambia
+     * cuando el árbol reubica el nodo, así la lista de posiciones puede crecer sin desordenar el árbol.
+     */
+    int getFrecuenciaOrden() {
+        return frecuenciaOrden;
+    }
+
+    void setFrecuenciaOrden(int frecuenciaOrden) {
+        this.frecuenciaOrden = frecuenciaOrden;
+    }
+
+    public long getTotalSubarbol() {
+        return totalSubarbol;
+    }
+
+    public void setTotalSubarbol(long totalSubarbol) {
+        this.totalSubarbol = totalSubarbol;
+    }
+
+    /**
+     * Enlaces de la cubeta de IndiceFrecuencias donde está el nodo (solo nodos de la tabla).
+     */
+    NodoArbol getAnteriorIndice() {
+        return anteriorIndice;
+    }
+
+    void setAnteriorIndice(NodoArbol anteriorIndice) {
+        this.anteriorIndice = anteriorIndice;
+    }
+
+    NodoArbol getSiguienteIndice() {
+        return siguienteIndice;
+    }
+
+    void setSiguienteIndice(NodoArbol siguienteIndice) {
+        this.siguienteIndice = siguienteIndice;
+    }
     
     
 }
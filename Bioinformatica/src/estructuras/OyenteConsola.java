@@ -0,0 +1,53 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.io.PrintStream;
+
+/**
+ * Oyente que escribe los mensajes del procesamiento en un flujo de texto (por defecto, la salida de error).
+ * Es el oyente que usa ProcesadorArchivo cuando no se le indica otro, así la lógica funciona sin interfaz gráfica.
+ *
+ * @author Luis Mariano Lovera, Luis Peña
+ */
+public class OyenteConsola implements OyenteProcesamiento {
+    private final PrintStream salida;
+    private final boolean mostrarInformacion;
+
+    /**
+     * Constructor que escribe en la salida de error y omite los mensajes informativos.
+     */
+    public OyenteConsola() {
+        this(System.err, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param salida Flujo donde se escriben los mensajes.
+     * @param mostrarInformacion true para escribir también los mensajes informativos.
+     */
+    public OyenteConsola(PrintStream salida, boolean mostrarInformacion) {
+        this.salida = salida;
+        this.mostrarInformacion = mostrarInformacion;
+    }
+
+    @Override
+    public void error(String mensaje) {
+        salida.println("Error: " + mensaje);
+    }
+
+    @Override
+    public void advertencia(String mensaje) {
+        salida.println("Advertencia: " + mensaje);
+    }
+
+    @Override
+    public void informacion(String mensaje) {
+        if (mostrarInformacion) {
+            salida.println(mensaje);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package estructuras;
+
+/**
+ * Recibe los cambios de frecuencia de los patrones de una Hashtable.
+ * Lo implementa ArbolBB para reubicar el patrón cuando la tabla le agrega posiciones,
+ * así el árbol sigue ordenado sin reconstruirlo.
+ *
+ * @author Diego Linares, Luis Mariano Lovera
+ */
+public interface OyenteFrecuencias {
+
+    /**
+     * Se llama después de que cambia la frecuencia de un patrón de la tabla.
+     *
+     * @param nodo Nodo del patrón en la tabla, ya con su nueva frecuencia.
+     * @param frecuenciaAnterior Frecuencia que tenía antes del cambio (0 si el patrón es nuevo).
+     */
+    void frecuenciaCambiada(NodoArbol nodo, int frecuenciaAnterior);
+}
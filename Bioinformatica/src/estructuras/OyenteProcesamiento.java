@@ -0,0 +1,56 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Interface.java to edit this template
+ */
+package estructuras;
+
+/**
+ * Recibe los mensajes que genera el procesamiento de un archivo (errores, advertencias, información y progreso)
+ * y permite cancelarlo.
+ * Permite que la lógica no dependa de la interfaz gráfica: la ventana muestra los mensajes en diálogos
+ * y el modo de línea de comandos los escribe en la consola.
+ *
+ * @author Luis Mariano Lovera, Luis Peña
+ */
+public interface OyenteProcesamiento {
+
+    /**
+     * Se llama cuando ocurre un error que impide continuar con el procesamiento.
+     *
+     * @param mensaje Descripción del error.
+     */
+    void error(String mensaje);
+
+    /**
+     * Se llama cuando algo no impide continuar pero el usuario debería saberlo.
+     *
+     * @param mensaje Descripción de la advertencia.
+     */
+    void advertencia(String mensaje);
+
+    /**
+     * Se llama con información del procesamiento, como tiempos o velocidades. Por defecto se ignora.
+     *
+     * @param mensaje Texto informativo.
+     */
+    default void informacion(String mensaje) {
+    }
+
+    /**
+     * Se llama periódicamente mientras se lee el archivo. Por defecto se ignora.
+     *
+     * @param procesados Bytes del archivo ya recorridos.
+     * @param total Tamaño total del archivo en bytes.
+     */
+    default void progreso(long procesados, long total) {
+    }
+
+    /**
+     * Se consulta periódicamente durante la carga y la construcción de la tabla para saber si hay que detenerse.
+     *
+     * @return true si el usuario pidió cancelar. Por defecto, false.
+     */
+    default boolean cancelado() {
+        return false;
+    }
+}
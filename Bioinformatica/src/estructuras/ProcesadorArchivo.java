@@ -4,10 +4,12 @@
  */
 package estructuras;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
-import javax.swing.JOptionPane;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /**
  *
@@ -18,86 +20,339 @@ import javax.swing.JOptionPane;
  * @author Luis Mariano Lovera, Luis Peña
  */
 public class ProcesadorArchivo {
-    private String secuenciaADN;
+    private static final int UMBRAL_PARALELO = 3 * 1024 * 1024; // Bases a partir de las cuales se tabula en paralelo
+    private static final int PARTES_POR_HILO = 4; // Partes por hilo, para repartir mejor la carga
+    private static final int INTERVALO_CANCELACION = 1 << 20; // Patrones entre dos consultas de cancelación
+    private SecuenciaEmpaquetada secuenciaADN;
+    private double megabytesPorSegundo;
+    private long sumaVerificacion; // CRC32C del último archivo leído, para guardar la instantánea (-1 si no se conoce)
+    private IndiceFM indiceFM;     // Índice FM de la secuencia, armado al pedirlo por primera vez
+    private OyenteProcesamiento oyente;
 
     /**
      * Constructor que inicializa el procesador con la secuencia vacía.
+     * Los errores y advertencias se escriben en la consola.
      */
     public ProcesadorArchivo() {
-        this.secuenciaADN = "";
+        this(new OyenteConsola());
+    }
+
+    /**
+     * Constructor que inicializa el procesador con la secuencia vacía y el oyente indicado.
+     *
+     * @param oyente Recibe los errores, advertencias e información del procesamiento.
+     */
+    public ProcesadorArchivo(OyenteProcesamiento oyente) {
+        this.secuenciaADN = new SecuenciaEmpaquetada();
+        this.megabytesPorSegundo = 0;
+        this.sumaVerificacion = 0;
+        this.oyente = oyente;
     }
     
     /**
      * Lee el archivo seleccionado y guarda la secuencia de ADN.
      * Valida que solo contenga caracteres A, C, G, T.
+     * El archivo se mapea en memoria y se recorre una sola vez con CargadorSecuencia;
+     * la secuencia queda empaquetada a 2 bits por base.
      *
      * @param archivoSeleccionado Archivo a leer.
-     * @return true si el archivo es válido y se pudo cargar, false en caso contrario.
+     * @return true si el archivo es válido y se pudo cargar, false en caso contrario (también si se canceló).
      */
     public boolean leerArchivo(File archivoSeleccionado){
-        secuenciaADN="";
+        secuenciaADN = new SecuenciaEmpaquetada();
+        indiceFM = null;
         try{
-            BufferedReader br = new BufferedReader(new FileReader(archivoSeleccionado));
-            String linea;
-            
-            while ((linea=br.readLine())!=null){
-                linea=linea.trim().toUpperCase();
-           
-                if (!linea.isEmpty()){
-                    for (int i = 0; i < linea.length(); i++) {
-                        char letra= linea.charAt(i);
-                        if (letra!='A' && letra!='C' && letra!='G' && letra!='T') {
-                            JOptionPane.showMessageDialog(null, "El archivo no se puede procesar. \nCaracter inválido detectado: "+letra,"Error",JOptionPane.ERROR_MESSAGE);
-                            br.close();
-                            return false;
-                        }
-                    }
-                    secuenciaADN+=linea;
+            CargadorSecuencia cargador = new CargadorSecuencia();
+            if (!cargador.cargar(archivoSeleccionado, oyente)) {
+                if (cargador.fueCancelada()) {
+                    oyente.informacion("Carga de " + archivoSeleccionado.getName() + " cancelada.");
+                    return false;
                 }
+                oyente.error("El archivo no se puede procesar. \nCaracter inválido detectado: "+cargador.getCaracterInvalido());
+                return false;
             }
-            br.close();
+            secuenciaADN = cargador.getSecuencia();
+            megabytesPorSegundo = cargador.getMegabytesPorSegundo();
+            sumaVerificacion = cargador.getSumaVerificacion();
+            oyente.informacion(String.format("%s: %d bases leídas a %.1f MB/s", archivoSeleccionado.getName(), secuenciaADN.getLongitud(), megabytesPorSegundo));
             return true;
         } catch (Exception e){
-            JOptionPane.showMessageDialog(null, "Error leyendo el archivo: " +e.getMessage(),"Error",JOptionPane.ERROR_MESSAGE);
+            oyente.error("Error leyendo el archivo: " +e.getMessage());
             return false;   
         }
     }
     
     /**
-     * Procesa la secuencia y la divide en tripletas.
-     * Cada tripleta se inserta en la tabla hash con su posición inicial.
+     * Intenta cargar la secuencia y la tabla desde la instantánea guardada del archivo (ver Instantanea).
+     * Si la instantánea no existe, es de otro k o el archivo cambió desde que se guardó, no se carga nada
+     * y hay que usar leerArchivo y construirTabla.
+     *
+     * @param archivo Archivo de texto con la secuencia.
+     * @param tabla Tabla vacía donde se cargan los patrones.
+     * @return true si se cargó la instantánea.
+     */
+    public boolean cargarInstantanea(File archivo, Hashtable tabla) {
+        long inicio = System.nanoTime();
+        try {
+            SecuenciaEmpaquetada secuencia = Instantanea.cargar(archivo, tabla);
+            if (secuencia == null) {
+                return false;
+            }
+            secuenciaADN = secuencia;
+            indiceFM = null;
+            megabytesPorSegundo = 0;
+            sumaVerificacion = -1;
+            oyente.informacion(String.format("%s: %d bases cargadas de la instantánea en %.1f ms", archivo.getName(),
+                    secuenciaADN.getLongitud(), (System.nanoTime() - inicio) / 1e6));
+            return true;
+        } catch (IOException e) {
+            oyente.advertencia("No se pudo leer la instantánea de " + archivo.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Guarda la instantánea del archivo leído con leerArchivo y de la tabla construida con construirTabla,
+     * para que la próxima vez se pueda usar cargarInstantanea.
+     *
+     * @param archivo Archivo de texto del que se leyó la secuencia.
+     * @param tabla Tabla construida.
+     * @return true si se pudo guardar.
+     */
+    public boolean guardarInstantanea(File archivo, Hashtable tabla) {
+        try {
+            Instantanea.guardar(archivo, obtenerSuma(archivo), secuenciaADN, tabla);
+            return true;
+        } catch (IOException e) {
+            oyente.advertencia("No se pudo guardar la instantánea de " + archivo.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Devuelve el índice FM de la secuencia cargada, para buscar motivos de cualquier largo.
+     * La primera vez lo construye en paralelo con todos los procesadores.
+     *
+     * @return IndiceFM de la secuencia.
+     */
+    public IndiceFM getIndiceFM() {
+        if (indiceFM == null) {
+            long inicio = System.nanoTime();
+            ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+            try {
+                indiceFM = pool.submit(() -> IndiceFM.construir(secuenciaADN)).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Construcción del índice interrumpida.", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error construyendo el índice: " + e.getCause().getMessage(), e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+            oyente.informacion(String.format("Índice FM de %d bases construido en %.1f ms (%.1f MB)", secuenciaADN.getLongitud(),
+                    (System.nanoTime() - inicio) / 1e6, indiceFM.getBytesUsados() / 1e6));
+        }
+        return indiceFM;
+    }
+
+    /**
+     * Indica si el índice FM ya está armado (o cargado), es decir, si getIndiceFM() no tiene que construirlo.
+     *
+     * @return true si el índice está disponible.
+     */
+    public boolean tieneIndiceFM() {
+        return indiceFM != null;
+    }
+
+    /**
+     * Intenta cargar el índice FM guardado del archivo (ver Instantanea.cargarIndice). Debe llamarse después
+     * de leer la secuencia; si el índice no existe o el archivo cambió, no se carga nada.
+     *
+     * @param archivo Archivo de texto con la secuencia.
+     * @return true si se cargó el índice.
+     */
+    public boolean cargarIndiceFM(File archivo) {
+        try {
+            IndiceFM cargado = Instantanea.cargarIndice(archivo);
+            if (cargado == null || cargado.getLongitud() != secuenciaADN.getLongitud()) {
+                return false;
+            }
+            indiceFM = cargado;
+            return true;
+        } catch (IOException e) {
+            oyente.advertencia("No se pudo leer el índice FM de " + archivo.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Guarda el índice FM de la secuencia (construyéndolo si hace falta) junto al archivo,
+     * para que la próxima vez se pueda usar cargarIndiceFM.
+     *
+     * @param archivo Archivo de texto del que se leyó la secuencia.
+     * @return true si se pudo guardar.
+     */
+    public boolean guardarIndiceFM(File archivo) {
+        try {
+            Instantanea.guardarIndice(archivo, obtenerSuma(archivo), getIndiceFM());
+            return true;
+        } catch (IOException e) {
+            oyente.advertencia("No se pudo guardar el índice FM de " + archivo.getName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Suma CRC32C del archivo cargado. Si la secuencia vino de una instantánea, se calcula de nuevo.
+     */
+    private long obtenerSuma(File archivo) throws IOException {
+        if (sumaVerificacion < 0) {
+            sumaVerificacion = Instantanea.calcularSuma(archivo);
+        }
+        return sumaVerificacion;
+    }
+
+    /**
+     * Procesa la secuencia y la divide en tripletas (o en patrones de k bases, según el k de la tabla).
+     * Cada patrón se inserta en la tabla hash con su posición inicial, usando su código
+     * numérico extraído de la secuencia empaquetada, sin crear Strings por patrón.
+     * Si la secuencia es grande se usa construirTablaParalela, que produce exactamente la misma tabla.
+     * Al terminar, las listas de posiciones se compactan.
      * Si la secuencia tiene caracteres sobrantes al final, los ignora y muestra advertencia.
      *
      * @param tabla Hashtable donde se almacenarán las tripletas y posiciones.
+     * @throws CancellationException Si el oyente pide cancelar; la tabla queda incompleta y debe descartarse.
      */
     public void construirTabla(Hashtable tabla){
-        for (int i = 0; i < secuenciaADN.length(); i += 3) {
-            if (i+3 <=secuenciaADN.length()){
-                String fragmento = secuenciaADN.substring(i, i + 3);
-                tabla.insertar(fragmento, i);     
-            }else{
-                int sobrantes=secuenciaADN.length()-i;
-                JOptionPane.showMessageDialog(null,"La secuencia tiene " + sobrantes +" caracter(es) al final que no forman una tripleta y serán ignorados.","Advertencia", JOptionPane.WARNING_MESSAGE);
-                break;
+        int longitud = secuenciaADN.getLongitud();
+        if (longitud >= UMBRAL_PARALELO && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            construirTablaParalela(tabla, ForkJoinPool.getCommonPoolParallelism());
+            return;
+        }
+        contarPatrones(tabla, 0, longitud - longitud % tabla.getK());
+        tabla.compactar();
+        advertirSobrantes(longitud, tabla.getK());
+    }
+
+    /**
+     * Construye la tabla en paralelo con un ForkJoinPool.
+     * La secuencia se divide en partes alineadas al largo de los patrones; cada parte se cuenta en su propia
+     * tabla y al final las tablas parciales se fusionan en orden, así las posiciones quedan
+     * ordenadas y el resultado es idéntico al de la construcción secuencial.
+     *
+     * @param tabla Hashtable donde se almacenarán las tripletas y posiciones.
+     * @param hilos Cantidad de hilos a usar.
+     */
+    public void construirTablaParalela(Hashtable tabla, int hilos) {
+        int longitud = secuenciaADN.getLongitud();
+        int k = tabla.getK();
+        int patrones = longitud / k;
+        int partes = Math.max(1, Math.min(patrones, hilos * PARTES_POR_HILO));
+        Hashtable[] parciales = new Hashtable[partes];
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, hilos));
+        try {
+            pool.submit(() -> IntStream.range(0, partes).parallel().forEach(parte -> {
+                // Límites en patrones, convertidos a posiciones para que queden alineados
+                int desde = (int) ((long) patrones * parte / partes) * k;
+                int hasta = (int) ((long) patrones * (parte + 1) / partes) * k;
+                Hashtable parcial = new Hashtable(k);
+                contarPatrones(parcial, desde, hasta);
+                parciales[parte] = parcial;
+            })).get();
+            pool.submit(() -> tabla.fusionar(parciales)).get();
+            pool.submit(tabla::compactar).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Construcción de la tabla interrumpida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                throw (CancellationException) e.getCause();
             }
+            throw new IllegalStateException("Error construyendo la tabla: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        advertirSobrantes(longitud, k);
+    }
+
+    /**
+     * Inserta en la tabla los patrones que empiezan entre dos posiciones alineadas al k de la tabla.
+     *
+     * @param tabla Hashtable donde se insertan los patrones.
+     * @param desde Posición inicial (múltiplo de k).
+     * @param hasta Posición final, excluida (múltiplo de k).
+     * @throws CancellationException Si el oyente pide cancelar durante la construcción.
+     */
+    private void contarPatrones(Hashtable tabla, int desde, int hasta) {
+        int k = tabla.getK();
+        int contador = 0;
+        for (int i = desde; i < hasta; i += k) {
+            if (++contador == INTERVALO_CANCELACION) {
+                contador = 0;
+                if (oyente.cancelado()) {
+                    throw new CancellationException("Construcción de la tabla cancelada.");
+                }
+            }
+            if (k == 3) {
+                tabla.insertar(secuenciaADN.codonAt(i), i);
+            } else {
+                tabla.insertar(secuenciaADN.kmerAt(i, k), i);
+            }
+        }
+    }
+
+    /**
+     * Muestra una advertencia si al final de la secuencia quedan caracteres que no forman un patrón completo.
+     *
+     * @param longitud Longitud de la secuencia.
+     * @param k Largo de los patrones.
+     */
+    private void advertirSobrantes(int longitud, int k) {
+        int sobrantes = longitud % k;
+        if (sobrantes != 0) {
+            String patron = k == 3 ? "una tripleta" : "un patrón de " + k + " bases";
+            oyente.advertencia("La secuencia tiene " + sobrantes +" caracter(es) al final que no forman " + patron + " y serán ignorados.");
         }
     }
     
+    /**
+     * Construye en un solo recorrido las tablas de tripletas de los tres marcos de lectura.
+     * El marco 0 coincide con la tabla de construirTabla; los marcos 1 y 2 empiezan en la segunda y tercera base.
+     *
+     * @return Arreglo con las tres tablas, en el orden de los marcos.
+     */
+    public Hashtable[] construirTablasMarcos() {
+        Hashtable[] marcos = {new Hashtable(), new Hashtable(), new Hashtable()};
+        EscanerKmers.contarMarcos(secuenciaADN, marcos);
+        return marcos;
+    }
+
+    /**
+     * Llena una tabla con todos los patrones solapados (uno por cada posición de la secuencia) en un solo recorrido.
+     *
+     * @param tabla Hashtable donde se almacenarán los patrones; su k define el largo de los patrones.
+     */
+    public void construirTablaSolapada(Hashtable tabla) {
+        EscanerKmers.contarSolapados(secuenciaADN, tabla);
+    }
+    
     /**
      * Llena el árbol AVL con los patrones y posiciones extraídos de la tabla hash.
      * Permite ordenar y buscar patrones por frecuencia de manera eficiente.
+     * Si el árbol está vacío se arma de una vez a partir de los patrones ordenados por frecuencia
+     * (ordenamiento en paralelo y armado en O(n)); si no, se insertan uno por uno.
      *
      * @param tabla Hashtable con los patrones y posiciones.
      * @param arbol Árbol AVL que será llenado con los datos de la tabla.
      */
     public void construirArbol(Hashtable tabla, ArbolBB arbol) {
-        ListaSimple<NodoArbol>patrones=tabla.obtenerPatrones();
-        NodoSimple<NodoArbol>aux=patrones.getFirst();
-        while (aux!=null) {
-            String patron=aux.getData().getPatron();
-            ListaSimple<Integer>posiciones=aux.getData().getPosiciones();
-            arbol.insertar(patron, posiciones);
-            aux=aux.getNext();
+        if (arbol.esVacio()) {
+            arbol.construirDesdeOrdenados(tabla.obtenerPatronesPorFrecuencia());
+            return;
+        }
+        for (NodoArbol nodo : tabla) {
+            arbol.insertar(nodo.getPatron(), nodo.getPosiciones());
         }
     }
     
@@ -105,87 +360,62 @@ public class ProcesadorArchivo {
      * Genera un reporte con la información de los aminoácidos, mostrando
      * para cada uno las tripletas que lo forman y la frecuencia de cada tripleta.
      * Incluye una sección especial para tripletas de inicio, STOP e inválidas.
+     * Se calcula a partir de las 64 frecuencias de tripletas (ver ResumenAminoacidos),
+     * así que su costo no depende del largo de la secuencia.
      *
      * @param tabla Hashtable con los patrones de ADN.
      * @return ListaSimple de Strings con el reporte por aminoácido.
      */
     public ListaSimple<String> generarReporteAminoacidos(Hashtable tabla) {
         ListaSimple<String> reporte = new ListaSimple<>();
-        int totalSTOP = 0;
-        int totalInicio = 0;
-        int totalInvalidos = 0;
-
-        // Mapa personalizado para aminoácidos
-        ListaSimple<AminoAcidoInfo> aminoAcidosList = new ListaSimple<>();
-
-        // Recorrer todos los patrones
-        ListaSimple<NodoArbol> patrones = tabla.obtenerPatrones();
-        NodoSimple<NodoArbol> actual = patrones.getFirst();
-
-        while (actual != null) {
-            String tripleta = actual.getData().getPatron();
-            String aminoacido = TraductorAminoacidos.traducir(tripleta);
-            int frecuencia = actual.getData().getFrecuencias();
-
-            // Contar tipos especiales
-            if (aminoacido.startsWith("STOP")) totalSTOP += frecuencia;
-            else if (aminoacido.contains("Inicio")) totalInicio += frecuencia;
-            else if (aminoacido.equals("Tripleta inválida")) totalInvalidos += frecuencia;
-
-            // Buscar aminoácido en la lista
-            AminoAcidoInfo info = buscarAminoAcidoInfo(aminoAcidosList, aminoacido);
-
-            if (info == null) {
-                info = new AminoAcidoInfo(aminoacido);
-                aminoAcidosList.insertarAlFinal(info);
-            }
+        ResumenAminoacidos resumen = ResumenAminoacidos.de(tabla);
 
-            info.agregarTripleta(tripleta, frecuencia);
-            actual = actual.getNext();
-        }
-
-        // Generar reporte principal
-        NodoSimple<AminoAcidoInfo> aminoActual = aminoAcidosList.getFirst();
-        while (aminoActual != null) {
-            AminoAcidoInfo info = aminoActual.getData();
-            if (!info.nombre.startsWith("STOP") && !info.nombre.contains("Inicio")) {
-                reporte.insertarAlFinal(info.generarLineaReporte());
+        // Reporte principal; las tripletas de inicio y STOP van en la sección especial
+        for (int i = 0; i < resumen.getCantidad(); i++) {
+            Aminoacido aminoacido = resumen.get(i);
+            if (aminoacido.getTipo() != Aminoacido.Tipo.STOP && aminoacido.getTipo() != Aminoacido.Tipo.INICIO) {
+                reporte.insertarAlFinal(resumen.getInfo(aminoacido).generarLineaReporte());
             }
-            aminoActual = aminoActual.getNext();
         }
 
         // Agregar sección especial
         reporte.insertarAlFinal("\n--- TRIPLETAS ESPECIALES ---");
-        reporte.insertarAlFinal("Metionina (Inicio): " + totalInicio + " ocurrencias");
-        reporte.insertarAlFinal("STOP (Total): " + totalSTOP + " ocurrencias");
-        reporte.insertarAlFinal("Tripletas inválidas: " + totalInvalidos + " ocurrencias");
+        reporte.insertarAlFinal("Metionina (Inicio): " + resumen.getTotal(Aminoacido.Tipo.INICIO) + " ocurrencias");
+        reporte.insertarAlFinal("STOP (Total): " + resumen.getTotal(Aminoacido.Tipo.STOP) + " ocurrencias");
+        reporte.insertarAlFinal("Tripletas inválidas: " + resumen.getTotal(Aminoacido.Tipo.INVALIDO) + " ocurrencias");
 
         return reporte;
     }
-    
+
     /**
-     * Busca un aminoácido por su nombre en una lista de AminoAcidoInfo.
+     * Agrupa las tripletas de la tabla por el aminoácido que codifican, sumando sus frecuencias.
+     * Los aminoácidos quedan en el orden de su primera tripleta por código
+     * (incluye los grupos de STOP e inicio).
      *
-     * @param lista Lista de objetos AminoAcidoInfo.
-     * @param nombre Nombre del aminoácido a buscar.
-     * @return Objeto AminoAcidoInfo correspondiente, o null si no está en la lista.
+     * @param tabla Hashtable con los patrones de ADN.
+     * @return ListaSimple con un AminoAcidoInfo por aminoácido.
      */
-    private AminoAcidoInfo buscarAminoAcidoInfo(ListaSimple<AminoAcidoInfo> lista, String nombre) {
-        NodoSimple<AminoAcidoInfo> actual = lista.getFirst();
-        while (actual != null) {
-            if (actual.getData().nombre.equals(nombre)) {
-                return actual.getData();
-            }
-            actual = actual.getNext();
-        }
-        return null;
+    public ListaSimple<AminoAcidoInfo> agruparAminoacidos(Hashtable tabla) {
+        return ResumenAminoacidos.de(tabla).agrupar();
     }
     
     /**
-    * Getter
+    * Getters
     */
-    public String getSecuenciaADN() {
+    public SecuenciaEmpaquetada getSecuenciaADN() {
         return secuenciaADN;
     }
+
+    public double getMegabytesPorSegundo() {
+        return megabytesPorSegundo;
+    }
+
+    public OyenteProcesamiento getOyente() {
+        return oyente;
+    }
+
+    public void setOyente(OyenteProcesamiento oyente) {
+        this.oyente = oyente;
+    }
            
 }
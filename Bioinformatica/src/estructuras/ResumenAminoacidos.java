@@ -0,0 +1,126 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+/**
+ * Frecuencias de los aminoácidos calculadas a partir de las 64 frecuencias de tripletas.
+ * Todo se guarda en arreglos de tamaño fijo: uno por código de tripleta y otro por ordinal de Aminoacido,
+ * así que armar el resumen cuesta lo mismo sin importar el largo de la secuencia y no compara textos.
+ * Los aminoácidos quedan en el orden de su primera tripleta (el orden de los cubos de la tabla con k=3).
+ *
+ * @author Luis Peña
+ */
+public class ResumenAminoacidos {
+    private static final Aminoacido[] AMINOACIDOS = Aminoacido.values();
+    private static final String[] TRIPLETAS = new String[64]; // Texto de cada tripleta, creado una sola vez
+
+    private final int[] frecuenciasTripletas;                          // Por código de tripleta
+    private final int[] frecuencias = new int[AMINOACIDOS.length];     // Por ordinal de aminoácido
+    private final int[] totalesPorTipo = new int[Aminoacido.Tipo.values().length];
+    private final Aminoacido[] orden = new Aminoacido[AMINOACIDOS.length]; // Aminoácidos presentes, en orden
+    private int cantidad;
+
+    static {
+        for (int i = 0; i < TRIPLETAS.length; i++) {
+            TRIPLETAS[i] = SecuenciaEmpaquetada.decodificar(i, 3);
+        }
+    }
+
+    /**
+     * Constructor. Agrupa las frecuencias de las tripletas por aminoácido.
+     *
+     * @param frecuenciasTripletas Arreglo de 64 frecuencias indexado por código (como el de Hashtable.contarTripletas()).
+     * @throws IllegalArgumentException Si el arreglo no tiene 64 elementos.
+     */
+    public ResumenAminoacidos(int[] frecuenciasTripletas) {
+        if (frecuenciasTripletas.length != 64) {
+            throw new IllegalArgumentException("Se esperaban 64 frecuencias de tripletas.");
+        }
+        this.frecuenciasTripletas = frecuenciasTripletas.clone();
+        for (int codigo = 0; codigo < 64; codigo++) {
+            int frecuencia = this.frecuenciasTripletas[codigo];
+            if (frecuencia == 0) {
+                continue;
+            }
+            Aminoacido aminoacido = TraductorAminoacidos.traducir(codigo);
+            int ordinal = aminoacido.ordinal();
+            if (frecuencias[ordinal] == 0) {
+                orden[cantidad++] = aminoacido;
+            }
+            frecuencias[ordinal] += frecuencia;
+            totalesPorTipo[aminoacido.getTipo().ordinal()] += frecuencia;
+        }
+    }
+
+    /**
+     * Arma el resumen de los patrones de una tabla.
+     *
+     * @param tabla Hashtable con los patrones de ADN.
+     * @return Resumen de sus aminoácidos.
+     */
+    public static ResumenAminoacidos de(Hashtable tabla) {
+        return new ResumenAminoacidos(tabla.contarTripletas());
+    }
+
+    /**
+     * Frecuencia total de un aminoácido (la suma de sus tripletas).
+     */
+    public int getFrecuencia(Aminoacido aminoacido) {
+        return frecuencias[aminoacido.ordinal()];
+    }
+
+    /**
+     * Frecuencia total de todas las tripletas de un tipo (por ejemplo, todos los STOP).
+     */
+    public int getTotal(Aminoacido.Tipo tipo) {
+        return totalesPorTipo[tipo.ordinal()];
+    }
+
+    /**
+     * Cantidad de aminoácidos distintos que aparecen.
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Aminoácido presente en una posición del orden del reporte.
+     *
+     * @param i Posición, de 0 a getCantidad() - 1.
+     */
+    public Aminoacido get(int i) {
+        return orden[i];
+    }
+
+    /**
+     * Arma la información de un aminoácido para el reporte: sus tripletas presentes (en orden de código)
+     * y su frecuencia total.
+     *
+     * @param aminoacido Aminoácido a describir.
+     * @return AminoAcidoInfo del aminoácido.
+     */
+    public AminoAcidoInfo getInfo(Aminoacido aminoacido) {
+        AminoAcidoInfo info = new AminoAcidoInfo(aminoacido.getNombre());
+        for (int codigo = 0; codigo < 64; codigo++) {
+            if (frecuenciasTripletas[codigo] != 0 && TraductorAminoacidos.traducir(codigo) == aminoacido) {
+                info.agregarTripleta(TRIPLETAS[codigo], frecuenciasTripletas[codigo]);
+            }
+        }
+        return info;
+    }
+
+    /**
+     * Arma la información de todos los aminoácidos presentes, en el orden del reporte.
+     *
+     * @return ListaSimple con un AminoAcidoInfo por aminoácido.
+     */
+    public ListaSimple<AminoAcidoInfo> agrupar() {
+        ListaSimple<AminoAcidoInfo> lista = new ListaSimple<>();
+        for (int i = 0; i < cantidad; i++) {
+            lista.insertarAlFinal(getInfo(orden[i]));
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+/**
+ * Secuencia de ADN empaquetada a 2 bits por base dentro de un arreglo de long (32 bases por long).
+ * Usa la misma codificación que la tabla hash: A=0, C=1, G=2, T=3.
+ * Cada long guarda las bases de la más significativa a la menos significativa, de modo que
+ * los k-mers contiguos se pueden extraer con desplazamientos y quedan codificados en base 4
+ * igual que en Hashtable.calcularIndice (la primera base es la de mayor peso).
+ *
+ * Permite acceso aleatorio, extracción de tripletas como entero (0-63) y vistas de sub-rangos
+ * que comparten el mismo arreglo sin copiarlo.
+ *
+ * @author Luis Mariano Lovera, Luis Peña
+ */
+public class SecuenciaEmpaquetada {
+    /** Bases en el orden de su código. */
+    public static final char[] BASES = {'A', 'C', 'G', 'T'};
+    private static final int BASES_POR_LONG = 32;
+
+    private long[] datos;
+    private int inicio;    // Desplazamiento de la vista dentro de datos (en bases)
+    private int longitud;  // Cantidad de bases visibles
+    private final boolean esVista;
+
+    /**
+     * Constructor que crea una secuencia vacía con capacidad para la cantidad de bases indicada.
+     *
+     * @param capacidad Cantidad de bases que se espera guardar (puede crecer después).
+     */
+    public SecuenciaEmpaquetada(int capacidad) {
+        this.datos = new long[Math.max(1, (int) (((long) capacidad + BASES_POR_LONG - 1) / BASES_POR_LONG))];
+        this.inicio = 0;
+        this.longitud = 0;
+        this.esVista = false;
+    }
+
+    /**
+     * Constructor que crea una secuencia vacía.
+     */
+    public SecuenciaEmpaquetada() {
+        this(BASES_POR_LONG);
+    }
+
+    /**
+     * Constructor que usa un arreglo ya empaquetado (por ejemplo, leído de una instantánea), sin copiarlo.
+     *
+     * @param datos Palabras con las bases empaquetadas desde la primera.
+     * @param longitud Cantidad de bases válidas.
+     * @throws IllegalArgumentException Si el arreglo no alcanza para la longitud indicada.
+     */
+    SecuenciaEmpaquetada(long[] datos, int longitud) {
+        if (longitud < 0 || ((long) longitud + BASES_POR_LONG - 1) / BASES_POR_LONG > datos.length) {
+            throw new IllegalArgumentException("El arreglo no alcanza para " + longitud + " bases.");
+        }
+        this.datos = datos.length == 0 ? new long[1] : datos;
+        this.inicio = 0;
+        this.longitud = longitud;
+        this.esVista = false;
+    }
+
+    /**
+     * Constructor privado para crear vistas que comparten el arreglo de datos.
+     */
+    private SecuenciaEmpaquetada(long[] datos, int inicio, int longitud) {
+        this.datos = datos;
+        this.inicio = inicio;
+        this.longitud = longitud;
+        this.esVista = true;
+    }
+
+    /**
+     * Convierte un carácter de nucleótido a su código de 2 bits.
+     *
+     * @param c Carácter de la base (A, C, G, T).
+     * @return 0 para A, 1 para C, 2 para G, 3 para T, o -1 si el carácter no es válido.
+     */
+    public static int codificarBase(int c) {
+        switch (c) {
+            case 'A': return 0;
+            case 'C': return 1;
+            case 'G': return 2;
+            case 'T': return 3;
+            default: return -1;
+        }
+    }
+
+    /**
+     * Convierte un k-mer codificado en base 4 de vuelta a texto.
+     *
+     * @param codigo Código del k-mer (la primera base en los bits más significativos).
+     * @param k Largo del k-mer.
+     * @return String con las k bases.
+     */
+    public static String decodificar(long codigo, int k) {
+        char[] letras = new char[k];
+        for (int i = k - 1; i >= 0; i--) {
+            letras[i] = BASES[(int) (codigo & 3)];
+            codigo >>>= 2;
+        }
+        return new String(letras);
+    }
+
+    /**
+     * Agrega una base al final de la secuencia, duplicando la capacidad si hace falta.
+     *
+     * @param codigo Código de la base (0 a 3).
+     * @throws IllegalStateException Si la secuencia es una vista de otra.
+     */
+    public void agregar(int codigo) {
+        if (esVista) {
+            throw new IllegalStateException("No se pueden agregar bases a una vista.");
+        }
+        int palabra = longitud >>> 5;
+        if (palabra == datos.length) {
+            long[] nuevo = new long[datos.length * 2];
+            System.arraycopy(datos, 0, nuevo, 0, datos.length);
+            datos = nuevo;
+        }
+        int desplazamiento = 62 - 2 * (longitud & 31);
+        datos[palabra] |= ((long) (codigo & 3)) << desplazamiento;
+        longitud++;
+    }
+
+    /**
+     * Obtiene el código (0 a 3) de la base en una posición.
+     *
+     * @param posicion Posición de la base dentro de la secuencia (o vista).
+     * @return Código de la base.
+     * @throws IndexOutOfBoundsException Si la posición está fuera de la secuencia.
+     */
+    public int codigoBase(int posicion) {
+        if (posicion < 0 || posicion >= longitud) {
+            throw new IndexOutOfBoundsException("Posición fuera de la secuencia: " + posicion);
+        }
+        int p = inicio + posicion;
+        return (int) (datos[p >>> 5] >>> (62 - 2 * (p & 31))) & 3;
+    }
+
+    /**
+     * Obtiene la base en una posición.
+     *
+     * @param posicion Posición de la base dentro de la secuencia (o vista).
+     * @return Carácter de la base (A, C, G o T).
+     */
+    public char baseAt(int posicion) {
+        return BASES[codigoBase(posicion)];
+    }
+
+    /**
+     * Extrae el k-mer que empieza en una posición, codificado en base 4 en un long.
+     * La primera base queda en los bits más significativos.
+     *
+     * @param posicion Posición inicial del k-mer.
+     * @param k Largo del k-mer (1 a 32).
+     * @return Código del k-mer.
+     * @throws IndexOutOfBoundsException Si el k-mer se sale de la secuencia.
+     */
+    public long kmerAt(int posicion, int k) {
+        if (k < 1 || k > BASES_POR_LONG) {
+            throw new IllegalArgumentException("El largo del k-mer debe estar entre 1 y 32.");
+        }
+        if (posicion < 0 || posicion + k > longitud) {
+            throw new IndexOutOfBoundsException("El k-mer se sale de la secuencia: " + posicion);
+        }
+        int p = inicio + posicion;
+        int palabra = p >>> 5;
+        int j = p & 31;
+        long mascara = k == BASES_POR_LONG ? -1L : (1L << (2 * k)) - 1;
+        if (j + k <= BASES_POR_LONG) {
+            return (datos[palabra] >>> (2 * (BASES_POR_LONG - j - k))) & mascara;
+        }
+        // El k-mer cruza dos palabras: se unen la parte baja de la primera y la alta de la segunda
+        int enPrimera = BASES_POR_LONG - j;
+        int enSegunda = k - enPrimera;
+        long alta = datos[palabra] & ((1L << (2 * enPrimera)) - 1);
+        long baja = datos[palabra + 1] >>> (2 * (BASES_POR_LONG - enSegunda));
+        return (alta << (2 * enSegunda)) | baja;
+    }
+
+    /**
+     * Extrae la tripleta que empieza en una posición como un entero entre 0 y 63.
+     * Usa la misma codificación que Hashtable y TraductorAminoacidos: (base1*16) + (base2*4) + base3.
+     *
+     * @param posicion Posición inicial de la tripleta.
+     * @return Código de la tripleta (0-63).
+     */
+    public int codonAt(int posicion) {
+        return (int) kmerAt(posicion, 3);
+    }
+
+    /**
+     * Crea una vista de un sub-rango de la secuencia sin copiar los datos.
+     *
+     * @param desde Posición inicial (incluida).
+     * @param hasta Posición final (excluida).
+     * @return Nueva SecuenciaEmpaquetada de solo lectura que comparte los datos.
+     * @throws IndexOutOfBoundsException Si el rango no es válido.
+     */
+    public SecuenciaEmpaquetada subSecuencia(int desde, int hasta) {
+        if (desde < 0 || hasta > longitud || desde > hasta) {
+            throw new IndexOutOfBoundsException("Rango inválido: [" + desde + ", " + hasta + ")");
+        }
+        return new SecuenciaEmpaquetada(datos, inicio + desde, hasta - desde);
+    }
+
+    /**
+     * Convierte un rango de la secuencia a texto.
+     *
+     * @param desde Posición inicial (incluida).
+     * @param hasta Posición final (excluida).
+     * @return String con las bases del rango.
+     */
+    public String extraer(int desde, int hasta) {
+        char[] letras = new char[hasta - desde];
+        for (int i = desde; i < hasta; i++) {
+            letras[i - desde] = baseAt(i);
+        }
+        return new String(letras);
+    }
+
+    /**
+     * Devuelve las palabras empaquetadas de la secuencia, empezando por su primera base.
+     * Solo las primeras (longitud + 31) / 32 palabras son significativas. Si la secuencia no es una vista
+     * que empieza a mitad de palabra, devuelve el arreglo interno sin copiarlo.
+     *
+     * @return Arreglo de palabras.
+     */
+    long[] getPalabras() {
+        if (inicio == 0) {
+            return datos;
+        }
+        long[] copia = new long[(longitud + BASES_POR_LONG - 1) / BASES_POR_LONG];
+        for (int w = 0; w < copia.length; w++) {
+            int desde = w * BASES_POR_LONG;
+            int cantidad = Math.min(BASES_POR_LONG, longitud - desde);
+            copia[w] = kmerAt(desde, cantidad) << (2 * (BASES_POR_LONG - cantidad));
+        }
+        return copia;
+    }
+
+    /**
+     * Memoria aproximada usada por los datos empaquetados.
+     *
+     * @return Cantidad de bytes del arreglo interno.
+     */
+    public long getBytesUsados() {
+        return (long) datos.length * Long.BYTES;
+    }
+
+    /**
+     * Devuelve la secuencia completa como texto.
+     *
+     * @return String con todas las bases.
+     */
+    @Override
+    public String toString() {
+        return extraer(0, longitud);
+    }
+
+    /**
+    * Getters
+    */
+    public int getLongitud() {
+        return longitud;
+    }
+
+    public boolean esVacia() {
+        return longitud == 0;
+    }
+}
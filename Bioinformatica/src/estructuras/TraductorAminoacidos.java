@@ -7,93 +7,94 @@ package estructuras;
 /**
  * Clase utilitaria para traducir tripletas de ADN a su respectivo aminoácido.
  * Usa una tabla estática para hacer la traducción rápida.
- * Ejemplo de uso: TraductorAminoacidos.traducir("ATG") devuelve "Metionina (Inicio)".
+ * Ejemplo de uso: TraductorAminoacidos.traducir("ATG") devuelve "Metionina (Inicio)",
+ * y TraductorAminoacidos.traducir(14) (el código de ATG) devuelve Aminoacido.METIONINA.
  *
  * @author Luis Peña
  */
 public class TraductorAminoacidos {
     // Tabla de traducción: índice = (base1*16) + (base2*4) + base3
-    private static final String[] AMINO_ACIDS = new String[64];
+    private static final Aminoacido[] AMINO_ACIDS = new Aminoacido[64];
     
     static {
         // Inicializar tabla estática de traducción
         // Primera base: U (T en ADN)
-        asignar("TTT", "Fenilalanina");
-        asignar("TTC", "Fenilalanina");
-        asignar("TTA", "Leucina");
-        asignar("TTG", "Leucina");
-        asignar("TCT", "Serina");
-        asignar("TCC", "Serina");
-        asignar("TCA", "Serina");
-        asignar("TCG", "Serina");
-        asignar("TAT", "Tirosina");
-        asignar("TAC", "Tirosina");
-        asignar("TAA", "STOP (Ocre)");
-        asignar("TAG", "STOP (Ámbar)");
-        asignar("TGT", "Cisteína");
-        asignar("TGC", "Cisteína");
-        asignar("TGA", "STOP (Ópalo)");
-        asignar("TGG", "Triptófano");
+        asignar("TTT", Aminoacido.FENILALANINA);
+        asignar("TTC", Aminoacido.FENILALANINA);
+        asignar("TTA", Aminoacido.LEUCINA);
+        asignar("TTG", Aminoacido.LEUCINA);
+        asignar("TCT", Aminoacido.SERINA);
+        asignar("TCC", Aminoacido.SERINA);
+        asignar("TCA", Aminoacido.SERINA);
+        asignar("TCG", Aminoacido.SERINA);
+        asignar("TAT", Aminoacido.TIROSINA);
+        asignar("TAC", Aminoacido.TIROSINA);
+        asignar("TAA", Aminoacido.STOP_OCRE);
+        asignar("TAG", Aminoacido.STOP_AMBAR);
+        asignar("TGT", Aminoacido.CISTEINA);
+        asignar("TGC", Aminoacido.CISTEINA);
+        asignar("TGA", Aminoacido.STOP_OPALO);
+        asignar("TGG", Aminoacido.TRIPTOFANO);
         // Segunda base: C
-        asignar("CTT", "Leucina");
-        asignar("CTC", "Leucina");
-        asignar("CTA", "Leucina");
-        asignar("CTG", "Leucina");
-        asignar("CCT", "Prolina");
-        asignar("CCC", "Prolina");
-        asignar("CCA", "Prolina");
-        asignar("CCG", "Prolina");
-        asignar("CAT", "Histidina");
-        asignar("CAC", "Histidina");
-        asignar("CAA", "Glutamina");
-        asignar("CAG", "Glutamina");
-        asignar("CGT", "Arginina");
-        asignar("CGC", "Arginina");
-        asignar("CGA", "Arginina");
-        asignar("CGG", "Arginina");
+        asignar("CTT", Aminoacido.LEUCINA);
+        asignar("CTC", Aminoacido.LEUCINA);
+        asignar("CTA", Aminoacido.LEUCINA);
+        asignar("CTG", Aminoacido.LEUCINA);
+        asignar("CCT", Aminoacido.PROLINA);
+        asignar("CCC", Aminoacido.PROLINA);
+        asignar("CCA", Aminoacido.PROLINA);
+        asignar("CCG", Aminoacido.PROLINA);
+        asignar("CAT", Aminoacido.HISTIDINA);
+        asignar("CAC", Aminoacido.HISTIDINA);
+        asignar("CAA", Aminoacido.GLUTAMINA);
+        asignar("CAG", Aminoacido.GLUTAMINA);
+        asignar("CGT", Aminoacido.ARGININA);
+        asignar("CGC", Aminoacido.ARGININA);
+        asignar("CGA", Aminoacido.ARGININA);
+        asignar("CGG", Aminoacido.ARGININA);
         // Segunda base: A
-        asignar("ATT", "Isoleucina");
-        asignar("ATC", "Isoleucina");
-        asignar("ATA", "Isoleucina");
-        asignar("ATG", "Metionina (Inicio)");  // Inicio
-        asignar("ACT", "Treonina");
-        asignar("ACC", "Treonina");
-        asignar("ACA", "Treonina");
-        asignar("ACG", "Treonina");
-        asignar("AAT", "Asparagina");
-        asignar("AAC", "Asparagina");
-        asignar("AAA", "Lisina");
-        asignar("AAG", "Lisina");
-        asignar("AGT", "Serina");
-        asignar("AGC", "Serina");
-        asignar("AGA", "Arginina");
-        asignar("AGG", "Arginina");
+        asignar("ATT", Aminoacido.ISOLEUCINA);
+        asignar("ATC", Aminoacido.ISOLEUCINA);
+        asignar("ATA", Aminoacido.ISOLEUCINA);
+        asignar("ATG", Aminoacido.METIONINA);  // Inicio
+        asignar("ACT", Aminoacido.TREONINA);
+        asignar("ACC", Aminoacido.TREONINA);
+        asignar("ACA", Aminoacido.TREONINA);
+        asignar("ACG", Aminoacido.TREONINA);
+        asignar("AAT", Aminoacido.ASPARAGINA);
+        asignar("AAC", Aminoacido.ASPARAGINA);
+        asignar("AAA", Aminoacido.LISINA);
+        asignar("AAG", Aminoacido.LISINA);
+        asignar("AGT", Aminoacido.SERINA);
+        asignar("AGC", Aminoacido.SERINA);
+        asignar("AGA", Aminoacido.ARGININA);
+        asignar("AGG", Aminoacido.ARGININA);
         // Segunda base: G
-        asignar("GTT", "Valina");
-        asignar("GTC", "Valina");
-        asignar("GTA", "Valina");
-        asignar("GTG", "Valina");
-        asignar("GCT", "Alanina");
-        asignar("GCC", "Alanina");
-        asignar("GCA", "Alanina");
-        asignar("GCG", "Alanina");
-        asignar("GAT", "Ácido Aspártico");
-        asignar("GAC", "Ácido Aspártico");
-        asignar("GAA", "Ácido Glutámico");
-        asignar("GAG", "Ácido Glutámico");
-        asignar("GGT", "Glicina");
-        asignar("GGC", "Glicina");
-        asignar("GGA", "Glicina");
-        asignar("GGG", "Glicina");
+        asignar("GTT", Aminoacido.VALINA);
+        asignar("GTC", Aminoacido.VALINA);
+        asignar("GTA", Aminoacido.VALINA);
+        asignar("GTG", Aminoacido.VALINA);
+        asignar("GCT", Aminoacido.ALANINA);
+        asignar("GCC", Aminoacido.ALANINA);
+        asignar("GCA", Aminoacido.ALANINA);
+        asignar("GCG", Aminoacido.ALANINA);
+        asignar("GAT", Aminoacido.ACIDO_ASPARTICO);
+        asignar("GAC", Aminoacido.ACIDO_ASPARTICO);
+        asignar("GAA", Aminoacido.ACIDO_GLUTAMICO);
+        asignar("GAG", Aminoacido.ACIDO_GLUTAMICO);
+        asignar("GGT", Aminoacido.GLICINA);
+        asignar("GGC", Aminoacido.GLICINA);
+        asignar("GGA", Aminoacido.GLICINA);
+        asignar("GGG", Aminoacido.GLICINA);
     }
     
     /**
      * Asigna un aminoácido a una tripleta específica en la tabla.
      * 
      * @param adnTriplet Tripleta de ADN (String, por ejemplo "ATG").
-     * @param aminoAcid Nombre del aminoácido correspondiente.
+     * @param aminoAcid Aminoácido correspondiente.
      */
-    private static void asignar(String adnTriplet, String aminoAcid) {
+    private static void asignar(String adnTriplet, Aminoacido aminoAcid) {
         int index = calcularIndice(adnTriplet);
         if (index >= 0 && index < 64) {
             AMINO_ACIDS[index] = aminoAcid;
@@ -108,13 +109,13 @@ public class TraductorAminoacidos {
      * @return Índice (0-63) correspondiente a esa tripleta, o -1 si es inválida.
      */
     private static int calcularIndice(String adnTriplet) {
-        char base0 = adnTriplet.charAt(0);
-        char base1 = adnTriplet.charAt(1);
-        char base2 = adnTriplet.charAt(2);
-
-        return baseToInt(base0) * 16 + 
-               baseToInt(base1) * 4 + 
-               baseToInt(base2);
+        int base0 = baseToInt(adnTriplet.charAt(0));
+        int base1 = baseToInt(adnTriplet.charAt(1));
+        int base2 = baseToInt(adnTriplet.charAt(2));
+        if (base0 < 0 || base1 < 0 || base2 < 0) {
+            return -1;
+        }
+        return base0 * 16 + base1 * 4 + base2;
     }
     
     /**
@@ -141,7 +142,17 @@ public class TraductorAminoacidos {
      */
     public static String traducir(String adnTriplet) {
         int index = calcularIndice(adnTriplet);
-        return index >= 0 && index < 64 ? AMINO_ACIDS[index] : "Tripleta inválida";
+        return index >= 0 && index < 64 ? AMINO_ACIDS[index].getNombre() : Aminoacido.INVALIDO.getNombre();
+    }
+
+    /**
+     * Traduce una tripleta ya codificada, sin pasar por su texto.
+     *
+     * @param codigo Código de la tripleta: (base1*16) + (base2*4) + base3.
+     * @return Aminoácido de la tripleta, o Aminoacido.INVALIDO si el código está fuera de 0-63.
+     */
+    public static Aminoacido traducir(int codigo) {
+        return codigo >= 0 && codigo < 64 ? AMINO_ACIDS[codigo] : Aminoacido.INVALIDO;
     }
 }
 
@@ -0,0 +1,273 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Traduce en bloque una secuencia empaquetada a proteínas, con un byte por aminoácido (su letra, ver
+ * Aminoacido.getLetra()). Cada tripleta se arma como código (0-63) leyendo las palabras de la secuencia
+ * y se traduce con una tabla de 64 bytes, sin crear textos ni pasar por los nombres de TraductorAminoacidos.
+ *
+ * Los marcos se numeran como en MarcoAbierto: 0, 1 y 2 en la hebra directa (la primera tripleta empieza en esa base)
+ * y 0, 1 y 2 en la hebra inversa contando desde el final de la secuencia. La hebra inversa no se arma:
+ * se leen las tripletas de la directa de atrás hacia adelante y se traducen con una segunda tabla
+ * que ya tiene la letra de la complementaria inversa de cada código.
+ *
+ * Las tripletas de un marco se reparten en partes que se traducen en paralelo, cada una en su tramo del destino.
+ * Para no tener la proteína entera en memoria, escribir() traduce de a bloques en un mismo arreglo
+ * y los va volcando en formato FASTA.
+ *
+ * @author Luis Peña, Diego Linares
+ */
+public class TraductorProteinas {
+    /** Aminoácidos por línea en la salida FASTA. */
+    public static final int LARGO_LINEA = 60;
+    private static final byte[] LETRAS = new byte[64];
+    private static final byte[] LETRAS_INVERSO = new byte[64]; // Letra de la complementaria inversa de cada código
+    private static final int MINIMO_POR_PARTE = 1 << 16; // Tripletas mínimas por parte
+    private static final int PARTES_POR_HILO = 4;
+    private static final int TRIPLETAS_POR_BLOQUE = 1 << 22; // Tamaño del bloque de escribir()
+
+    private long basesTraducidas; // Datos de la última traducción, para informar la velocidad
+    private long nanosUltimaTraduccion;
+
+    static {
+        for (int codigo = 0; codigo < 64; codigo++) {
+            LETRAS[codigo] = (byte) TraductorAminoacidos.traducir(codigo).getLetra();
+        }
+        for (int codigo = 0; codigo < 64; codigo++) {
+            int complementaria = ((3 - (codigo & 3)) << 4) | ((3 - ((codigo >> 2) & 3)) << 2) | (3 - (codigo >> 4));
+            LETRAS_INVERSO[codigo] = LETRAS[complementaria];
+        }
+    }
+
+    /**
+     * Cantidad de aminoácidos (tripletas completas) de un marco.
+     *
+     * @param longitud Largo de la secuencia en bases.
+     * @param marco Marco (0, 1 o 2), en cualquiera de las dos hebras.
+     * @return Cantidad de tripletas que entran desde la base marco.
+     */
+    public static int getCantidadTripletas(int longitud, int marco) {
+        return Math.max(0, (longitud - marco) / 3);
+    }
+
+    /**
+     * Traduce un marco completo usando todos los procesadores.
+     *
+     * @param secuencia Secuencia a traducir.
+     * @param marco Marco (0, 1 o 2).
+     * @param inverso true para la hebra inversa (complementaria).
+     * @return Un byte por aminoácido, en el sentido de la hebra.
+     */
+    public byte[] traducir(SecuenciaEmpaquetada secuencia, int marco, boolean inverso) {
+        return traducir(secuencia, marco, inverso, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Traduce un marco completo en paralelo con un ForkJoinPool.
+     *
+     * @param secuencia Secuencia a traducir.
+     * @param marco Marco (0, 1 o 2).
+     * @param inverso true para la hebra inversa (complementaria).
+     * @param hilos Cantidad de hilos a usar.
+     * @return Un byte por aminoácido, en el sentido de la hebra.
+     */
+    public byte[] traducir(SecuenciaEmpaquetada secuencia, int marco, boolean inverso, int hilos) {
+        int cantidad = getCantidadTripletas(secuencia.getLongitud(), validarMarco(marco));
+        byte[] proteina = new byte[cantidad];
+        traducir(secuencia, marco, inverso, 0, cantidad, proteina, 0, hilos);
+        return proteina;
+    }
+
+    /**
+     * Traduce las tripletas [desde, hasta) de un marco en un arreglo dado, en paralelo con un ForkJoinPool.
+     * Sirve para traducir una secuencia grande de a tramos reusando el mismo arreglo.
+     *
+     * @param secuencia Secuencia a traducir.
+     * @param marco Marco (0, 1 o 2).
+     * @param inverso true para la hebra inversa (complementaria).
+     * @param desde Primera tripleta del marco a traducir (contando en el sentido de la hebra).
+     * @param hasta Tripleta siguiente a la última.
+     * @param destino Arreglo donde se escriben las letras.
+     * @param desplazamiento Posición de destino donde se escribe la tripleta desde.
+     * @param hilos Cantidad de hilos a usar.
+     * @throws IllegalArgumentException Si el marco o el tramo no son válidos.
+     */
+    public void traducir(SecuenciaEmpaquetada secuencia, int marco, boolean inverso, int desde, int hasta,
+            byte[] destino, int desplazamiento, int hilos) {
+        long inicio = System.nanoTime();
+        int cantidad = getCantidadTripletas(secuencia.getLongitud(), validarMarco(marco));
+        if (desde < 0 || hasta > cantidad || desde > hasta) {
+            throw new IllegalArgumentException("Tramo inválido [" + desde + ", " + hasta + ") en un marco de " + cantidad + " tripletas.");
+        }
+        if (desplazamiento < 0 || desplazamiento + (hasta - desde) > destino.length) {
+            throw new IllegalArgumentException("El destino no tiene lugar para " + (hasta - desde) + " aminoácidos.");
+        }
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, hilos));
+        try {
+            traducirEnPool(pool, hilos, secuencia, marco, inverso, desde, hasta, destino, desplazamiento);
+        } finally {
+            pool.shutdown();
+        }
+        basesTraducidas = 3L * (hasta - desde);
+        nanosUltimaTraduccion = System.nanoTime() - inicio;
+    }
+
+    /**
+     * Traduce la secuencia y la escribe en formato FASTA: un registro por marco ("&gt;nombre marco +1" a "-3")
+     * con LARGO_LINEA aminoácidos por línea. Se traduce de a bloques en paralelo y cada bloque se escribe
+     * antes de traducir el siguiente, así la memoria usada no depende del largo de la secuencia.
+     * La salida no se cierra; conviene que tenga buffer.
+     *
+     * @param secuencia Secuencia a traducir.
+     * @param nombre Nombre de la secuencia para los encabezados.
+     * @param salida Flujo donde se escribe.
+     * @param seisMarcos true para escribir también los 3 marcos de la hebra inversa.
+     * @param hilos Cantidad de hilos a usar.
+     * @return Cantidad de aminoácidos escritos (en todos los marcos).
+     * @throws IOException Si la salida no se puede escribir.
+     */
+    public long escribir(SecuenciaEmpaquetada secuencia, String nombre, OutputStream salida, boolean seisMarcos, int hilos)
+            throws IOException {
+        long inicio = System.nanoTime();
+        int longitud = secuencia.getLongitud();
+        byte[] bloque = new byte[Math.min(TRIPLETAS_POR_BLOQUE, getCantidadTripletas(longitud, 0))];
+        long escritos = 0;
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, hilos));
+        try {
+            for (int hebra = 0; hebra < (seisMarcos ? 2 : 1); hebra++) {
+                boolean inverso = hebra == 1;
+                for (int marco = 0; marco < 3; marco++) {
+                    String encabezado = ">" + nombre + " marco " + (inverso ? "-" : "+") + (marco + 1) + "\n";
+                    salida.write(encabezado.getBytes(StandardCharsets.UTF_8));
+                    int cantidad = getCantidadTripletas(longitud, marco);
+                    int columna = 0;
+                    for (int desde = 0; desde < cantidad; desde += bloque.length) {
+                        int hasta = Math.min(cantidad, desde + bloque.length);
+                        traducirEnPool(pool, hilos, secuencia, marco, inverso, desde, hasta, bloque, 0);
+                        // Las líneas siguen de un bloque al otro
+                        for (int i = 0; i < hasta - desde; ) {
+                            int tramo = Math.min(hasta - desde - i, LARGO_LINEA - columna);
+                            salida.write(bloque, i, tramo);
+                            i += tramo;
+                            columna += tramo;
+                            if (columna == LARGO_LINEA) {
+                                salida.write('\n');
+                                columna = 0;
+                            }
+                        }
+                    }
+                    if (columna > 0) {
+                        salida.write('\n');
+                    }
+                    escritos += cantidad;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        salida.flush();
+        basesTraducidas = 3 * escritos;
+        nanosUltimaTraduccion = System.nanoTime() - inicio;
+        return escritos;
+    }
+
+    /**
+     * Reparte las tripletas [desde, hasta) en partes y las traduce en el pool dado.
+     */
+    private void traducirEnPool(ForkJoinPool pool, int hilos, SecuenciaEmpaquetada secuencia, int marco, boolean inverso,
+            int desde, int hasta, byte[] destino, int desplazamiento) {
+        int longitud = secuencia.getLongitud();
+        long[] palabras = secuencia.getPalabras();
+        int cantidad = hasta - desde;
+        int partes = (int) Math.max(1, Math.min((long) Math.max(1, hilos) * PARTES_POR_HILO, cantidad / MINIMO_POR_PARTE));
+        try {
+            pool.submit(() -> IntStream.range(0, partes).parallel().forEach(parte -> {
+                int primera = desde + (int) ((long) cantidad * parte / partes);
+                int ultima = desde + (int) ((long) cantidad * (parte + 1) / partes); // Exclusiva
+                if (primera == ultima) {
+                    return;
+                }
+                if (inverso) {
+                    // La tripleta j de la hebra inversa es la complementaria de la que empieza en longitud - 3 - marco - 3j
+                    int base = longitud - 3 - marco - 3 * (ultima - 1);
+                    recorrer(palabras, base, ultima - primera, LETRAS_INVERSO, destino, desplazamiento + (ultima - 1 - desde), -1);
+                } else {
+                    recorrer(palabras, marco + 3 * primera, ultima - primera, LETRAS, destino, desplazamiento + (primera - desde), 1);
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Traducción interrumpida.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error traduciendo la secuencia: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Traduce cantidad tripletas consecutivas de la hebra directa desde la base indicada, leyendo de a una palabra.
+     * Cada letra se escribe en destino[posicion] y posicion avanza de a paso (-1 para la hebra inversa).
+     */
+    private static void recorrer(long[] palabras, int base, int cantidad, byte[] tabla, byte[] destino, int posicion, int paso) {
+        int codigo = 0;
+        int leidas = 0; // Bases leídas de la tripleta actual
+        int i = base;
+        int ultima = base + 3 * cantidad;
+        while (i < ultima) {
+            long palabra = palabras[i >>> 5] << (2 * (i & 31)); // Base i en los 2 bits más altos
+            int finPalabra = Math.min(ultima, (i | 31) + 1);
+            for (; i < finPalabra; i++, palabra <<= 2) {
+                codigo = (codigo << 2) | (int) (palabra >>> 62);
+                if (++leidas == 3) {
+                    destino[posicion] = tabla[codigo];
+                    posicion += paso;
+                    codigo = 0;
+                    leidas = 0;
+                }
+            }
+        }
+    }
+
+    private static int validarMarco(int marco) {
+        if (marco < 0 || marco > 2) {
+            throw new IllegalArgumentException("El marco debe ser 0, 1 o 2.");
+        }
+        return marco;
+    }
+
+    /**
+     * Letra de una tripleta.
+     *
+     * @param codigo Código de la tripleta (0-63).
+     * @param inverso true para la letra de su complementaria inversa.
+     * @return Letra del aminoácido como byte ASCII.
+     */
+    public static byte letra(int codigo, boolean inverso) {
+        return (inverso ? LETRAS_INVERSO : LETRAS)[codigo];
+    }
+
+    /**
+     * Velocidad de la última traducción.
+     *
+     * @return Millones de bases traducidas por segundo (0 si todavía no se tradujo).
+     */
+    public double getMegabasesPorSegundo() {
+        return nanosUltimaTraduccion == 0 ? 0 : basesTraducidas * 1e3 / nanosUltimaTraduccion;
+    }
+
+    /**
+     * Getters
+     */
+    public long getNanosUltimaTraduccion() {
+        return nanosUltimaTraduccion;
+    }
+}
@@ -6,13 +6,23 @@ package gui;
 
 import estructuras.Hashtable;
 import estructuras.ArbolBB;
+import estructuras.CacheReportes;
+import estructuras.ExportadorReportes;
+import estructuras.ListaPosiciones;
 import estructuras.NodoArbol;
-import estructuras.ListaSimple;
-import estructuras.NodoSimple;
 import estructuras.ProcesadorArchivo;
+import estructuras.SecuenciaEmpaquetada;
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Ventana principal del sistema de análisis y visualización de secuencias de ADN.
@@ -26,13 +36,16 @@ public class Interfaz1 extends javax.swing.JFrame {
     private Hashtable tabla;
     private ArbolBB arbol;
     private boolean datosCargados;
+    private CargaArchivo cargaActual; // Carga en segundo plano en curso, o null
+    private File archivoCargado;      // Archivo de los datos cargados, para nombrar las exportaciones
+    private final CacheReportes cacheReportes = new CacheReportes(); // Reportes ya mostrados de los datos actuales
 
     /*
      * Creates new form Interfaz1
      */
     public Interfaz1() {
         initComponents();
-        procesador = new ProcesadorArchivo();
+        procesador = new ProcesadorArchivo(new OyenteDialogos(this));
         tabla = new Hashtable();
         arbol = new ArbolBB();
         datosCargados=false;
@@ -51,6 +64,8 @@ public class Interfaz1 extends javax.swing.JFrame {
         cargarArchivo = new javax.swing.JButton();
         jLabel1 = new javax.swing.JLabel();
         jLabel2 = new javax.swing.JLabel();
+        barraProgreso = new javax.swing.JProgressBar();
+        cancelarCarga = new javax.swing.JButton();
         btnBuscarPatrones = new javax.swing.JButton();
         jSeparator2 = new javax.swing.JSeparator();
         jScrollPane2 = new javax.swing.JScrollPane();
@@ -76,6 +91,7 @@ public class Interfaz1 extends javax.swing.JFrame {
         jScrollPane7 = new javax.swing.JScrollPane();
         verReporteColision = new javax.swing.JTextArea();
         mostrarPatrones = new javax.swing.JButton();
+        exportarReportes = new javax.swing.JButton();
         jSeparator3 = new javax.swing.JSeparator();
         jLabel12 = new javax.swing.JLabel();
         jSeparator4 = new javax.swing.JSeparator();
@@ -107,6 +123,21 @@ public class Interfaz1 extends javax.swing.JFrame {
         jLabel2.setText("Presione el botón para cargar el archivo con la información relativa a la secuencia de ADN");
         jPanel1.add(jLabel2, new org.netbeans.lib.awtextra.AbsoluteConstraints(150, 60, -1, -1));
 
+        barraProgreso.setStringPainted(true);
+        barraProgreso.setString("");
+        jPanel1.add(barraProgreso, new org.netbeans.lib.awtextra.AbsoluteConstraints(150, 82, 620, 12));
+
+        cancelarCarga.setBackground(new java.awt.Color(255, 204, 153));
+        cancelarCarga.setFont(new java.awt.Font("Avenir Next", 1, 13)); // NOI18N
+        cancelarCarga.setText("Cancelar");
+        cancelarCarga.setEnabled(false);
+        cancelarCarga.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                cancelarCargaActionPerformed(evt);
+            }
+        });
+        jPanel1.add(cancelarCarga, new org.netbeans.lib.awtextra.AbsoluteConstraints(980, 60, 110, -1));
+
         btnBuscarPatrones.setBackground(new java.awt.Color(255, 204, 153));
         btnBuscarPatrones.setFont(new java.awt.Font("Avenir Next", 1, 13)); // NOI18N
         btnBuscarPatrones.setText("Buscar");
@@ -188,6 +219,7 @@ public class Interfaz1 extends javax.swing.JFrame {
         jLabel9.setText("Búsqueda general de patrones");
         jPanel1.add(jLabel9, new org.netbeans.lib.awtextra.AbsoluteConstraints(30, 120, 260, 17));
 
+        cargarComboPatrones.setEditable(true);
         cargarComboPatrones.setModel(new javax.swing.DefaultComboBoxModel<>(new String[] { "Item 1", "Item 2", "Item 3", "Item 4" }));
         cargarComboPatrones.addActionListener(new java.awt.event.ActionListener() {
             public void actionPerformed(java.awt.event.ActionEvent evt) {
@@ -230,6 +262,16 @@ public class Interfaz1 extends javax.swing.JFrame {
         });
         jPanel1.add(mostrarPatrones, new org.netbeans.lib.awtextra.AbsoluteConstraints(790, 160, 180, -1));
 
+        exportarReportes.setBackground(new java.awt.Color(255, 204, 153));
+        exportarReportes.setFont(new java.awt.Font("Avenir Next", 1, 13)); // NOI18N
+        exportarReportes.setText("Exportar");
+        exportarReportes.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                exportarReportesActionPerformed(evt);
+            }
+        });
+        jPanel1.add(exportarReportes, new org.netbeans.lib.awtextra.AbsoluteConstraints(980, 160, 110, -1));
+
         jSeparator3.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(204, 51, 0), 2));
         jPanel1.add(jSeparator3, new org.netbeans.lib.awtextra.AbsoluteConstraints(30, 140, 1070, 500));
 
@@ -259,7 +301,9 @@ public class Interfaz1 extends javax.swing.JFrame {
 
     /**
      * Acción al presionar el botón "Buscar".
-     * Busca la información del patrón seleccionado en el combo box y la muestra.
+     * Busca la información del patrón seleccionado (o escrito) en el combo box y la muestra.
+     * Si no es un patrón de la tabla, se busca como motivo de cualquier largo con el índice FM de la secuencia,
+     * en segundo plano: la primera búsqueda construye el índice, que en un genoma grande tarda varios segundos.
      */
     private void btnBuscarPatronesActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnBuscarPatronesActionPerformed
         // TODO add your handling code here:
@@ -269,27 +313,83 @@ public class Interfaz1 extends javax.swing.JFrame {
             return;
             }
             String patronSeleccionado = (String) cargarComboPatrones.getSelectedItem();
-            if (patronSeleccionado != null) {
-                NodoArbol nodo = tabla.buscar(patronSeleccionado);
-            if (nodo != null) {
-                String info = "Patrón: " + nodo.getPatron() + 
-                              "\nFrecuencia: " + nodo.getFrecuencias() + 
-                              "\nUbicaciones: " + nodo.getPosiciones().mostrarListaPosiciones();
-                verInfoPatron.setText(info);
-                verInfoPatron.setCaretPosition(0);
+            if (patronSeleccionado != null && !patronSeleccionado.trim().isEmpty()) {
+                String patron = patronSeleccionado.trim().toUpperCase();
+                for (int i = 0; i < patron.length(); i++) {
+                    if (SecuenciaEmpaquetada.codificarBase(patron.charAt(i)) < 0) {
+                        mostrarPatron(patron, null);
+                        return;
+                    }
+                }
+                NodoArbol nodo = patron.length() == tabla.getK() ? tabla.buscar(patron) : null;
+                if (nodo != null) {
+                    mostrarPatron(patron, nodo);
+                    return;
+                }
+                buscarMotivo(patron);
             }
-            
-            
-        }
         }catch (Exception e){
             JOptionPane.showMessageDialog(this, "Error al mostrar patrones: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
 
         }
     }//GEN-LAST:event_btnBuscarPatronesActionPerformed
 
+    /**
+     * Busca un motivo con el índice FM fuera del hilo de eventos, con los botones deshabilitados
+     * y la barra de progreso indicando la etapa.
+     *
+     * @param patron Motivo a buscar (solo A, C, G y T).
+     */
+    private void buscarMotivo(String patron) {
+        ProcesadorArchivo procesadorBuscado = procesador;
+        habilitarControles(false);
+        cancelarCarga.setEnabled(false);
+        barraProgreso.setIndeterminate(true);
+        barraProgreso.setString(procesadorBuscado.tieneIndiceFM() ? "Buscando " + patron + "..." : "Construyendo el índice FM...");
+        new SwingWorker<ListaPosiciones, Void>() {
+            @Override
+            protected ListaPosiciones doInBackground() {
+                return procesadorBuscado.getIndiceFM().localizar(patron);
+            }
+
+            @Override
+            protected void done() {
+                habilitarControles(true);
+                barraProgreso.setIndeterminate(false);
+                barraProgreso.setString("");
+                try {
+                    ListaPosiciones posiciones = get();
+                    mostrarPatron(patron, posiciones.esVacia() ? null : new NodoArbol(patron, posiciones));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(Interfaz1.this, "Error al buscar el motivo: " + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Muestra la frecuencia y las ubicaciones de un patrón, o que no se encontró.
+     *
+     * @param patron Patrón buscado.
+     * @param nodo Nodo con sus posiciones, o null si no aparece en la secuencia (o tiene caracteres inválidos).
+     */
+    private void mostrarPatron(String patron, NodoArbol nodo) {
+        if (nodo == null) {
+            verInfoPatron.setText("Patrón: " + patron + "\nno encontrado");
+        } else {
+            verInfoPatron.setText("Patrón: " + nodo.getPatron() +
+                                  "\nFrecuencia: " + nodo.getFrecuencias() +
+                                  "\nUbicaciones: " + nodo.getPosiciones().mostrarListaPosiciones());
+        }
+        verInfoPatron.setCaretPosition(0);
+    }
+
     /**
      * Acción al presionar el botón "Cargar archivo".
-     * Permite al usuario seleccionar un archivo de texto y cargar la secuencia de ADN.
+     * Permite al usuario seleccionar un archivo de texto y carga la secuencia de ADN en segundo plano,
+     * para que la ventana siga respondiendo y la carga se pueda cancelar.
      */
     private void cargarArchivoActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_cargarArchivoActionPerformed
         // TODO add your handling code here:
@@ -311,22 +411,17 @@ public class Interfaz1 extends javax.swing.JFrame {
                 if (archivoSeleccionado==null || !archivoSeleccionado.exists()){
                     JOptionPane.showMessageDialog(this, "No seleccionaste ningún archivo.","Error",JOptionPane.ERROR_MESSAGE);
                 }else{
-                    if (procesador.leerArchivo(archivoSeleccionado)){
-                        procesador.construirTabla(tabla);
-                        datosCargados=true;
-                        DefaultComboBoxModel<String> model = (DefaultComboBoxModel<String>) cargarComboPatrones.getModel();
-                        model.removeAllElements();
-
-                        ListaSimple<String> patrones = tabla.obtenerTodosPatronesOrdenados();
-                        NodoSimple<String> actual = patrones.getFirst();
-
-                        while (actual != null) {
-                            model.addElement(actual.getData());
-                            actual = actual.getNext();
+                    cargaActual = new CargaArchivo(archivoSeleccionado);
+                    cargaActual.addPropertyChangeListener(e -> {
+                        if ("progress".equals(e.getPropertyName())) {
+                            barraProgreso.setValue((Integer) e.getNewValue());
                         }
-                        
-                        JOptionPane.showMessageDialog(this, "Datos cargados con éxito.","Carga de archivo",JOptionPane.INFORMATION_MESSAGE);
-                    }
+                    });
+                    habilitarControles(false);
+                    barraProgreso.setIndeterminate(false);
+                    barraProgreso.setValue(0);
+                    barraProgreso.setString("Leyendo " + archivoSeleccionado.getName() + "...");
+                    cargaActual.execute();
                 }
             }
                 
@@ -335,6 +430,149 @@ public class Interfaz1 extends javax.swing.JFrame {
         }
     }//GEN-LAST:event_cargarArchivoActionPerformed
 
+    /**
+     * Acción al presionar el botón "Cancelar".
+     * Pide detener la carga en curso; la lectura y la construcción de la tabla se detienen en cuanto lo notan.
+     */
+    private void cancelarCargaActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_cancelarCargaActionPerformed
+        if (cargaActual != null) {
+            cargaActual.cancel(false);
+        }
+    }//GEN-LAST:event_cancelarCargaActionPerformed
+
+    /**
+     * Habilita o deshabilita los botones mientras hay una carga en curso.
+     *
+     * @param habilitar true al terminar la carga, false al comenzarla.
+     */
+    private void habilitarControles(boolean habilitar) {
+        cargarArchivo.setEnabled(habilitar);
+        reiniciar.setEnabled(habilitar);
+        mostrarPatrones.setEnabled(habilitar);
+        exportarReportes.setEnabled(habilitar);
+        btnBuscarPatrones.setEnabled(habilitar);
+        cancelarCarga.setEnabled(!habilitar);
+    }
+
+    /**
+     * Carga un archivo en segundo plano: lee la secuencia, construye la tabla hash y el árbol AVL.
+     * Si el archivo ya se analizó antes y no cambió, la secuencia y la tabla se leen de su instantánea
+     * en lugar de procesar el texto; si no, se guarda una instantánea al terminar la tabla.
+     * Trabaja sobre estructuras nuevas y solo las asigna a la ventana al terminar con éxito, así una carga
+     * cancelada o fallida no deja datos a medias. El progreso de la lectura se informa según los bytes recorridos.
+     */
+    private class CargaArchivo extends SwingWorker<String[], String> {
+        private final File archivo;
+        private final ProcesadorArchivo nuevoProcesador;
+        private final Hashtable nuevaTabla;
+        private final ArbolBB nuevoArbol;
+        private boolean desdeInstantanea;
+        private long nanosegundos;
+
+        CargaArchivo(File archivo) {
+            this.archivo = archivo;
+            this.nuevoProcesador = new ProcesadorArchivo(new OyenteDialogos(Interfaz1.this) {
+                @Override
+                public void progreso(long procesados, long total) {
+                    setProgress(total == 0 ? 100 : (int) (procesados * 100 / total));
+                }
+
+                @Override
+                public boolean cancelado() {
+                    return isCancelled();
+                }
+            });
+            this.nuevaTabla = new Hashtable();
+            this.nuevoArbol = new ArbolBB();
+        }
+
+        /**
+         * Hace la carga fuera del hilo de eventos.
+         *
+         * @return Patrones ordenados para el combo box, o null si el archivo no es válido o se canceló.
+         */
+        @Override
+        protected String[] doInBackground() {
+            long inicio = System.nanoTime();
+            desdeInstantanea = nuevoProcesador.cargarInstantanea(archivo, nuevaTabla);
+            if (!desdeInstantanea) {
+                if (!nuevoProcesador.leerArchivo(archivo) || isCancelled()) {
+                    return null;
+                }
+                publish("Construyendo la tabla hash...");
+                nuevoProcesador.construirTabla(nuevaTabla);
+                if (isCancelled()) {
+                    return null;
+                }
+                publish("Guardando la instantánea...");
+                nuevoProcesador.guardarInstantanea(archivo, nuevaTabla);
+            }
+            publish("Construyendo el árbol AVL...");
+            nuevoProcesador.construirArbol(nuevaTabla, nuevoArbol);
+            nuevaTabla.setOyenteFrecuencias(nuevoArbol); // Desde aquí el árbol se actualiza con cada cambio de la tabla
+
+            String[] arreglo = nuevaTabla.obtenerTodosPatronesOrdenados().stream().toArray(String[]::new);
+            nanosegundos = System.nanoTime() - inicio;
+            return arreglo;
+        }
+
+        /**
+         * Muestra la etapa actual en la barra de progreso (en el hilo de eventos).
+         */
+        @Override
+        protected void process(List<String> etapas) {
+            barraProgreso.setIndeterminate(true);
+            barraProgreso.setString(etapas.get(etapas.size() - 1));
+        }
+
+        /**
+         * Al terminar (en el hilo de eventos) asigna las estructuras y llena el combo box de una sola vez.
+         */
+        @Override
+        protected void done() {
+            cargaActual = null;
+            habilitarControles(true);
+            barraProgreso.setIndeterminate(false);
+            if (isCancelled()) {
+                barraProgreso.setValue(0);
+                barraProgreso.setString("Carga cancelada");
+                return;
+            }
+            try {
+                String[] patrones = get();
+                if (patrones == null) {
+                    barraProgreso.setValue(0);
+                    barraProgreso.setString("");
+                    return;
+                }
+                archivoCargado = archivo;
+                cacheReportes.limpiar();
+                procesador = nuevoProcesador;
+                procesador.setOyente(new OyenteDialogos(Interfaz1.this));
+                tabla = nuevaTabla;
+                arbol = nuevoArbol;
+                datosCargados = true;
+                cargarComboPatrones.setModel(new DefaultComboBoxModel<>(patrones));
+                barraProgreso.setValue(100);
+                barraProgreso.setString(archivo.getName() + " cargado");
+
+                String detalle;
+                if (desdeInstantanea) {
+                    detalle = String.format("Cargados desde la instantánea en %.0f ms", nanosegundos / 1e6);
+                } else {
+                    detalle = String.format("Velocidad de lectura: %.1f MB/s", procesador.getMegabytesPorSegundo());
+                }
+                JOptionPane.showMessageDialog(Interfaz1.this, "Datos cargados con éxito.\n" + detalle,"Carga de archivo",JOptionPane.INFORMATION_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                barraProgreso.setValue(0);
+                barraProgreso.setString("");
+                JOptionPane.showMessageDialog(Interfaz1.this, "Ocurrió un error. Intente de nuevo: " + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }
+    }
+
     /**
      * Acción al presionar el botón "Reiniciar".
      * Limpia la interfaz y vuelve a crear todas las estructuras para cargar nuevos datos.
@@ -342,16 +580,19 @@ public class Interfaz1 extends javax.swing.JFrame {
     private void reiniciarActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_reiniciarActionPerformed
         // TODO add your handling code here:
         tabla=new Hashtable();
-        procesador=new ProcesadorArchivo();
+        procesador=new ProcesadorArchivo(new OyenteDialogos(this));
         arbol=new ArbolBB();
         datosCargados=false;
+        cacheReportes.limpiar();
         verListaPatrones.setText("");
         verPatronMasFrecuente.setText("");
         verPatronMenosFrecuente.setText("");
         verInfoPatron.setText("");
         verReporteColision.setText("");
         verReporteAminoacidos.setText("");
-        cargarComboPatrones.removeAllItems();
+        cargarComboPatrones.setModel(new DefaultComboBoxModel<>());
+        barraProgreso.setValue(0);
+        barraProgreso.setString("");
     }//GEN-LAST:event_reiniciarActionPerformed
 
     private void cargarComboPatronesActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_cargarComboPatronesActionPerformed
@@ -361,6 +602,7 @@ public class Interfaz1 extends javax.swing.JFrame {
     /**
      * Acción al presionar el botón "Mostrar información".
      * Llena todos los reportes y áreas de texto de la interfaz con los datos actuales.
+     * Los reportes se toman de cacheReportes, que solo los recalcula si la tabla o el árbol cambiaron.
      */
     private void mostrarPatronesActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_mostrarPatronesActionPerformed
         // TODO add your handling code here:
@@ -373,24 +615,21 @@ public class Interfaz1 extends javax.swing.JFrame {
             
             if (arbol.esVacio()) {
                 procesador.construirArbol(tabla, arbol);
+                tabla.setOyenteFrecuencias(arbol);
             }
             
-            ListaSimple<String> listaPatrones = arbol.inorden();
-            verListaPatrones.setText(listaPatrones.mostrarLista());
+            verListaPatrones.setText(cacheReportes.obtener("patrones", procesador, tabla, arbol));
             verListaPatrones.setCaretPosition(0);
             
-            ListaSimple<NodoArbol> patronesMayor = arbol.buscarMayorFrecuencia();
-            verPatronMasFrecuente.setText(patronesMayor.mostrarPatronesFrecuencia());
+            verPatronMasFrecuente.setText(cacheReportes.obtener("mayor", procesador, tabla, arbol));
             verPatronMasFrecuente.setCaretPosition(0);
 
-            ListaSimple<NodoArbol> patronesMenor = arbol.buscarMenorFrecuencia();
-            verPatronMenosFrecuente.setText(patronesMenor.mostrarPatronesFrecuencia());
+            verPatronMenosFrecuente.setText(cacheReportes.obtener("menor", procesador, tabla, arbol));
             verPatronMenosFrecuente.setCaretPosition(0);
           
-            verReporteColision.setText(tabla.reporteColisiones());
+            verReporteColision.setText(cacheReportes.obtener("colisiones", procesador, tabla, arbol));
             
-            ListaSimple<String> reporteAmino = procesador.generarReporteAminoacidos(tabla);
-            verReporteAminoacidos.setText(reporteAmino.mostrarLista());
+            verReporteAminoacidos.setText(cacheReportes.obtener("aminoacidos", procesador, tabla, arbol));
             verReporteAminoacidos.setCaretPosition(0);
             
         }catch (Exception e){
@@ -398,6 +637,63 @@ public class Interfaz1 extends javax.swing.JFrame {
         }
     }//GEN-LAST:event_mostrarPatronesActionPerformed
 
+    /**
+     * Acción al presionar el botón "Exportar".
+     * Pide un formato (CSV, TSV o JSON Lines) y un directorio, y escribe ahí todos los reportes
+     * como <archivo>.<reporte>.<extensión>, en segundo plano y sin armarlos antes en memoria.
+     */
+    private void exportarReportesActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_exportarReportesActionPerformed
+        if (datosCargados==false) {
+            JOptionPane.showMessageDialog(this, "Debe cargar un archivo para exportar estos datos.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        ExportadorReportes.Formato[] formatos = ExportadorReportes.Formato.values();
+        int eleccion = JOptionPane.showOptionDialog(this, "Seleccione el formato de exportación.", "Exportar reportes",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, formatos, formatos[0]);
+        if (eleccion < 0) {
+            return;
+        }
+        ExportadorReportes.Formato formato = formatos[eleccion];
+        JFileChooser directorio = new JFileChooser();
+        directorio.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (directorio.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File destino = directorio.getSelectedFile();
+        // Las estructuras no cambian mientras se exporta: los botones que las modifican quedan deshabilitados
+        ProcesadorArchivo procesadorExportado = procesador;
+        Hashtable tablaExportada = tabla;
+        ArbolBB arbolExportado = arbol;
+        String nombre = archivoCargado.getName();
+        habilitarControles(false);
+        cancelarCarga.setEnabled(false);
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws IOException {
+                for (String reporte : ExportadorReportes.REPORTES) {
+                    File archivo = new File(destino, nombre + "." + reporte + "." + formato.getExtension());
+                    try (Writer escritor = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(archivo.toPath()), StandardCharsets.UTF_8))) {
+                        new ExportadorReportes(formato, escritor).exportar(reporte, procesadorExportado, tablaExportada, arbolExportado);
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                habilitarControles(true);
+                try {
+                    get();
+                    JOptionPane.showMessageDialog(Interfaz1.this, "Reportes exportados en " + destino.getPath(), "Exportar reportes", JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(Interfaz1.this, "No se pudieron exportar los reportes: " + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }//GEN-LAST:event_exportarReportesActionPerformed
+
     /**
      * @param args the command line arguments
      */
@@ -434,9 +730,12 @@ public class Interfaz1 extends javax.swing.JFrame {
     }
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JProgressBar barraProgreso;
     private javax.swing.JButton btnBuscarPatrones;
+    private javax.swing.JButton cancelarCarga;
     private javax.swing.JButton cargarArchivo;
     private javax.swing.JComboBox<String> cargarComboPatrones;
+    private javax.swing.JButton exportarReportes;
     private javax.swing.JLabel jLabel1;
     private javax.swing.JLabel jLabel10;
     private javax.swing.JLabel jLabel11;
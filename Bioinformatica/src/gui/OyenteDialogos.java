@@ -0,0 +1,51 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package gui;
+
+import estructuras.OyenteProcesamiento;
+import java.awt.Component;
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+
+/**
+ * Oyente que muestra los errores y advertencias del procesamiento en cuadros de diálogo.
+ * Es el que usa la ventana principal, con los mismos mensajes que antes mostraba directamente ProcesadorArchivo.
+ * Si se llama desde un hilo de fondo (por ejemplo, durante la carga), el diálogo se muestra en el hilo de eventos de Swing.
+ *
+ * @author Luis Mariano Lovera
+ */
+public class OyenteDialogos implements OyenteProcesamiento {
+    private final Component padre;
+
+    /**
+     * Constructor.
+     *
+     * @param padre Componente sobre el que se centran los diálogos (puede ser null).
+     */
+    public OyenteDialogos(Component padre) {
+        this.padre = padre;
+    }
+
+    @Override
+    public void error(String mensaje) {
+        mostrar(mensaje, "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    @Override
+    public void advertencia(String mensaje) {
+        mostrar(mensaje, "Advertencia", JOptionPane.WARNING_MESSAGE);
+    }
+
+    /**
+     * Muestra el diálogo en el hilo de eventos de Swing.
+     */
+    private void mostrar(String mensaje, String titulo, int tipo) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            JOptionPane.showMessageDialog(padre, mensaje, titulo, tipo);
+        } else {
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(padre, mensaje, titulo, tipo));
+        }
+    }
+}
@@ -7,7 +7,8 @@ import gui.Interfaz1;
 
 /**
  * Clase principal del proyecto de bioinformática.
- * Inicia la interfaz gráfica del sistema.
+ * Sin argumentos inicia la interfaz gráfica del sistema; con argumentos procesa
+ * los archivos indicados en modo de línea de comandos (ver LineaComandos).
  * 
  * @author Diego Linares, Luis Mariano Lovera, Luis Peña
  */
@@ -17,7 +18,9 @@ public class Bioinformatica {
      * @param args the command line arguments
      */
     public static void main(String[] args) {
-        // TODO code application logic here
+        if (args.length > 0) {
+            System.exit(new LineaComandos().ejecutar(args));
+        }
         Interfaz1 interfaz = new Interfaz1();
         interfaz.setTitle("Sistema de Identificación y Análisis de Secuencias");
         interfaz.setLocationRelativeTo(null);
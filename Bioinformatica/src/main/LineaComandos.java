@@ -0,0 +1,545 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package main;
+
+import estructuras.ArbolBB;
+import estructuras.AutomataMotivos;
+import estructuras.BuscadorORF;
+import estructuras.BusquedaAproximada;
+import estructuras.EscritorReportes;
+import estructuras.ExportadorReportes;
+import estructuras.Hashtable;
+import estructuras.IndiceFM;
+import estructuras.ListaPosiciones;
+import estructuras.ListaSimple;
+import estructuras.MarcoAbierto;
+import estructuras.NodoArbol;
+import estructuras.OyenteConsola;
+import estructuras.ProcesadorArchivo;
+import estructuras.SecuenciaEmpaquetada;
+import estructuras.TraductorProteinas;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Modo de línea de comandos (sin interfaz gráfica) para procesar archivos en lote.
+ * Para cada archivo lee la secuencia, construye la tabla hash y el árbol AVL y escribe los reportes pedidos
+ * en la salida estándar o en archivos. Los errores, advertencias y tiempos se escriben en la salida de error.
+ *
+ * También busca motivos de cualquier largo con el índice FM de la secuencia (--buscar; con --distancia, de forma
+ * aproximada con BusquedaAproximada), o una lista de motivos leída de un archivo en un solo recorrido
+ * con AutomataMotivos (--motivos), y los marcos abiertos de lectura con BuscadorORF (--orf).
+ * Con --proteinas traduce la secuencia en los 3 (o 6) marcos con TraductorProteinas y la escribe en formato FASTA.
+ *
+ * Uso: java -jar Bioinformatica.jar [--reportes lista] [--salida directorio] [--formato f] [-k largo] [--instantanea]
+ *      [--buscar motivo ... [--distancia d] [--indels]] [--motivos archivo] [--orf largo] [--proteinas] [--seis-marcos]
+ *      archivo1.txt [archivo2.txt ...]
+ *
+ * @author Diego Linares, Luis Mariano Lovera, Luis Peña
+ */
+public class LineaComandos {
+    /** Reportes disponibles, en el orden en que se escriben. */
+    private static final String[] REPORTES = ExportadorReportes.REPORTES;
+
+    private final PrintStream salidaEstandar;
+    private final PrintStream salidaError;
+    private ExportadorReportes.Formato formato; // null para el texto de la interfaz gráfica
+    private final ListaSimple<String> motivos = new ListaSimple<>(); // Motivos a buscar con el índice FM
+    private AutomataMotivos automata; // Motivos de --motivos, o null
+    private ListaSimple<BusquedaAproximada> aproximadas; // Búsquedas de --buscar con --distancia o --indels, o null
+    private BuscadorORF buscadorORF; // Búsqueda de --orf, o null
+    private TraductorProteinas traductor; // Traducción de --proteinas, o null
+    private boolean seisMarcos; // --seis-marcos, para --orf y --proteinas
+
+    /**
+     * Constructor que usa la salida estándar y la salida de error del sistema.
+     */
+    public LineaComandos() {
+        this(System.out, System.err);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param salidaEstandar Flujo donde se escriben los reportes cuando no se indica un directorio.
+     * @param salidaError Flujo donde se escriben los errores, advertencias y tiempos.
+     */
+    public LineaComandos(PrintStream salidaEstandar, PrintStream salidaError) {
+        this.salidaEstandar = salidaEstandar;
+        this.salidaError = salidaError;
+    }
+
+    /**
+     * Procesa los argumentos y los archivos indicados.
+     *
+     * @param args Argumentos de la línea de comandos.
+     * @return Código de salida: 0 si todo salió bien, 1 si algún archivo falló, 2 si los argumentos son inválidos.
+     */
+    public int ejecutar(String[] args) {
+        boolean[] pedidos = {true, true, true, true, true};
+        boolean reportesIndicados = false;
+        int distancia = 0;
+        boolean conIndels = false;
+        int largoORF = -1;
+        File directorioSalida = null;
+        int k = 3;
+        boolean usarInstantanea = false;
+        int cantidadArchivos = 0;
+        File[] archivos = new File[args.length];
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--reportes":
+                        pedidos = leerReportes(valor(args, ++i));
+                        reportesIndicados = true;
+                        break;
+                    case "--salida":
+                        directorioSalida = new File(valor(args, ++i));
+                        break;
+                    case "--formato":
+                        String nombreFormato = valor(args, ++i);
+                        formato = nombreFormato.equals("texto") ? null : ExportadorReportes.Formato.desdeNombre(nombreFormato);
+                        break;
+                    case "-k":
+                        k = Integer.parseInt(valor(args, ++i));
+                        break;
+                    case "--instantanea":
+                        usarInstantanea = true;
+                        break;
+                    case "--buscar":
+                        motivos.insertarAlFinal(valor(args, ++i).toUpperCase());
+                        break;
+                    case "--distancia":
+                        distancia = Integer.parseInt(valor(args, ++i));
+                        break;
+                    case "--indels":
+                        conIndels = true;
+                        break;
+                    case "--orf":
+                        largoORF = Integer.parseInt(valor(args, ++i));
+                        break;
+                    case "--proteinas":
+                        traductor = new TraductorProteinas();
+                        break;
+                    case "--seis-marcos":
+                        seisMarcos = true;
+                        break;
+                    case "--motivos":
+                        automata = leerMotivos(new File(valor(args, ++i)));
+                        break;
+                    case "--ayuda":
+                        mostrarUso();
+                        return 0;
+                    default:
+                        archivos[cantidadArchivos++] = new File(args[i]);
+                }
+            }
+            if (cantidadArchivos == 0) {
+                throw new IllegalArgumentException("Debe indicar al menos un archivo.");
+            }
+            new Hashtable(k); // Valida el largo de patrón antes de procesar
+            if (distancia != 0 || conIndels) {
+                if (motivos.esVacia()) {
+                    throw new IllegalArgumentException("--distancia e --indels se usan junto con --buscar.");
+                }
+                aproximadas = new ListaSimple<>();
+                for (String motivo : motivos) {
+                    aproximadas.insertarAlFinal(new BusquedaAproximada(motivo, distancia, conIndels));
+                }
+            }
+            if (seisMarcos && largoORF < 0 && traductor == null) {
+                throw new IllegalArgumentException("--seis-marcos se usa junto con --orf o --proteinas.");
+            }
+            if (largoORF >= 0) {
+                buscadorORF = new BuscadorORF(largoORF, seisMarcos);
+            }
+            if ((!motivos.esVacia() || automata != null || buscadorORF != null || traductor != null) && !reportesIndicados) {
+                pedidos = new boolean[REPORTES.length]; // Con --buscar, --motivos, --orf o --proteinas solo se escriben los reportes pedidos
+            }
+        } catch (IllegalArgumentException e) {
+            salidaError.println("Error: " + e.getMessage());
+            mostrarUso();
+            return 2;
+        }
+
+        if (directorioSalida != null && !directorioSalida.isDirectory() && !directorioSalida.mkdirs()) {
+            salidaError.println("Error: no se pudo crear el directorio de salida " + directorioSalida);
+            return 1;
+        }
+
+        int codigo = 0;
+        for (int i = 0; i < cantidadArchivos; i++) {
+            if (!procesar(archivos[i], pedidos, directorioSalida, k, usarInstantanea)) {
+                codigo = 1;
+            }
+        }
+        return codigo;
+    }
+
+    /**
+     * Procesa un archivo y escribe sus reportes. Si no se pidió ningún reporte (por ejemplo, solo --buscar),
+     * la tabla y el árbol no se construyen, salvo la tabla cuando hay que guardar la instantánea.
+     *
+     * @param archivo Archivo con la secuencia.
+     * @param pedidos Reportes a generar, en el orden de REPORTES.
+     * @param directorioSalida Directorio donde se escriben los reportes, o null para la salida estándar.
+     * @param k Largo de los patrones.
+     * @param usarInstantanea Si se lee la instantánea del archivo cuando es válida (y se guarda cuando no).
+     * @return true si el archivo se procesó sin errores.
+     */
+    private boolean procesar(File archivo, boolean[] pedidos, File directorioSalida, int k, boolean usarInstantanea) {
+        ProcesadorArchivo procesador = new ProcesadorArchivo(new OyenteConsola(salidaError, true));
+        Hashtable tabla = new Hashtable(k);
+        ArbolBB arbol = new ArbolBB();
+        boolean conReportes = false;
+        for (boolean pedido : pedidos) {
+            conReportes |= pedido;
+        }
+
+        long inicio = System.nanoTime();
+        long lectura;
+        if (usarInstantanea && procesador.cargarInstantanea(archivo, tabla)) {
+            lectura = System.nanoTime();
+        } else {
+            if (!procesador.leerArchivo(archivo)) {
+                return false;
+            }
+            lectura = System.nanoTime();
+            if (conReportes || usarInstantanea) {
+                procesador.construirTabla(tabla);
+            }
+            if (usarInstantanea) {
+                procesador.guardarInstantanea(archivo, tabla);
+            }
+        }
+        long construccionTabla = System.nanoTime();
+        if (conReportes) {
+            procesador.construirArbol(tabla, arbol);
+        }
+        long construccionArbol = System.nanoTime();
+
+        try {
+            for (int i = 0; i < REPORTES.length; i++) {
+                if (!pedidos[i]) {
+                    continue;
+                }
+                if (REPORTES[i].equals("aminoacidos") && k != 3) {
+                    salidaError.println("Advertencia: el reporte de aminoácidos solo está disponible para tripletas (k=3).");
+                    continue;
+                }
+                if (directorioSalida == null) {
+                    salidaEstandar.println("=== " + archivo.getName() + ": " + REPORTES[i] + " ===");
+                    escribirReporte(REPORTES[i], procesador, tabla, arbol, salidaEstandar);
+                    salidaEstandar.println();
+                } else {
+                    String extension = formato == null ? "txt" : formato.getExtension();
+                    File destino = new File(directorioSalida, archivo.getName() + "." + REPORTES[i] + "." + extension);
+                    try (Writer escritor = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(destino.toPath()), StandardCharsets.UTF_8))) {
+                        escribirReporte(REPORTES[i], procesador, tabla, arbol, escritor);
+                    }
+                }
+            }
+            if (!motivos.esVacia()) {
+                escribirBusqueda(archivo, procesador, directorioSalida, usarInstantanea);
+            }
+            if (automata != null) {
+                escribirMotivos(archivo, procesador, directorioSalida);
+            }
+            if (buscadorORF != null) {
+                escribirORF(archivo, procesador, directorioSalida);
+            }
+            if (traductor != null) {
+                escribirProteinas(archivo, procesador, directorioSalida);
+            }
+        } catch (IOException e) {
+            salidaError.println("Error: no se pudieron escribir los reportes de " + archivo.getName() + ": " + e.getMessage());
+            return false;
+        }
+        long fin = System.nanoTime();
+
+        if (conReportes) {
+            salidaError.printf("%s: lectura %.1f ms, tabla %.1f ms, árbol %.1f ms, reportes %.1f ms%n", archivo.getName(),
+                    (lectura - inicio) / 1e6, (construccionTabla - lectura) / 1e6,
+                    (construccionArbol - construccionTabla) / 1e6, (fin - construccionArbol) / 1e6);
+        } else {
+            salidaError.printf("%s: lectura %.1f ms, búsquedas %.1f ms%n", archivo.getName(),
+                    (lectura - inicio) / 1e6, (fin - lectura) / 1e6);
+        }
+        return true;
+    }
+
+    /**
+     * Escribe un reporte con el mismo formato que muestra la interfaz gráfica (o exportado en CSV, TSV o JSON Lines
+     * si se indicó --formato), sin armarlo antes en un String.
+     *
+     * @param nombre Nombre del reporte.
+     * @param procesador Procesador con la secuencia cargada.
+     * @param tabla Tabla hash construida.
+     * @param arbol Árbol AVL construido.
+     * @param destino Donde se escribe el reporte.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    private void escribirReporte(String nombre, ProcesadorArchivo procesador, Hashtable tabla, ArbolBB arbol, Appendable destino) throws IOException {
+        if (formato != null) {
+            new ExportadorReportes(formato, destino).exportar(nombre, procesador, tabla, arbol);
+            return;
+        }
+        switch (nombre) {
+            case "patrones":
+                arbol.escribirInorden(destino);
+                break;
+            case "mayor":
+                EscritorReportes.escribirPatronesFrecuencia(tabla.getIndiceFrecuencias().buscarMayorFrecuencia(), destino);
+                break;
+            case "menor":
+                EscritorReportes.escribirPatronesFrecuencia(tabla.getIndiceFrecuencias().buscarMenorFrecuencia(), destino);
+                break;
+            case "colisiones":
+                destino.append(tabla.reporteColisiones());
+                break;
+            default:
+                EscritorReportes.escribirLista(procesador.generarReporteAminoacidos(tabla), destino);
+        }
+    }
+
+    /**
+     * Busca los motivos pedidos con el índice FM (o de forma aproximada, si se indicó --distancia o --indels)
+     * y escribe cada uno con su cantidad de apariciones y sus posiciones, con el mismo texto que los reportes
+     * de mayor y menor frecuencia. Con --instantanea el índice se lee de archivo.txt.biofm si sigue siendo
+     * válido, y si no se guarda después de construirlo. En la búsqueda aproximada las posiciones son las
+     * iniciales con solo sustituciones y las finales con indels.
+     *
+     * @param archivo Archivo con la secuencia.
+     * @param procesador Procesador con la secuencia cargada.
+     * @param directorioSalida Directorio donde se escribe archivo.buscar.txt, o null para la salida estándar.
+     * @param usarInstantanea Si se lee o guarda el índice junto al archivo.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    private void escribirBusqueda(File archivo, ProcesadorArchivo procesador, File directorioSalida, boolean usarInstantanea) throws IOException {
+        if (aproximadas != null) {
+            ListaSimple<NodoArbol> resultados = new ListaSimple<>();
+            for (BusquedaAproximada busqueda : aproximadas) {
+                resultados.insertarAlFinal(new NodoArbol(busqueda.getPatron(), busqueda.buscar(procesador.getSecuenciaADN())));
+                salidaError.printf("%s: %s con distancia %d%s en %.1f ms (%.1f millones de bases/s)%n", archivo.getName(),
+                        busqueda.getPatron(), busqueda.getDistancia(), busqueda.isConIndels() ? " (con indels)" : "",
+                        busqueda.getNanosUltimaBusqueda() / 1e6, busqueda.getMegabasesPorSegundo());
+            }
+            escribirResultados(archivo, "buscar", resultados, directorioSalida);
+            return;
+        }
+        long inicio = System.nanoTime();
+        if (usarInstantanea && !procesador.cargarIndiceFM(archivo)) {
+            procesador.guardarIndiceFM(archivo);
+        }
+        IndiceFM indice = procesador.getIndiceFM();
+        long construccion = System.nanoTime();
+        ListaSimple<NodoArbol> resultados = new ListaSimple<>();
+        for (String motivo : motivos) {
+            resultados.insertarAlFinal(new NodoArbol(motivo, indice.localizar(motivo)));
+        }
+        long fin = System.nanoTime();
+        salidaError.printf("%s: índice FM %.1f ms, búsqueda de %d motivo(s) %.1f ms%n", archivo.getName(),
+                (construccion - inicio) / 1e6, resultados.getTamaño(), (fin - construccion) / 1e6);
+        escribirResultados(archivo, "buscar", resultados, directorioSalida);
+    }
+
+    /**
+     * Busca todos los motivos de --motivos en un solo recorrido de la secuencia y los escribe en el orden del archivo,
+     * con el mismo texto que la búsqueda con --buscar. La velocidad del recorrido se informa en la salida de error.
+     *
+     * @param archivo Archivo con la secuencia.
+     * @param procesador Procesador con la secuencia cargada.
+     * @param directorioSalida Directorio donde se escribe archivo.motivos.txt, o null para la salida estándar.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    private void escribirMotivos(File archivo, ProcesadorArchivo procesador, File directorioSalida) throws IOException {
+        ListaPosiciones[] posiciones = automata.buscar(procesador.getSecuenciaADN());
+        ListaSimple<NodoArbol> resultados = new ListaSimple<>();
+        long apariciones = 0;
+        for (int m = 0; m < posiciones.length; m++) {
+            resultados.insertarAlFinal(new NodoArbol(automata.getMotivo(m), posiciones[m]));
+            apariciones += posiciones[m].getTamaño();
+        }
+        salidaError.printf("%s: %d motivo(s), %d aparicion(es) en %.1f ms (%.1f millones de bases/s)%n", archivo.getName(),
+                automata.getCantidadMotivos(), apariciones, automata.getNanosUltimaBusqueda() / 1e6, automata.getMegabasesPorSegundo());
+        escribirResultados(archivo, "motivos", resultados, directorioSalida);
+    }
+
+    /**
+     * Busca los marcos abiertos de lectura y escribe uno por línea, ordenados por inicio
+     * (ver MarcoAbierto.toString()). La velocidad del recorrido se informa en la salida de error.
+     *
+     * @param archivo Archivo con la secuencia.
+     * @param procesador Procesador con la secuencia cargada.
+     * @param directorioSalida Directorio donde se escribe archivo.orf.txt, o null para la salida estándar.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    private void escribirORF(File archivo, ProcesadorArchivo procesador, File directorioSalida) throws IOException {
+        ListaSimple<MarcoAbierto> encontrados = buscadorORF.buscar(procesador.getSecuenciaADN());
+        salidaError.printf("%s: %d ORF de al menos %d bases en %s marcos, %.1f ms (%.1f millones de bases/s)%n", archivo.getName(),
+                encontrados.getTamaño(), buscadorORF.getLargoMinimo(), buscadorORF.isSeisMarcos() ? "6" : "3",
+                buscadorORF.getNanosUltimaBusqueda() / 1e6, buscadorORF.getMegabasesPorSegundo());
+        if (directorioSalida == null) {
+            salidaEstandar.println("=== " + archivo.getName() + ": orf ===");
+            escribirLineas(encontrados, salidaEstandar);
+            salidaEstandar.println();
+        } else {
+            File destino = new File(directorioSalida, archivo.getName() + ".orf.txt");
+            try (Writer escritor = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(destino.toPath()), StandardCharsets.UTF_8))) {
+                escribirLineas(encontrados, escritor);
+            }
+        }
+    }
+
+    /**
+     * Traduce la secuencia en los 3 marcos (o 6 con --seis-marcos) y la escribe en formato FASTA,
+     * de a bloques y sin armar la proteína entera. La velocidad se informa en la salida de error.
+     *
+     * @param archivo Archivo con la secuencia.
+     * @param procesador Procesador con la secuencia cargada.
+     * @param directorioSalida Directorio donde se escribe archivo.proteinas.fasta, o null para la salida estándar.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    private void escribirProteinas(File archivo, ProcesadorArchivo procesador, File directorioSalida) throws IOException {
+        SecuenciaEmpaquetada secuencia = procesador.getSecuenciaADN();
+        int hilos = Runtime.getRuntime().availableProcessors();
+        long aminoacidos;
+        if (directorioSalida == null) {
+            salidaEstandar.println("=== " + archivo.getName() + ": proteinas ===");
+            // Sin cerrar: la salida estándar sigue en uso
+            OutputStream salida = new BufferedOutputStream(salidaEstandar, 1 << 16);
+            aminoacidos = traductor.escribir(secuencia, archivo.getName(), salida, seisMarcos, hilos);
+            salidaEstandar.println();
+        } else {
+            File destino = new File(directorioSalida, archivo.getName() + ".proteinas.fasta");
+            try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(destino.toPath()), 1 << 16)) {
+                aminoacidos = traductor.escribir(secuencia, archivo.getName(), salida, seisMarcos, hilos);
+            }
+        }
+        salidaError.printf("%s: %d aminoácidos en %s marcos, %.1f ms (%.1f millones de bases/s)%n", archivo.getName(),
+                aminoacidos, seisMarcos ? "6" : "3", traductor.getNanosUltimaTraduccion() / 1e6, traductor.getMegabasesPorSegundo());
+    }
+
+    /**
+     * Escribe cada ORF en una línea.
+     */
+    private void escribirLineas(ListaSimple<MarcoAbierto> encontrados, Appendable destino) throws IOException {
+        for (MarcoAbierto orf : encontrados) {
+            destino.append(orf.toString()).append('\n');
+        }
+    }
+
+    /**
+     * Escribe los resultados de una búsqueda (cada motivo con su frecuencia y ubicaciones) en la salida estándar
+     * o en dir/archivo.nombre.txt.
+     *
+     * @param archivo Archivo con la secuencia.
+     * @param nombre Nombre de la búsqueda, para el encabezado o el archivo.
+     * @param resultados Un nodo por motivo.
+     * @param directorioSalida Directorio de salida, o null para la salida estándar.
+     * @throws IOException Si el destino no se puede escribir.
+     */
+    private void escribirResultados(File archivo, String nombre, ListaSimple<NodoArbol> resultados, File directorioSalida) throws IOException {
+        if (directorioSalida == null) {
+            salidaEstandar.println("=== " + archivo.getName() + ": " + nombre + " ===");
+            EscritorReportes.escribirPatronesFrecuencia(resultados, salidaEstandar);
+            salidaEstandar.println();
+        } else {
+            File destino = new File(directorioSalida, archivo.getName() + "." + nombre + ".txt");
+            try (Writer escritor = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(destino.toPath()), StandardCharsets.UTF_8))) {
+                EscritorReportes.escribirPatronesFrecuencia(resultados, escritor);
+            }
+        }
+    }
+
+    /**
+     * Lee el archivo de motivos (uno por línea; se ignoran las líneas vacías y las que empiezan con # o >)
+     * y arma el autómata.
+     *
+     * @param archivo Archivo de motivos.
+     * @return Autómata con los motivos.
+     * @throws IllegalArgumentException Si el archivo no se puede leer, no tiene motivos o alguno es inválido.
+     */
+    private AutomataMotivos leerMotivos(File archivo) {
+        ListaSimple<String> lista = new ListaSimple<>();
+        try {
+            for (String linea : Files.readAllLines(archivo.toPath(), StandardCharsets.UTF_8)) {
+                linea = linea.trim();
+                if (!linea.isEmpty() && !linea.startsWith("#") && !linea.startsWith(">")) {
+                    lista.insertarAlFinal(linea);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("No se pudo leer el archivo de motivos " + archivo + ": " + e.getMessage());
+        }
+        return new AutomataMotivos(lista.stream().toArray(String[]::new));
+    }
+
+    /**
+     * Convierte la lista de reportes separada por comas en un arreglo de reportes pedidos.
+     *
+     * @param lista Nombres de reportes separados por comas.
+     * @return Arreglo con true en los reportes pedidos.
+     * @throws IllegalArgumentException Si algún nombre no corresponde a un reporte.
+     */
+    private boolean[] leerReportes(String lista) {
+        boolean[] pedidos = new boolean[REPORTES.length];
+        for (String nombre : lista.split(",")) {
+            boolean encontrado = false;
+            for (int i = 0; i < REPORTES.length; i++) {
+                if (REPORTES[i].equals(nombre.trim())) {
+                    pedidos[i] = true;
+                    encontrado = true;
+                }
+            }
+            if (!encontrado) {
+                throw new IllegalArgumentException("Reporte desconocido: " + nombre);
+            }
+        }
+        return pedidos;
+    }
+
+    /**
+     * Obtiene el valor que sigue a una opción.
+     *
+     * @throws IllegalArgumentException Si la opción no tiene valor.
+     */
+    private String valor(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Falta el valor de la opción " + args[i - 1]);
+        }
+        return args[i];
+    }
+
+    /**
+     * Escribe las instrucciones de uso en la salida de error.
+     */
+    private void mostrarUso() {
+        salidaError.println("Uso: java -jar Bioinformatica.jar [opciones] archivo1.txt [archivo2.txt ...]");
+        salidaError.println("  --reportes lista   Reportes separados por comas: patrones,mayor,menor,colisiones,aminoacidos (por defecto, todos)");
+        salidaError.println("  --salida dir       Escribe cada reporte en dir/<archivo>.<reporte>.<extensión> en lugar de la salida estándar");
+        salidaError.println("  --formato f        texto (por defecto, igual que la interfaz), csv, tsv o jsonl");
+        salidaError.println("  -k largo           Largo de los patrones (por defecto 3)");
+        salidaError.println("  --instantanea      Usa <archivo>.bioidx si sigue siendo válida; si no, la crea al construir la tabla");
+        salidaError.println("  --buscar motivo    Busca un motivo de cualquier largo con el índice FM (se puede repetir; con --instantanea");
+        salidaError.println("                     se guarda en <archivo>.biofm). Si no se indica --reportes, solo se escribe la búsqueda");
+        salidaError.println("  --distancia d      Con --buscar, acepta hasta d diferencias (motivos de hasta 64 bases)");
+        salidaError.println("  --indels           Con --distancia, cuenta también inserciones y borrados (informa la posición final)");
+        salidaError.println("  --orf largo        Busca marcos abiertos de lectura (ATG hasta STOP) de al menos largo bases en los 3 marcos");
+        salidaError.println("  --proteinas        Traduce la secuencia en los 3 marcos y la escribe en formato FASTA (<archivo>.proteinas.fasta con --salida)");
+        salidaError.println("  --seis-marcos      Con --orf o --proteinas, usa también los 3 marcos de la hebra complementaria");
+        salidaError.println("  --motivos archivo  Busca todos los motivos del archivo (uno por línea) en un solo recorrido de cada secuencia");
+        salidaError.println("Sin argumentos se abre la interfaz gráfica.");
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/UnitTests/JUnit4TestClass.java to edit this template
+ */
+package estructuras;
+
+import java.util.Random;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static estructuras.SecuenciasPrueba.aArreglo;
+import static estructuras.SecuenciasPrueba.alAzar;
+import static estructuras.SecuenciasPrueba.bordes;
+import static estructuras.SecuenciasPrueba.buscarDirecto;
+import static estructuras.SecuenciasPrueba.empaquetar;
+import static estructuras.SecuenciasPrueba.plantarEnBordes;
+import static estructuras.SecuenciasPrueba.repetir;
+import org.junit.Test;
+
+/**
+ * Pruebas del autómata de Aho-Corasick contra una búsqueda por fuerza bruta de cada motivo,
+ * con y sin partición de la secuencia entre hilos.
+ *
+ * @author Diego Linares
+ */
+public class AutomataMotivosTest {
+    private static final int[] HILOS = {1, 3, 8};
+
+    /**
+     * Motivos repetidos, prefijos y sufijos unos de otros, y motivos que se solapan consigo mismos.
+     */
+    private static final String[] MOTIVOS = {
+        "GATTACA", "GATTACA", "GATT", "TACA", "A", "AA", "AAAA", "ACAC", "CACACA", "ATTAC",
+        "acgtacgtacgtacgt", "CGTACGT", "TTTTTTTTTTTTTTTTTTTTTTTTTTTTTTTTTTTT", "GGGCCC"
+    };
+
+    private static void verificar(String texto, String[] motivos) {
+        AutomataMotivos automata = new AutomataMotivos(motivos);
+        SecuenciaEmpaquetada secuencia = empaquetar(texto);
+        for (int hilos : HILOS) {
+            ListaPosiciones[] obtenidas = automata.buscar(secuencia, hilos);
+            assertEquals(motivos.length, obtenidas.length);
+            for (int m = 0; m < motivos.length; m++) {
+                assertArrayEquals(motivos[m] + " con " + hilos + " hilos",
+                        buscarDirecto(texto, motivos[m].toUpperCase()), aArreglo(obtenidas[m]));
+            }
+        }
+    }
+
+    @Test
+    public void secuenciasCortas() {
+        Random azar = new Random(41);
+        verificar("", MOTIVOS);
+        verificar("A", MOTIVOS);
+        verificar(repetir("A", 100), MOTIVOS);
+        verificar(repetir("AC", 60) + "GATTACA" + repetir("T", 40), MOTIVOS);
+        verificar(alAzar(azar, 5000), MOTIVOS);
+    }
+
+    /**
+     * Secuencias de varias partes por hilo, con los motivos plantados justo sobre los bordes entre partes.
+     */
+    @Test
+    public void motivosSobreLosBordesDeLasPartes() {
+        Random azar = new Random(42);
+        String base = alAzar(azar, 600_000);
+        assertTrue(bordes(base.length(), 8).length > 1);
+        for (String motivo : MOTIVOS) {
+            String texto = base;
+            for (int hilos : HILOS) {
+                texto = plantarEnBordes(texto, motivo.toUpperCase(), bordes(texto.length(), hilos));
+            }
+            verificar(texto, MOTIVOS);
+        }
+        // Motivos que ocupan toda una zona repetida, con muchas apariciones solapadas cerca de cada borde
+        String repetida = repetir("A", 300_000) + alAzar(azar, 10) + repetir("ACAC", 60_000);
+        verificar(repetida, MOTIVOS);
+    }
+
+    @Test
+    public void motivosAlAzar() {
+        Random azar = new Random(43);
+        String texto = alAzar(azar, 300_000);
+        String[] motivos = new String[40];
+        for (int m = 0; m < motivos.length; m++) {
+            if (m % 2 == 0) {
+                motivos[m] = alAzar(azar, 1 + azar.nextInt(8));
+            } else {
+                int inicio = azar.nextInt(texto.length() - 30);
+                motivos[m] = texto.substring(inicio, inicio + 1 + azar.nextInt(30));
+            }
+        }
+        verificar(texto, motivos);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void motivoInvalido() {
+        new AutomataMotivos(new String[]{"ACGN"});
+    }
+}
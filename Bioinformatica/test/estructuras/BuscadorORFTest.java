@@ -0,0 +1,134 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/UnitTests/JUnit4TestClass.java to edit this template
+ */
+package estructuras;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static estructuras.SecuenciasPrueba.alAzar;
+import static estructuras.SecuenciasPrueba.empaquetar;
+import static estructuras.SecuenciasPrueba.repetir;
+import org.junit.Test;
+
+/**
+ * Pruebas del buscador de ORF contra un recorrido directo de cada marco en las dos hebras,
+ * con y sin partición de la secuencia entre hilos.
+ *
+ * @author Luis Mariano Lovera
+ */
+public class BuscadorORFTest {
+    private static final int[] HILOS = {1, 3, 8};
+
+    /**
+     * Recorre los tres marcos de una hebra: para cada STOP, el ORF desde el primer ATG después del STOP anterior.
+     *
+     * @return ORF como {inicio, fin} en las coordenadas de la hebra recorrida.
+     */
+    private static List<int[]> recorrerHebra(String hebra, int largoMinimo) {
+        List<int[]> orfs = new ArrayList<>();
+        for (int marco = 0; marco < 3; marco++) {
+            int inicio = -1;
+            for (int p = marco; p + 3 <= hebra.length(); p += 3) {
+                String tripleta = hebra.substring(p, p + 3);
+                if (tripleta.equals("TAA") || tripleta.equals("TAG") || tripleta.equals("TGA")) {
+                    if (inicio >= 0 && p + 3 - inicio >= largoMinimo) {
+                        orfs.add(new int[]{inicio, p + 3});
+                    }
+                    inicio = -1;
+                } else if (tripleta.equals("ATG") && inicio < 0) {
+                    inicio = p;
+                }
+            }
+        }
+        return orfs;
+    }
+
+    private static String complementarioInverso(String texto) {
+        StringBuilder inverso = new StringBuilder(texto.length());
+        for (int i = texto.length() - 1; i >= 0; i--) {
+            inverso.append("TGCA".charAt("ACGT".indexOf(texto.charAt(i))));
+        }
+        return inverso.toString();
+    }
+
+    /**
+     * ORF esperados, como texto de reporte y en el orden del buscador. Los de la hebra inversa se pasan
+     * a coordenadas de la hebra directa; su marco es el de su inicio en la hebra inversa.
+     */
+    private static List<String> esperados(String texto, int largoMinimo, boolean seisMarcos) {
+        int n = texto.length();
+        List<MarcoAbierto> orfs = new ArrayList<>();
+        for (int[] orf : recorrerHebra(texto, largoMinimo)) {
+            orfs.add(new MarcoAbierto(orf[0], orf[1], false, orf[0] % 3));
+        }
+        if (seisMarcos) {
+            for (int[] orf : recorrerHebra(complementarioInverso(texto), largoMinimo)) {
+                orfs.add(new MarcoAbierto(n - orf[1], n - orf[0], true, orf[0] % 3));
+            }
+        }
+        orfs.sort(Comparator.comparingInt(MarcoAbierto::getInicio).thenComparingInt(MarcoAbierto::getFin)
+                .thenComparing(MarcoAbierto::esInverso));
+        List<String> textos = new ArrayList<>();
+        for (MarcoAbierto orf : orfs) {
+            textos.add(orf.toString());
+        }
+        return textos;
+    }
+
+    private static void verificar(String texto, int largoMinimo) {
+        SecuenciaEmpaquetada secuencia = empaquetar(texto);
+        for (boolean seisMarcos : new boolean[]{false, true}) {
+            List<String> esperados = esperados(texto, largoMinimo, seisMarcos);
+            BuscadorORF buscador = new BuscadorORF(largoMinimo, seisMarcos);
+            for (int hilos : HILOS) {
+                List<String> obtenidos = new ArrayList<>();
+                for (MarcoAbierto orf : buscador.buscar(secuencia, hilos)) {
+                    obtenidos.add(orf.toString());
+                }
+                assertEquals("seis marcos: " + seisMarcos + ", " + hilos + " hilos", esperados, obtenidos);
+            }
+        }
+    }
+
+    @Test
+    public void secuenciasCortas() {
+        Random azar = new Random(61);
+        verificar("", 6);
+        verificar("ATGTAA", 6);
+        verificar("TTACAT", 6);               // ATGTAA en la hebra inversa
+        verificar("ATGATGAAATAGTAA", 6);
+        verificar("ATGAAATAA", 12);           // Más corto que el mínimo
+        verificar("CCATGAAACCCGGGTTT", 6);    // Sin STOP: no se informa
+        verificar(alAzar(azar, 5000), 6);
+        verificar(alAzar(azar, 5000), 60);
+    }
+
+    /**
+     * Secuencias de varias partes por hilo; con una secuencia al azar hay ORF y STOP cerca de cada borde.
+     */
+    @Test
+    public void secuenciaAlAzarEnVariasPartes() {
+        Random azar = new Random(62);
+        String texto = alAzar(azar, 450_001);
+        verificar(texto, 6);
+        verificar(texto, 45);
+    }
+
+    /**
+     * ORF que cruzan partes enteras, en las dos hebras: ninguna parte del medio ve un STOP en ese marco.
+     */
+    @Test
+    public void orfQueCruzanVariasPartes() {
+        Random azar = new Random(63);
+        String largo = "ATG" + repetir("GCT", 150_000) + "TAA";
+        String texto = alAzar(azar, 1000) + largo + alAzar(azar, 3001) + complementarioInverso(largo) + alAzar(azar, 500);
+        verificar(texto, 6);
+        // Varios ATG antes del STOP: se informa el más lejano, aunque esté en otra parte
+        String anidado = "ATG" + repetir("GCC", 100_000) + "ATG" + repetir("GCC", 100_000) + "TGA";
+        verificar(anidado + complementarioInverso(anidado), 6);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/UnitTests/JUnit4TestClass.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static estructuras.SecuenciasPrueba.aArreglo;
+import static estructuras.SecuenciasPrueba.alAzar;
+import static estructuras.SecuenciasPrueba.bordes;
+import static estructuras.SecuenciasPrueba.empaquetar;
+import static estructuras.SecuenciasPrueba.plantarEnBordes;
+import static estructuras.SecuenciasPrueba.repetir;
+import org.junit.Test;
+
+/**
+ * Pruebas de la búsqueda aproximada (Hamming y distancia de edición) contra una programación dinámica directa,
+ * con y sin partición de la secuencia entre hilos.
+ *
+ * @author Luis Mariano Lovera
+ */
+public class BusquedaAproximadaTest {
+    private static final int[] HILOS = {1, 3, 8};
+
+    /**
+     * Posiciones iniciales de las ventanas con a lo sumo distancia sustituciones.
+     */
+    private static int[] hammingDirecto(String texto, String patron, int distancia) {
+        int[] posiciones = new int[Math.max(0, texto.length() - patron.length() + 1)];
+        int cantidad = 0;
+        for (int i = 0; i + patron.length() <= texto.length(); i++) {
+            int diferencias = 0;
+            for (int j = 0; j < patron.length() && diferencias <= distancia; j++) {
+                if (texto.charAt(i + j) != patron.charAt(j)) {
+                    diferencias++;
+                }
+            }
+            if (diferencias <= distancia) {
+                posiciones[cantidad++] = i;
+            }
+        }
+        return Arrays.copyOf(posiciones, cantidad);
+    }
+
+    /**
+     * Posiciones finales (la última base) de las subcadenas a distancia de edición a lo sumo distancia del patrón:
+     * programación dinámica semi-global, donde la subcadena puede empezar en cualquier lugar del texto.
+     */
+    private static int[] edicionDirecta(String texto, String patron, int distancia) {
+        int m = patron.length();
+        int[] columna = new int[m + 1];
+        for (int i = 0; i <= m; i++) {
+            columna[i] = i;
+        }
+        int[] posiciones = new int[texto.length()];
+        int cantidad = 0;
+        for (int j = 0; j < texto.length(); j++) {
+            int diagonal = columna[0]; // Fila 0 siempre en 0: la subcadena puede empezar en j
+            for (int i = 1; i <= m; i++) {
+                int arriba = columna[i];
+                int costo = patron.charAt(i - 1) == texto.charAt(j) ? 0 : 1;
+                columna[i] = Math.min(Math.min(arriba + 1, columna[i - 1] + 1), diagonal + costo);
+                diagonal = arriba;
+            }
+            if (columna[m] <= distancia) {
+                posiciones[cantidad++] = j;
+            }
+        }
+        return Arrays.copyOf(posiciones, cantidad);
+    }
+
+    private static void verificar(String texto, String patron, int distancia) {
+        SecuenciaEmpaquetada secuencia = empaquetar(texto);
+        int[] hamming = hammingDirecto(texto, patron, distancia);
+        int[] edicion = edicionDirecta(texto, patron, distancia);
+        BusquedaAproximada sustituciones = new BusquedaAproximada(patron, distancia, false);
+        BusquedaAproximada indels = new BusquedaAproximada(patron, distancia, true);
+        for (int hilos : HILOS) {
+            String caso = patron + " d=" + distancia + " con " + hilos + " hilos";
+            assertArrayEquals(caso, hamming, aArreglo(sustituciones.buscar(secuencia, hilos)));
+            assertArrayEquals(caso + " e indels", edicion, aArreglo(indels.buscar(secuencia, hilos)));
+        }
+    }
+
+    @Test
+    public void secuenciasCortas() {
+        Random azar = new Random(51);
+        for (String texto : new String[]{"", "A", "ACG", repetir("A", 200), alAzar(azar, 3000)}) {
+            verificar(texto, "A", 0);
+            verificar(texto, "ACGT", 1);
+            verificar(texto, "AAAAAA", 2);
+            verificar(texto, alAzar(azar, 64), 10);
+        }
+    }
+
+    /**
+     * Secuencias de varias partes por hilo, con copias alteradas del patrón que terminan en cada borde entre partes.
+     * Las copias con tantas inserciones como la distancia son las que necesitan más bases de la parte anterior.
+     */
+    @Test
+    public void aparicionesSobreLosBordesDeLasPartes() {
+        Random azar = new Random(52);
+        String base = alAzar(azar, 600_000);
+        assertTrue(bordes(base.length(), 8).length > 1);
+        for (String patron : new String[]{"GATTACA", "ACGTTGCAAC", alAzar(azar, 33), alAzar(azar, 64)}) {
+            for (int distancia : new int[]{0, 1, 3}) {
+                String sustituida = base;
+                String insertada = base;
+                for (int hilos : HILOS) {
+                    sustituida = plantarEnBordes(sustituida, sustituir(azar, patron, distancia), bordes(base.length(), hilos));
+                    insertada = plantarEnBordes(insertada, insertar(azar, patron, distancia), bordes(base.length(), hilos));
+                }
+                verificar(sustituida, patron, distancia);
+                verificar(insertada, patron, distancia);
+            }
+        }
+        verificar(repetir("AC", 200_000), "ACACAC", 2);
+    }
+
+    /**
+     * Copia del patrón con cambios sustituciones al azar (que pueden dejar la misma base).
+     */
+    private static String sustituir(Random azar, String patron, int cambios) {
+        StringBuilder copia = new StringBuilder(patron);
+        for (int c = 0; c < cambios; c++) {
+            copia.setCharAt(azar.nextInt(copia.length()), "ACGT".charAt(azar.nextInt(4)));
+        }
+        return copia.toString();
+    }
+
+    /**
+     * Copia del patrón con cambios bases insertadas al azar en el medio.
+     */
+    private static String insertar(Random azar, String patron, int cambios) {
+        StringBuilder copia = new StringBuilder(patron);
+        for (int c = 0; c < cambios; c++) {
+            copia.insert(1 + azar.nextInt(copia.length() - 1), "ACGT".charAt(azar.nextInt(4)));
+        }
+        return copia.toString();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void distanciaFueraDeRango() {
+        new BusquedaAproximada("ACGT", 4, true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void patronMuyLargo() {
+        new BusquedaAproximada(repetir("A", 65), 1, false);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/UnitTests/JUnit4TestClass.java to edit this template
+ */
+package estructuras;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Test;
+
+/**
+ * Pruebas del camino de inserción por código de Hashtable.
+ *
+ * @author Luis Peña
+ */
+public class HashtableTest {
+    private static final int TRIPLETAS = 1 << 20;
+
+    /**
+     * Códigos de tripletas al azar, con la semilla fija.
+     */
+    private static int[] codigosAlAzar(int cantidad, long semilla) {
+        Random azar = new Random(semilla);
+        int[] codigos = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            codigos[i] = azar.nextInt(64);
+        }
+        return codigos;
+    }
+
+    @Test
+    public void insertarCodigoEquivaleAInsertarTexto() {
+        int[] codigos = codigosAlAzar(10_000, 1);
+        Hashtable porCodigo = new Hashtable();
+        Hashtable porTexto = new Hashtable();
+        for (int i = 0; i < codigos.length; i++) {
+            porCodigo.insertar((long) codigos[i], i * 3);
+            porTexto.insertar(SecuenciaEmpaquetada.decodificar(codigos[i], 3), i * 3);
+        }
+        assertEquals(porTexto.getCantidadPatrones(), porCodigo.getCantidadPatrones());
+        for (NodoArbol esperado : porTexto) {
+            NodoArbol nodo = porCodigo.buscar(esperado.getPatron());
+            assertNotNull(esperado.getPatron(), nodo);
+            assertEquals(esperado.getFrecuencias(), nodo.getFrecuencias());
+            for (int i = 0; i < esperado.getFrecuencias(); i++) {
+                assertEquals(esperado.getPosiciones().get(i), nodo.getPosiciones().get(i));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insertarCodigoFueraDeRango() {
+        new Hashtable(3).insertar(64L, 0);
+    }
+
+    /**
+     * Con los nodos creados y las listas de posiciones reservadas, insertar por código no debe crear ningún objeto.
+     */
+    @Test
+    public void insertarCodigoNoCreaBasura() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(hilos.isThreadAllocatedMemorySupported());
+        hilos.setThreadAllocatedMemoryEnabled(true);
+        long hilo = Thread.currentThread().getId();
+        int[] codigos = codigosAlAzar(TRIPLETAS, 2);
+
+        // Varias rondas para que el compilador JIT ya esté en régimen en la última
+        long creados = Long.MAX_VALUE;
+        for (int ronda = 0; ronda < 5; ronda++) {
+            Hashtable tabla = new Hashtable();
+            for (int codigo = 0; codigo < 64; codigo++) {
+                tabla.insertar((long) codigo, -1); // Crea el nodo antes de medir
+                tabla.buscar(codigo).getPosiciones().reservar(TRIPLETAS + 1);
+            }
+            long antes = hilos.getThreadAllocatedBytes(hilo);
+            for (int i = 0; i < codigos.length; i++) {
+                tabla.insertar((long) codigos[i], i * 3);
+            }
+            long despues = hilos.getThreadAllocatedBytes(hilo);
+            creados = Math.min(creados, despues - antes);
+            assertEquals(TRIPLETAS + 64, sumarFrecuencias(tabla));
+        }
+        // Margen para lo que pueda crear la propia medición, muy por debajo de un byte por tripleta
+        assertTrue("Se crearon " + creados + " bytes para " + TRIPLETAS + " tripletas", creados < 1024);
+    }
+
+    private static long sumarFrecuencias(Hashtable tabla) {
+        long total = 0;
+        for (NodoArbol nodo : tabla) {
+            total += nodo.getFrecuencias();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/UnitTests/JUnit4TestClass.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static estructuras.SecuenciasPrueba.alAzar;
+import static estructuras.SecuenciasPrueba.buscarDirecto;
+import static estructuras.SecuenciasPrueba.empaquetar;
+import static estructuras.SecuenciasPrueba.repetir;
+import org.junit.Test;
+
+/**
+ * Pruebas de SA-IS y del índice FM contra un orden de sufijos y una búsqueda por fuerza bruta.
+ *
+ * @author Luis Peña
+ */
+public class IndiceFMTest {
+
+    /**
+     * Arreglo de sufijos ordenando los sufijos por comparación directa.
+     */
+    private static int[] sufijosDirectos(int[] texto) {
+        Integer[] orden = new Integer[texto.length];
+        for (int i = 0; i < orden.length; i++) {
+            orden[i] = i;
+        }
+        Arrays.sort(orden, (a, b) -> {
+            while (a < texto.length && b < texto.length) {
+                if (texto[a] != texto[b]) {
+                    return Integer.compare(texto[a], texto[b]);
+                }
+                a++;
+                b++;
+            }
+            return Integer.compare(b, a); // El más corto es el menor
+        });
+        return Arrays.stream(orden).mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    public void saisOrdenaLosSufijos() {
+        Random azar = new Random(21);
+        for (int prueba = 0; prueba < 300; prueba++) {
+            int n = 1 + azar.nextInt(400);
+            int alfabeto = 2 + azar.nextInt(prueba % 3 == 0 ? 2 : 30);
+            int[] texto = new int[n];
+            for (int i = 0; i < n - 1; i++) {
+                // Algunos textos periódicos, que obligan a la recursión
+                texto[i] = prueba % 4 == 1 ? 1 + (i % 3 == 0 ? 0 : 1) % (alfabeto - 1) : 1 + azar.nextInt(alfabeto - 1);
+            }
+            int[] sufijos = new int[n];
+            IndiceFM.sais(texto, sufijos, n, alfabeto);
+            assertArrayEquals("n=" + n + " alfabeto=" + alfabeto, sufijosDirectos(texto), sufijos);
+        }
+    }
+
+    @Test
+    public void buscaIgualQueLaFuerzaBruta() {
+        Random azar = new Random(22);
+        String[] secuencias = {
+            "", "A", "ACGT", repetir("A", 500), repetir("AC", 300), repetir("ACGTTGCA", 90),
+            alAzar(azar, 1000), alAzar(azar, 5000) + repetir("GATTACA", 50) + alAzar(azar, 777)
+        };
+        for (String texto : secuencias) {
+            SecuenciaEmpaquetada secuencia = empaquetar(texto);
+            for (int paso : new int[]{1, 3, IndiceFM.PASO_POR_DEFECTO}) {
+                IndiceFM indice = IndiceFM.construir(secuencia, paso);
+                for (int i = 0; i < 60; i++) {
+                    String patron;
+                    if (texto.isEmpty() || i % 3 == 0) {
+                        patron = alAzar(azar, 1 + azar.nextInt(6));
+                    } else {
+                        int inicio = azar.nextInt(texto.length());
+                        patron = texto.substring(inicio, Math.min(texto.length(), inicio + 1 + azar.nextInt(12)));
+                    }
+                    int[] esperadas = buscarDirecto(texto, patron);
+                    assertEquals(patron, esperadas.length, indice.contar(patron));
+                    ListaPosiciones obtenidas = indice.localizar(patron);
+                    assertEquals(patron, esperadas.length, obtenidas.getTamaño());
+                    for (int j = 0; j < esperadas.length; j++) {
+                        assertEquals(patron, esperadas[j], obtenidas.get(j));
+                    }
+                }
+                assertEquals(0, indice.contar(""));
+                assertEquals(0, indice.contar("ACN"));
+                assertEquals(0, indice.localizar("xyz").getTamaño());
+            }
+        }
+    }
+}
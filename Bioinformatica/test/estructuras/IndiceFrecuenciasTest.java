@@ -0,0 +1,117 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/UnitTests/JUnit4TestClass.java to edit this template
+ */
+package estructuras;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Test;
+
+/**
+ * Pruebas del índice de frecuencias contra un conteo directo de la tabla.
+ *
+ * @author Luis Mariano Lovera
+ */
+public class IndiceFrecuenciasTest {
+
+    @Test
+    public void coincideConLaTablaMientrasCambia() {
+        Random azar = new Random(11);
+        Hashtable tabla = new Hashtable(5);
+        IndiceFrecuencias indice = null;
+        int posicion = 0;
+        for (int tanda = 0; tanda < 40; tanda++) {
+            // Distribución sesgada para que haya frecuencias de todo tipo, también mayores a 127
+            for (int i = 0; i < 5_000; i++) {
+                int codigo = azar.nextInt(4) == 0 ? azar.nextInt(1024) : azar.nextInt(16);
+                tabla.insertar((long) codigo, posicion++);
+            }
+            if (tanda == 3) {
+                indice = tabla.getIndiceFrecuencias(); // Se arma con la tabla ya llena y sigue los cambios
+            }
+            if (indice != null) {
+                verificar(tabla, indice);
+            }
+        }
+    }
+
+    private static void verificar(Hashtable tabla, IndiceFrecuencias indice) {
+        TreeMap<Integer, ListaSimple<NodoArbol>> porFrecuencia = new TreeMap<>();
+        for (NodoArbol nodo : tabla.obtenerPatronesPorFrecuencia()) {
+            porFrecuencia.computeIfAbsent(nodo.getFrecuencias(), f -> new ListaSimple<>()).insertarAlFinal(nodo);
+        }
+        int[][] histograma = new int[porFrecuencia.size()][];
+        int i = 0;
+        for (Map.Entry<Integer, ListaSimple<NodoArbol>> fila : porFrecuencia.entrySet()) {
+            histograma[i++] = new int[]{fila.getKey(), fila.getValue().getTamaño()};
+            assertEquals(fila.getValue().getTamaño(), indice.contarConFrecuencia(fila.getKey()));
+        }
+        assertEquals(porFrecuencia.size(), indice.getCantidadFrecuencias());
+        assertArrayEquals(histograma, indice.histograma());
+        assertEquals(tabla.getCantidadPatrones(), indice.getCantidadPatrones());
+        assertEquals((int) porFrecuencia.lastKey(), indice.getMayorFrecuencia());
+        assertEquals((int) porFrecuencia.firstKey(), indice.getMenorFrecuencia());
+        assertMismosPatrones(porFrecuencia.lastEntry().getValue(), indice.buscarMayorFrecuencia());
+        assertMismosPatrones(porFrecuencia.firstEntry().getValue(), indice.buscarMenorFrecuencia());
+        assertEquals(0, indice.contarConFrecuencia(porFrecuencia.lastKey() + 1));
+    }
+
+    /**
+     * obtenerPatronesPorFrecuencia ordena los empates por código, igual que el índice.
+     */
+    private static void assertMismosPatrones(ListaSimple<NodoArbol> esperados, ListaSimple<NodoArbol> obtenidos) {
+        assertEquals(esperados.getTamaño(), obtenidos.getTamaño());
+        NodoSimple<NodoArbol> a = esperados.getFirst();
+        NodoSimple<NodoArbol> b = obtenidos.getFirst();
+        while (a != null) {
+            assertEquals(a.getData().getPatron(), b.getData().getPatron());
+            a = a.getNext();
+            b = b.getNext();
+        }
+    }
+
+    /**
+     * Con el índice armado, insertar posiciones no debe crear objetos (ni Integer para las frecuencias).
+     */
+    @Test
+    public void actualizarNoCreaBasura() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(hilos.isThreadAllocatedMemorySupported());
+        hilos.setThreadAllocatedMemoryEnabled(true);
+        long hilo = Thread.currentThread().getId();
+        int tripletas = 1 << 20;
+        Random azar = new Random(12);
+        int rondas = 6;
+        int[] codigos = new int[tripletas];
+        int[] apariciones = new int[64];
+        for (int i = 0; i < tripletas; i++) {
+            codigos[i] = azar.nextInt(64);
+            apariciones[codigos[i]]++;
+        }
+
+        // Cada código reserva solo lo que va a recibir en todas las rondas, para entrar en el heap por defecto
+        Hashtable tabla = new Hashtable();
+        for (int codigo = 0; codigo < 64; codigo++) {
+            tabla.insertar((long) codigo, -1);
+            tabla.buscar(codigo).getPosiciones().reservar(rondas * apariciones[codigo] + 1);
+        }
+        tabla.getIndiceFrecuencias();
+        long creados = Long.MAX_VALUE;
+        for (int ronda = 0; ronda < rondas; ronda++) {
+            long antes = hilos.getThreadAllocatedBytes(hilo);
+            for (int i = 0; i < tripletas; i++) {
+                tabla.insertar((long) codigos[i], i);
+            }
+            creados = Math.min(creados, hilos.getThreadAllocatedBytes(hilo) - antes);
+        }
+        assertTrue("Se crearon " + creados + " bytes para " + tripletas + " tripletas", creados < 1024);
+    }
+}
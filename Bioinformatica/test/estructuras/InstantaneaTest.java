@@ -0,0 +1,131 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/UnitTests/JUnit4TestClass.java to edit this template
+ */
+package estructuras;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Pruebas de la instantánea binaria: ida y vuelta, e instantáneas dañadas que no deben modificar la tabla.
+ *
+ * @author Luis Peña
+ */
+public class InstantaneaTest {
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private File fuente;
+    private Hashtable esperada;
+
+    @Before
+    public void crearInstantanea() throws IOException {
+        Random azar = new Random(3);
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < 30_000; i++) {
+            texto.append("ACGT".charAt(azar.nextInt(4)));
+        }
+        fuente = carpeta.newFile("secuencia.txt");
+        Files.write(fuente.toPath(), texto.toString().getBytes(StandardCharsets.US_ASCII));
+
+        ProcesadorArchivo procesador = new ProcesadorArchivo(new OyenteConsola(System.err, true));
+        assertTrue(procesador.leerArchivo(fuente));
+        esperada = new Hashtable();
+        procesador.construirTabla(esperada);
+        assertTrue(procesador.guardarInstantanea(fuente, esperada));
+    }
+
+    @Test
+    public void cargaLaTablaGuardada() {
+        ProcesadorArchivo procesador = new ProcesadorArchivo(new OyenteConsola(System.err, true));
+        Hashtable tabla = new Hashtable();
+        assertTrue(procesador.cargarInstantanea(fuente, tabla));
+        assertIguales(esperada, tabla);
+    }
+
+    @Test
+    public void codigoRepetidoNoModificaLaTabla() throws IOException {
+        long[] ubicaciones = ubicarCodigos();
+        try (RandomAccessFile archivo = new RandomAccessFile(Instantanea.archivoDe(fuente), "rw")) {
+            archivo.seek(ubicaciones[0]);
+            long primero = archivo.readLong();
+            archivo.seek(ubicaciones[ubicaciones.length - 1]);
+            archivo.writeLong(primero);
+        }
+        verificarDescartada();
+    }
+
+    @Test
+    public void codigoFueraDeRangoNoModificaLaTabla() throws IOException {
+        long[] ubicaciones = ubicarCodigos();
+        try (RandomAccessFile archivo = new RandomAccessFile(Instantanea.archivoDe(fuente), "rw")) {
+            archivo.seek(ubicaciones[ubicaciones.length - 1]);
+            archivo.writeLong(64);
+        }
+        verificarDescartada();
+    }
+
+    /**
+     * La instantánea dañada se descarta sin tocar la tabla, y reconstruir en la misma tabla da el resultado correcto.
+     */
+    private void verificarDescartada() {
+        ProcesadorArchivo procesador = new ProcesadorArchivo(new OyenteConsola(System.err, true));
+        Hashtable tabla = new Hashtable();
+        assertFalse(procesador.cargarInstantanea(fuente, tabla));
+        assertEquals(0, tabla.getCantidadPatrones());
+        assertTrue(procesador.leerArchivo(fuente));
+        procesador.construirTabla(tabla);
+        assertIguales(esperada, tabla);
+    }
+
+    /**
+     * Recorre la instantánea con el formato de la versión 1 y devuelve el byte donde empieza el código de cada patrón.
+     */
+    private long[] ubicarCodigos() throws IOException {
+        try (RandomAccessFile archivo = new RandomAccessFile(Instantanea.archivoDe(fuente), "r")) {
+            archivo.seek(36); // Magia, versión, tamaño, fecha, suma y k
+            int longitud = archivo.readInt();
+            archivo.seek(archivo.getFilePointer() + (long) (longitud + 31) / 32 * Long.BYTES);
+            long[] ubicaciones = new long[archivo.readInt()];
+            for (int p = 0; p < ubicaciones.length; p++) {
+                ubicaciones[p] = archivo.getFilePointer();
+                archivo.readLong();
+                int tamaño = archivo.readInt();
+                long salto;
+                if (archivo.readByte() == 1) {
+                    salto = archivo.readInt() + 2L * Integer.BYTES * ((tamaño + 63) / 64);
+                } else {
+                    salto = (long) tamaño * Integer.BYTES;
+                }
+                archivo.seek(archivo.getFilePointer() + salto);
+            }
+            assertEquals(archivo.length(), archivo.getFilePointer());
+            return ubicaciones;
+        }
+    }
+
+    private static void assertIguales(Hashtable esperada, Hashtable tabla) {
+        assertEquals(esperada.getCantidadPatrones(), tabla.getCantidadPatrones());
+        for (NodoArbol nodo : esperada) {
+            NodoArbol otro = tabla.buscar(nodo.getCodigo());
+            assertNotNull(nodo.getPatron(), otro);
+            assertEquals(nodo.getPatron(), nodo.getFrecuencias(), otro.getFrecuencias());
+            for (int i = 0; i < nodo.getFrecuencias(); i++) {
+                assertEquals(nodo.getPosiciones().get(i), otro.getPosiciones().get(i));
+            }
+        }
+    }
+}
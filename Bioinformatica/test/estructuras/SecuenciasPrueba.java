@@ -0,0 +1,96 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package estructuras;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Utilidades compartidas por las pruebas: secuencias al azar, empaquetado y búsquedas por fuerza bruta
+ * contra las que se comparan los recorridos en paralelo.
+ *
+ * @author Luis Peña
+ */
+final class SecuenciasPrueba {
+    /** Mismo mínimo de bases por parte que usan los recorridos en paralelo. */
+    static final int MINIMO_POR_PARTE = 1 << 16;
+
+    private SecuenciasPrueba() {
+    }
+
+    static String alAzar(Random azar, int largo) {
+        StringBuilder texto = new StringBuilder(largo);
+        for (int i = 0; i < largo; i++) {
+            texto.append("ACGT".charAt(azar.nextInt(4)));
+        }
+        return texto.toString();
+    }
+
+    static String repetir(String unidad, int veces) {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < veces; i++) {
+            texto.append(unidad);
+        }
+        return texto.toString();
+    }
+
+    static SecuenciaEmpaquetada empaquetar(String texto) {
+        SecuenciaEmpaquetada secuencia = new SecuenciaEmpaquetada(Math.max(1, texto.length()));
+        for (int i = 0; i < texto.length(); i++) {
+            secuencia.agregar(SecuenciaEmpaquetada.codificarBase(texto.charAt(i)));
+        }
+        return secuencia;
+    }
+
+    /**
+     * Bordes entre partes que usan los recorridos en paralelo (4 partes por hilo, con un mínimo de bases).
+     */
+    static int[] bordes(int longitud, int hilos) {
+        int partes = (int) Math.max(1, Math.min((long) hilos * 4, longitud / MINIMO_POR_PARTE));
+        int[] bordes = new int[partes - 1];
+        for (int parte = 1; parte < partes; parte++) {
+            bordes[parte - 1] = (int) ((long) longitud * parte / partes);
+        }
+        return bordes;
+    }
+
+    /**
+     * Copia un motivo en el texto de modo que termine en la primera base de cada parte: es el caso que necesita
+     * todo el solapamiento con la parte anterior.
+     */
+    static String plantarEnBordes(String texto, String motivo, int[] bordes) {
+        StringBuilder resultado = new StringBuilder(texto);
+        for (int borde : bordes) {
+            int inicio = borde - motivo.length() + 1;
+            if (inicio >= 0 && borde < resultado.length()) {
+                resultado.replace(inicio, inicio + motivo.length(), motivo);
+            }
+        }
+        return resultado.toString();
+    }
+
+    /**
+     * Posiciones iniciales de todas las apariciones (solapadas) de un patrón.
+     */
+    static int[] buscarDirecto(String texto, String patron) {
+        int[] posiciones = new int[16];
+        int cantidad = 0;
+        for (int i = texto.indexOf(patron); i >= 0 && !patron.isEmpty(); i = texto.indexOf(patron, i + 1)) {
+            if (cantidad == posiciones.length) {
+                posiciones = Arrays.copyOf(posiciones, cantidad * 2);
+            }
+            posiciones[cantidad++] = i;
+        }
+        return Arrays.copyOf(posiciones, cantidad);
+    }
+
+    static int[] aArreglo(ListaPosiciones lista) {
+        int[] valores = new int[lista.getTamaño()];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = lista.get(i);
+        }
+        return valores;
+    }
+}